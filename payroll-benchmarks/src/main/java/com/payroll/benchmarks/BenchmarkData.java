@@ -0,0 +1,181 @@
+package com.payroll.benchmarks;
+
+import com.payroll.model.Calendar;
+import com.payroll.model.Employee;
+import com.payroll.model.LocalHoliday;
+import com.payroll.model.Overtime;
+import com.payroll.model.Payment;
+import com.payroll.model.PaymentResult;
+import com.payroll.model.Rate;
+import com.payroll.model.TaxClass;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic input data in the shape of the files in data/, for a given number of
+ * employees. Every employee has a rate; about one in ten is inactive, one in twenty has
+ * a number of days worked and the average employee has two overtime records.
+ */
+final class BenchmarkData {
+    static final int YEAR = 2025;
+    static final int PAYMENT_MONTH = 11;
+    /** Payments calculate the month before the payment month. */
+    static final int CALCULATION_MONTH = PAYMENT_MONTH - 1;
+
+    private static final long SEED = 20251119L;
+    private static final String[] FIRST_NAMES = {
+        "Anna", "Bernd", "Claudia", "Dieter", "Emma", "Felix", "Greta", "Henner", "Ines", "Jonas"
+    };
+    private static final String[] LAST_NAMES = {
+        "Becker", "Fischer", "Geisler", "Hoffmann", "Koch", "Müller", "Römer", "Schulz", "Wagner"
+    };
+    private static final String[] LOCATIONS = {
+        "Berlin", "Dortmund", "Dresden", "Düsseldorf", "Frankfurt", "Leipzig", "Munich",
+        "Stuttgart"
+    };
+    private static final String[] TAX_CLASSES = {"1", "3", "4"};
+
+    private BenchmarkData() {
+    }
+
+    static String employeeId(int index) {
+        return Integer.toString(10_000_000 + index);
+    }
+
+    static List<Employee> employees(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(new Employee(
+                name,
+                LOCATIONS[random.nextInt(LOCATIONS.length)],
+                employeeId(i),
+                TAX_CLASSES[random.nextInt(TAX_CLASSES.length)],
+                random.nextBoolean() ? "AT1" : "AT2",
+                random.nextInt(10) == 0 ? "INACTIVE" : "ACTIVE",
+                random.nextInt(20) == 0 ? 1 + random.nextInt(22) : null,
+                String.format(Locale.ROOT, "01%08d", random.nextInt(100_000_000)),
+                LocalDate.of(1960, 1, 1).plusDays(random.nextInt(15_000)).toString(),
+                Long.toString(random.nextLong() >>> 1, 36)
+            ));
+        }
+        return employees;
+    }
+
+    static List<Rate> rates(int count) {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        List<Rate> rates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rates.add(new Rate(employeeId(i), 1500 + random.nextInt(6000),
+                20 + random.nextInt(40)));
+        }
+        return rates;
+    }
+
+    static List<Overtime> overtimes(int employees) {
+        SplittableRandom random = new SplittableRandom(SEED + 2);
+        List<Overtime> overtimes = new ArrayList<>(employees * 2);
+        for (int i = 0; i < employees * 2; i++) {
+            overtimes.add(new Overtime(
+                employeeId(random.nextInt(employees)),
+                1 + random.nextInt(10),
+                LocalDate.of(YEAR, CALCULATION_MONTH, 1 + random.nextInt(31))
+            ));
+        }
+        return overtimes;
+    }
+
+    static List<TaxClass> taxClasses() {
+        return List.of(new TaxClass("4", 0.15), new TaxClass("3", 0.10),
+            new TaxClass("1", 0.20));
+    }
+
+    static List<Payment> payments() {
+        return List.of(new Payment(PAYMENT_MONTH, YEAR, 19));
+    }
+
+    static List<Calendar> calendar() {
+        List<Calendar> calendar = new ArrayList<>();
+        for (LocalDate day = LocalDate.of(YEAR, 1, 1); day.getYear() == YEAR;
+             day = day.plusDays(1)) {
+            boolean holiday = day.getMonthValue() == 10 && day.getDayOfMonth() == 3;
+            calendar.add(new Calendar(day.getYear(), day.getMonthValue(), day.getDayOfMonth(),
+                day.getDayOfWeek(), holiday));
+        }
+        return calendar;
+    }
+
+    static List<LocalHoliday> localHolidays() {
+        return List.of(new LocalHoliday(YEAR, CALCULATION_MONTH, 31, "Dresden"));
+    }
+
+    static List<PaymentResult> results(int count) {
+        SplittableRandom random = new SplittableRandom(SEED + 3);
+        List<PaymentResult> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(new PaymentResult(employeeId(i), random.nextInt(800_000) / 100.0,
+                "2025-11-19", "DE" + (100_000_000L + i), "EUR"));
+        }
+        return results;
+    }
+
+    /**
+     * Writes employees in the format of main_data.csv.
+     */
+    static void writeEmployees(Path file, List<Employee> employees) {
+        write(file, "Name;Location;Employee ID;Tax Class;AT Level;Status;Days Worked;"
+                + "Phone Number;Birthday;Password", employees,
+            employee -> String.join(";", employee.getFullName(), employee.getLocation(),
+                employee.getEmployeeId(), employee.getTaxClass(), employee.getAtLevel(),
+                employee.getStatus(), String.valueOf(employee.getDaysWorked()),
+                employee.getPhone(), employee.getBirthdayDate(), employee.getPassword()));
+    }
+
+    private static <T> void write(Path file, String header, List<T> rows,
+                                  Function<T, String> format) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(header);
+            for (T row : rows) {
+                writer.newLine();
+                writer.write(format.apply(row));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("payroll-benchmark");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void delete(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
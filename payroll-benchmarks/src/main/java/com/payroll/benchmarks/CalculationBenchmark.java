@@ -0,0 +1,93 @@
+package com.payroll.benchmarks;
+
+import com.payroll.model.Calendar;
+import com.payroll.model.Employee;
+import com.payroll.model.LocalHoliday;
+import com.payroll.model.OffHeapEmployeeTable;
+import com.payroll.model.OffHeapRateTable;
+import com.payroll.model.Overtime;
+import com.payroll.model.Payment;
+import com.payroll.model.PaymentResult;
+import com.payroll.model.Rate;
+import com.payroll.model.TaxClass;
+import com.payroll.service.impl.CalculationServiceImpl;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Calculates one payment for all employees with
+ * {@link CalculationServiceImpl#calculatePayroll(List, List, List, List, List, List, List)},
+ * and with the same employees and rates held outside the heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = PayrollBenchmarks.LOGBACK_CONFIGURATION)
+public class CalculationBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int employees;
+
+    private List<Employee> employeeList;
+    private List<Rate> rates;
+    private List<Payment> payments;
+    private List<Overtime> overtimes;
+    private List<TaxClass> taxClasses;
+    private List<Calendar> calendar;
+    private List<LocalHoliday> localHolidays;
+    private OffHeapEmployeeTable offHeapEmployees;
+    private OffHeapRateTable offHeapRates;
+    private CalculationServiceImpl calculationService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employeeList = BenchmarkData.employees(employees);
+        rates = BenchmarkData.rates(employees);
+        payments = BenchmarkData.payments();
+        overtimes = BenchmarkData.overtimes(employees);
+        taxClasses = BenchmarkData.taxClasses();
+        calendar = BenchmarkData.calendar();
+        localHolidays = BenchmarkData.localHolidays();
+        OffHeapEmployeeTable.Builder table = OffHeapEmployeeTable.builder();
+        for (Employee employee : employeeList) {
+            Integer daysWorked = employee.getDaysWorked();
+            table.add(employee.getFullName(), employee.getLocation(), employee.getEmployeeId(),
+                employee.getTaxClass(), employee.getStatus(), daysWorked != null,
+                daysWorked != null ? daysWorked : 0);
+        }
+        offHeapEmployees = table.build();
+        OffHeapRateTable.Builder rateTable =
+            OffHeapRateTable.builder(offHeapEmployees.employeeIdDictionary());
+        for (Rate rate : rates) {
+            rateTable.add(rate.employeeId(), rate.rate(), rate.overtimeRate());
+        }
+        offHeapRates = rateTable.build();
+        calculationService = new CalculationServiceImpl();
+    }
+
+    @Benchmark
+    public List<PaymentResult> calculatePayroll() {
+        return calculationService.calculatePayroll(employeeList, rates, payments, overtimes,
+            taxClasses, calendar, localHolidays);
+    }
+
+    @Benchmark
+    public List<PaymentResult> calculatePayrollOffHeap() {
+        return calculationService.calculatePayroll(offHeapEmployees, offHeapRates, payments,
+            overtimes, taxClasses, calendar, localHolidays);
+    }
+}
@@ -0,0 +1,60 @@
+package com.payroll.benchmarks;
+
+import com.payroll.service.impl.FileServiceImpl;
+import com.payroll.util.DefaultFileReader;
+import com.payroll.util.SimpleCsvParser;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses main_data.csv into header maps with {@link SimpleCsvParser#parseWithHeaders}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = PayrollBenchmarks.LOGBACK_CONFIGURATION)
+public class CsvParserBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int employees;
+
+    private Path dataRoot;
+    private String filePath;
+    private SimpleCsvParser parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataRoot = BenchmarkData.createTempDirectory();
+        Path file = dataRoot.resolve(FileServiceImpl.MAIN_DATA_PATH);
+        BenchmarkData.writeEmployees(file, BenchmarkData.employees(employees));
+        filePath = file.toString();
+        parser = new SimpleCsvParser(new DefaultFileReader());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.delete(dataRoot);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> parseWithHeaders() {
+        return parser.parseWithHeaders(filePath);
+    }
+}
@@ -0,0 +1,49 @@
+package com.payroll.benchmarks;
+
+import com.payroll.model.Overtime;
+import com.payroll.service.impl.OvertimeServiceImpl;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Aggregates two overtime records per employee by employee and month with
+ * {@link OvertimeServiceImpl#aggregateOvertimesByMonth(List)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = PayrollBenchmarks.LOGBACK_CONFIGURATION)
+public class OvertimeAggregationBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int employees;
+
+    private List<Overtime> overtimes;
+    private OvertimeServiceImpl overtimeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        overtimes = BenchmarkData.overtimes(employees);
+        overtimeService = new OvertimeServiceImpl();
+    }
+
+    @Benchmark
+    public Map<String, Map<String, Integer>> aggregateOvertimesByMonth() {
+        return overtimeService.aggregateOvertimesByMonth(overtimes);
+    }
+}
@@ -0,0 +1,160 @@
+package com.payroll.benchmarks;
+
+import com.payroll.kernel.PayKernel;
+import com.payroll.model.Calendar;
+import com.payroll.model.Employee;
+import com.payroll.model.Payment;
+import com.payroll.model.Rate;
+import com.payroll.model.TaxClass;
+import com.payroll.service.impl.BasePayServiceIml;
+import com.payroll.service.impl.OvertimeServiceImpl;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Calculates the base and overtime pay of all employees one by one with
+ * {@link BasePayServiceIml} and {@link OvertimeServiceImpl}, and over columns with the
+ * scalar and the preferred {@link PayKernel}. The fork adds jdk.incubator.vector, so the
+ * preferred kernel is the Vector API one. The setup checks that all three give the same
+ * results to the last bit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {PayrollBenchmarks.LOGBACK_CONFIGURATION,
+    "--add-modules=jdk.incubator.vector"})
+public class PayKernelBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int employees;
+
+    private final BasePayServiceIml basePayService = new BasePayServiceIml();
+    private final OvertimeServiceImpl overtimeService = new OvertimeServiceImpl();
+
+    private Employee[] employeeRows;
+    private Rate[] rateRows;
+    private TaxClass[] taxClassRows;
+    private Payment payment;
+    private List<Calendar> calendar;
+
+    private double[] daysRatios;
+    private double[] rates;
+    private double[] taxFactors;
+    private int[] overtimeHours;
+    private double[] overtimeRates;
+    private double[] basePay;
+    private double[] overtimePay;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employeeRows = BenchmarkData.employees(employees).toArray(Employee[]::new);
+        rateRows = BenchmarkData.rates(employees).toArray(Rate[]::new);
+        List<TaxClass> taxClasses = BenchmarkData.taxClasses();
+        payment = BenchmarkData.payments().get(0);
+        calendar = BenchmarkData.calendar();
+
+        taxClassRows = new TaxClass[employees];
+        daysRatios = new double[employees];
+        rates = new double[employees];
+        taxFactors = new double[employees];
+        overtimeHours = new int[employees];
+        overtimeRates = new double[employees];
+        basePay = new double[employees];
+        overtimePay = new double[employees];
+        // Up to the limit only, as one by one every limited employee is logged
+        SplittableRandom random = new SplittableRandom(employees);
+        for (int i = 0; i < employees; i++) {
+            taxClassRows[i] = taxClasses.get(random.nextInt(taxClasses.size()));
+            daysRatios[i] = basePayService.getDaysRatio(employeeRows[i].getDaysWorked(),
+                calendar, payment);
+            rates[i] = rateRows[i].rate();
+            taxFactors[i] = basePayService.getTaxFactor(taxClassRows[i]);
+            overtimeHours[i] = random.nextInt(PayKernel.MAX_OVERTIME_HOURS + 1);
+            overtimeRates[i] = rateRows[i].overtimeRate();
+        }
+
+        double[] expected = perEmployee();
+        check(expected, kernel(PayKernel.scalar()), "scalar");
+        check(expected, kernel(PayKernel.preferred()), PayKernel.preferred().name());
+        checkLimits(PayKernel.preferred());
+    }
+
+    @Benchmark
+    public double[] perEmployee() {
+        double[] total = new double[employees];
+        for (int i = 0; i < employees; i++) {
+            double base = basePayService.calculateBasePay(employeeRows[i], rateRows[i], payment,
+                taxClassRows[i], calendar);
+            double overtime = overtimeService.calculateOvertimePay(rateRows[i],
+                overtimeHours[i]);
+            total[i] = base + overtime;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double[] scalarKernel() {
+        return kernel(PayKernel.scalar());
+    }
+
+    @Benchmark
+    public double[] preferredKernel() {
+        return kernel(PayKernel.preferred());
+    }
+
+    private double[] kernel(PayKernel kernel) {
+        kernel.basePay(daysRatios, rates, taxFactors, basePay, employees);
+        kernel.overtimePay(overtimeHours, overtimeRates, overtimePay, employees);
+        double[] total = new double[employees];
+        for (int i = 0; i < employees; i++) {
+            total[i] = basePay[i] + overtimePay[i];
+        }
+        return total;
+    }
+
+    private static void check(double[] expected, double[] actual, String kernel) {
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException("The " + kernel + " kernel differs from the "
+                + "one-by-one calculation");
+        }
+    }
+
+    /**
+     * Checks the hours the benchmark data leaves out: none, negative and above the limit.
+     */
+    private void checkLimits(PayKernel kernel) {
+        int[] hours = {-3, 0, 1, 9, 10, 11, 40, 0, 10, 11, -1, 7, 25, 2, 10, 12, 5};
+        double[] rates = new double[hours.length];
+        double[] expected = new double[hours.length];
+        for (int i = 0; i < hours.length; i++) {
+            rates[i] = rateRows[i % rateRows.length].overtimeRate();
+            int cappedHours = Math.min(hours[i], PayKernel.MAX_OVERTIME_HOURS);
+            expected[i] = hours[i] <= 0
+                ? 0
+                : cappedHours * rates[i] * PayKernel.OVERTIME_COEFFICIENT;
+        }
+        double[] actual = new double[hours.length];
+        int limited = kernel.overtimePay(hours, rates, actual, hours.length);
+        if (limited != 5) {
+            throw new IllegalStateException("The " + kernel.name() + " kernel limited "
+                + limited + " instead of 5 employees");
+        }
+        check(expected, actual, kernel.name());
+    }
+}
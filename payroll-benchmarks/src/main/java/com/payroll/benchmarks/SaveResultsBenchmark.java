@@ -0,0 +1,59 @@
+package com.payroll.benchmarks;
+
+import com.payroll.model.PaymentResult;
+import com.payroll.service.impl.FileServiceImpl;
+import com.payroll.util.DefaultFileReader;
+import com.payroll.util.SimpleCsvParser;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes one result per employee to the result file with {@link FileServiceImpl#saveResults}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = PayrollBenchmarks.LOGBACK_CONFIGURATION)
+public class SaveResultsBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int employees;
+
+    private Path dataRoot;
+    private List<PaymentResult> results;
+    private FileServiceImpl fileService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataRoot = BenchmarkData.createTempDirectory();
+        results = BenchmarkData.results(employees);
+        fileService = new FileServiceImpl(dataRoot.toString(),
+            new SimpleCsvParser(new DefaultFileReader()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.delete(dataRoot);
+    }
+
+    @Benchmark
+    public void saveResults() {
+        fileService.saveResults(results);
+    }
+}
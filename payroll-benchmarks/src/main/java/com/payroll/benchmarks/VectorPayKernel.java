@@ -0,0 +1,77 @@
+package com.payroll.benchmarks;
+
+import com.payroll.kernel.PayKernel;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Pay kernel on the incubating Vector API, with the widest double vectors of the CPU and
+ * int vectors of the same lane count for the overtime hours. The elements after the last
+ * full vector go through the scalar loops.
+ *
+ * Lives in the benchmarks, which compile with jdk.incubator.vector, so the main build needs
+ * no incubator module. Registered as a {@link PayKernel} service, and only loaded by
+ * {@link PayKernel#preferred()} when jdk.incubator.vector is present.
+ */
+public final class VectorPayKernel implements PayKernel {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    // Half the bits for the same number of lanes
+    private static final VectorSpecies<Integer> INTS =
+        VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    @Override
+    public void basePay(double[] daysRatios, double[] rates, double[] taxFactors,
+                        double[] basePay, int count) {
+        int bound = DOUBLES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            DoubleVector.fromArray(DOUBLES, daysRatios, i)
+                .mul(DoubleVector.fromArray(DOUBLES, rates, i))
+                .mul(DoubleVector.fromArray(DOUBLES, taxFactors, i))
+                .intoArray(basePay, i);
+        }
+        for (; i < count; i++) {
+            basePay[i] = daysRatios[i] * rates[i] * taxFactors[i];
+        }
+    }
+
+    @Override
+    public int overtimePay(int[] overtimeHours, double[] overtimeRates, double[] overtimePay,
+                           int count) {
+        int bound = DOUBLES.loopBound(count);
+        int limited = 0;
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            IntVector hours = IntVector.fromArray(INTS, overtimeHours, i);
+            limited += hours.compare(VectorOperators.GT, MAX_OVERTIME_HOURS).trueCount();
+            DoubleVector cappedHours = (DoubleVector) hours.min(MAX_OVERTIME_HOURS)
+                .convertShape(VectorOperators.I2D, DOUBLES, 0);
+            // Masked rather than multiplied by 0, which is -0.0 or NaN for some rates
+            VectorMask<Double> noOvertime = cappedHours.compare(VectorOperators.LE, 0);
+            cappedHours
+                .mul(DoubleVector.fromArray(DOUBLES, overtimeRates, i))
+                .mul(OVERTIME_COEFFICIENT)
+                .blend(0, noOvertime)
+                .intoArray(overtimePay, i);
+        }
+        for (; i < count; i++) {
+            int hours = overtimeHours[i];
+            if (hours > MAX_OVERTIME_HOURS) {
+                limited++;
+            }
+            overtimePay[i] = hours <= 0
+                ? 0
+                : Math.min(hours, MAX_OVERTIME_HOURS) * overtimeRates[i] * OVERTIME_COEFFICIENT;
+        }
+        return limited;
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + DOUBLES.vectorBitSize();
+    }
+}
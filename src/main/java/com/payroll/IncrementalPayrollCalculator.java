@@ -0,0 +1,271 @@
+package com.payroll;
+
+import com.payroll.exception.DataLoadException;
+import com.payroll.exception.ValidationException;
+import com.payroll.incremental.IncrementalState;
+import com.payroll.incremental.IncrementalState.RowKey;
+import com.payroll.incremental.IncrementalState.RowState;
+import com.payroll.incremental.InputFingerprints;
+import com.payroll.model.Calendar;
+import com.payroll.model.Employee;
+import com.payroll.model.LocalHoliday;
+import com.payroll.model.Overtime;
+import com.payroll.model.Payment;
+import com.payroll.model.PaymentResult;
+import com.payroll.model.Rate;
+import com.payroll.model.TaxClass;
+import com.payroll.service.FileService;
+import com.payroll.service.PayrollCalculationService;
+import com.payroll.service.PayrollCalculationService.EmployeeBatchCalculation;
+import com.payroll.service.ValidationService;
+import com.payroll.util.ConcurrentLoader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Payroll calculation workflow that only recalculates employees whose input changed since
+ * the last run.
+ *
+ * Every employee row is fingerprinted together with the rate and overtimes of its ID and
+ * compared to the state saved by the last run next to the result file. Rows with the same
+ * fingerprint take their results from that state; all rows are recalculated when there is
+ * no state, a global input (payments, calendar, tax classes, local holidays) changed or
+ * the calculation uses another arithmetic.
+ * The result file is the same as the one of {@link PayrollCalculator}.
+ */
+public class IncrementalPayrollCalculator {
+    private static final Logger logger =
+        LoggerFactory.getLogger(IncrementalPayrollCalculator.class);
+
+    private final FileService fileService;
+    private final ValidationService validationService;
+    private final PayrollCalculationService calculationService;
+
+    /**
+     * Constructs an IncrementalPayrollCalculator.
+     *
+     * @param fileService        File access service
+     * @param validationService  Data validation service
+     * @param calculationService Calculation service
+     */
+    public IncrementalPayrollCalculator(
+        FileService fileService,
+        ValidationService validationService,
+        PayrollCalculationService calculationService) {
+        this.fileService = fileService;
+        this.validationService = validationService;
+        this.calculationService = calculationService;
+    }
+
+    /**
+     * Executes the payroll calculation process.
+     */
+    public void run() {
+        logger.info("Starting incremental payroll calculation process...");
+
+        try {
+            // Load data from files; the files are independent and are read concurrently
+            List<Employee> employees;
+            List<Rate> rates;
+            List<Payment> payments;
+            List<Overtime> overtimes;
+            List<TaxClass> taxClasses;
+            List<Calendar> calendar;
+            List<LocalHoliday> localHolidays;
+            IncrementalState previous;
+            try (ConcurrentLoader loader = new ConcurrentLoader()) {
+                Supplier<List<Employee>> employeeLoad =
+                    loader.fork("employees", fileService::loadEmployees);
+                Supplier<List<Rate>> rateLoad = loader.fork("rates", fileService::loadRates);
+                Supplier<List<Payment>> paymentLoad =
+                    loader.fork("payments", fileService::loadPayments);
+                Supplier<List<Overtime>> overtimeLoad =
+                    loader.fork("overtimes", fileService::loadOvertimes);
+                Supplier<List<TaxClass>> taxClassLoad =
+                    loader.fork("tax classes", fileService::loadTaxClasses);
+                Supplier<List<Calendar>> calendarLoad =
+                    loader.fork("calendar", fileService::loadCalendar);
+                Supplier<List<LocalHoliday>> localHolidayLoad =
+                    loader.fork("local holidays", fileService::loadLocalHolidays);
+                Supplier<IncrementalState> stateLoad =
+                    loader.fork("incremental state", fileService::loadIncrementalState);
+                loader.join();
+
+                employees = employeeLoad.get();
+                rates = rateLoad.get();
+                payments = paymentLoad.get();
+                overtimes = overtimeLoad.get();
+                taxClasses = taxClassLoad.get();
+                calendar = calendarLoad.get();
+                localHolidays = localHolidayLoad.get();
+                previous = stateLoad.get();
+            }
+
+            // Validate data
+            validationService.validateData(employees, rates, payments, overtimes, taxClasses,
+                calendar);
+
+            // Compare the inputs with the last run
+            long globalFingerprint = InputFingerprints.global(payments, calendar, taxClasses,
+                localHolidays, calculationService.arithmetic());
+            RowKey[] keys = InputFingerprints.keys(employees);
+            long[] fingerprints = InputFingerprints.employees(employees, rates, overtimes);
+            RowState[] unchanged = findUnchangedRows(previous, globalFingerprint, keys,
+                fingerprints);
+
+            // Calculate changed rows and carry the results of the others forward
+            PaymentResult[][] rowResults = new PaymentResult[employees.size()][];
+            List<PaymentResult> results = calculate(employees, payments, overtimes, rates,
+                taxClasses, calendar, localHolidays, unchanged, rowResults);
+
+            // Save results and the state for the next run
+            fileService.saveResults(results);
+            Map<RowKey, RowState> rows = HashMap.newHashMap(keys.length);
+            for (int row = 0; row < keys.length; row++) {
+                rows.put(keys[row], new RowState(fingerprints[row], rowResults[row]));
+            }
+            fileService.saveIncrementalState(
+                new IncrementalState(globalFingerprint, payments.size(), rows));
+
+            logger.info("Payroll calculation completed successfully!");
+            System.out.println("Payroll calculation completed successfully!");
+
+        } catch (DataLoadException e) {
+            logger.error("Error loading data: {}", e.getMessage(), e);
+            System.err.println("Error loading data: " + e.getMessage());
+            throw new RuntimeException("Payroll calculation failed due to data loading error", e);
+        } catch (ValidationException e) {
+            logger.error("Validation error: {}", e.getMessage(), e);
+            System.err.println("Validation error: " + e.getMessage());
+            throw new RuntimeException("Payroll calculation failed due to validation error", e);
+        } catch (Exception e) {
+            logger.error("Unexpected error: {}", e.getMessage(), e);
+            System.err.println("Unexpected error: " + e.getMessage());
+            throw new RuntimeException("Payroll calculation failed due to unexpected error", e);
+        }
+    }
+
+    /**
+     * Gets the previous state of every row whose fingerprint did not change.
+     *
+     * @return State by row, null for rows that have to be calculated
+     */
+    private RowState[] findUnchangedRows(IncrementalState previous, long globalFingerprint,
+                                         RowKey[] keys, long[] fingerprints) {
+        RowState[] unchanged = new RowState[keys.length];
+        if (previous == null) {
+            logger.info("No previous run, calculating all {} employees", keys.length);
+            return unchanged;
+        }
+        if (previous.globalFingerprint() != globalFingerprint) {
+            logger.info("Payments, calendar, tax classes, local holidays or arithmetic changed, "
+                + "calculating all {} employees", keys.length);
+            return unchanged;
+        }
+
+        int changed = 0;
+        for (int row = 0; row < keys.length; row++) {
+            RowState state = previous.row(keys[row]);
+            if (state != null && state.fingerprint() == fingerprints[row]
+                && state.results().length == previous.payments()) {
+                unchanged[row] = state;
+            } else {
+                changed++;
+            }
+        }
+        logger.info("{} of {} employees changed since the last run", changed, keys.length);
+        return unchanged;
+    }
+
+    /**
+     * Calculates the results of all payments in the order of {@link PayrollCalculator}.
+     * The results of each row are also stored in {@code rowResults}, by payment.
+     */
+    private List<PaymentResult> calculate(List<Employee> employees, List<Payment> payments,
+                                          List<Overtime> overtimes, List<Rate> rates,
+                                          List<TaxClass> taxClasses, List<Calendar> calendar,
+                                          List<LocalHoliday> localHolidays,
+                                          RowState[] unchanged, PaymentResult[][] rowResults) {
+        List<Integer> changedRows = new ArrayList<>();
+        for (int row = 0; row < unchanged.length; row++) {
+            if (unchanged[row] == null) {
+                changedRows.add(row);
+                rowResults[row] = new PaymentResult[payments.size()];
+            } else {
+                rowResults[row] = unchanged[row].results();
+            }
+        }
+        EmployeeBatchCalculation calculation = changedRows.isEmpty() ? null
+            : calculationService.prepareBatchCalculation(rates, overtimes, taxClasses,
+                calendar, localHolidays);
+
+        List<PaymentResult> results = new ArrayList<>();
+        for (int index = 0; index < payments.size(); index++) {
+            Payment payment = payments.get(index);
+            logger.info("Processing payment for period: {}", payment.getPaymentPeriodKey());
+            if (calculation != null) {
+                calculateRows(calculation, employees, changedRows, payment, index, rowResults);
+            }
+            for (PaymentResult[] row : rowResults) {
+                if (row[index] != null) {
+                    results.add(row[index]);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Calculates the changed rows for one payment. Rows are calculated in batches in which
+     * every employee ID occurs once, so each result can be matched to its row by ID.
+     */
+    private void calculateRows(EmployeeBatchCalculation calculation, List<Employee> employees,
+                               List<Integer> changedRows, Payment payment, int index,
+                               PaymentResult[][] rowResults) {
+        List<Employee> batch = new ArrayList<>();
+        List<Integer> batchRows = new ArrayList<>();
+        Set<String> batchIds = new HashSet<>();
+        List<PaymentResult> batchResults = new ArrayList<>();
+        for (int position = 0; position <= changedRows.size(); position++) {
+            Employee employee =
+                position < changedRows.size() ? employees.get(changedRows.get(position)) : null;
+            if (employee != null && batchIds.add(employee.getEmployeeId())) {
+                batch.add(employee);
+                batchRows.add(changedRows.get(position));
+                continue;
+            }
+
+            // Calculate the batch and match its results to the rows
+            batchResults.clear();
+            calculation.calculate(batch, payment, batchResults);
+            int next = 0;
+            for (int i = 0; i < batch.size() && next < batchResults.size(); i++) {
+                PaymentResult result = batchResults.get(next);
+                if (Objects.equals(result.employeeId(), batch.get(i).getEmployeeId())) {
+                    rowResults[batchRows.get(i)][index] = result;
+                    next++;
+                }
+            }
+            if (next != batchResults.size()) {
+                throw new IllegalStateException("Results could not be matched to employees");
+            }
+
+            batch.clear();
+            batchRows.clear();
+            batchIds.clear();
+            if (employee != null) {
+                batch.add(employee);
+                batchRows.add(changedRows.get(position));
+                batchIds.add(employee.getEmployeeId());
+            }
+        }
+    }
+}
@@ -1,10 +1,31 @@
 package com.payroll;
 
+import com.payroll.audit.AuditTrail;
+import com.payroll.metrics.RunMetrics;
+import com.payroll.model.Money;
+import com.payroll.server.PayrollServer;
+import com.payroll.service.FileService;
+import com.payroll.service.ValidationService;
 import com.payroll.service.impl.CalculationServiceImpl;
 import com.payroll.service.impl.FileServiceImpl;
+import com.payroll.service.impl.OvertimeServiceImpl;
+import com.payroll.service.impl.PackedOvertimeServiceImpl;
+import com.payroll.service.impl.ParallelCalculationServiceImpl;
+import com.payroll.service.impl.RuleValidationServiceImpl;
 import com.payroll.service.impl.ValidationServiceImpl;
+import com.payroll.util.CsvParser;
 import com.payroll.util.DefaultFileReader;
+import com.payroll.util.MappedCsvParser;
+import com.payroll.util.MappedFileReader;
+import com.payroll.util.ParseCache;
 import com.payroll.util.SimpleCsvParser;
+import com.payroll.validation.ValidationEngine;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
 
 /**
  * Main application class that initializes and starts the payroll calculator.
@@ -14,6 +35,40 @@ public class PayrollApplication {
     public static final String DEFAULT_DATA_ROUTE = "data";
     // File paths constants
 
+    // System property selecting the CSV parser: "simple" (default) or "mapped"
+    public static final String PARSER_PROPERTY = "payroll.parser";
+    // System property with the number of parts large files are loaded in, 1 = sequential
+    public static final String LOAD_PARALLELISM_PROPERTY = "payroll.load.parallelism";
+    // System property selecting the overtime aggregation: "map" (default) or "packed"
+    public static final String OVERTIME_PROPERTY = "payroll.overtime";
+    // System property with the number of calculation threads, 1 = sequential
+    public static final String CALCULATION_PARALLELISM_PROPERTY = "payroll.calculation.parallelism";
+    // System property with the minimum number of employees calculated in parallel
+    public static final String CALCULATION_THRESHOLD_PROPERTY = "payroll.calculation.threshold";
+    // System property selecting the pay arithmetic: "cents" (default) or "double"
+    public static final String MONEY_PROPERTY = "payroll.money";
+    // System property with the rounding of fractions of a cent, a java.math.RoundingMode name
+    public static final String MONEY_ROUNDING_PROPERTY = "payroll.money.rounding";
+    // System property selecting the workflow: "batch" (default), "streaming", "incremental"
+    // or "server"
+    public static final String MODE_PROPERTY = "payroll.mode";
+    // System property with the number of employees per batch in streaming mode
+    public static final String STREAM_BATCH_SIZE_PROPERTY = "payroll.stream.batch.size";
+    // System property with the number of batches queued between streaming stages
+    public static final String STREAM_QUEUE_CAPACITY_PROPERTY = "payroll.stream.queue.capacity";
+    // System property with the local port of the server mode
+    public static final String SERVER_PORT_PROPERTY = "payroll.server.port";
+    // System property selecting the validation: "log" (default) or "report"
+    public static final String VALIDATION_PROPERTY = "payroll.validation";
+    // System property selecting the parse cache: "off" (default), "on" or "verify"
+    public static final String CACHE_PROPERTY = "payroll.cache";
+    // System property enabling the run metrics of the batch mode: "off" (default) or "on"
+    public static final String METRICS_PROPERTY = "payroll.metrics";
+    // System property selecting the audit trail of the employees: "on" (default) or "off"
+    public static final String AUDIT_PROPERTY = "payroll.audit";
+    // File the audit trail is appended to, next to the log file
+    public static final String AUDIT_FILE = "logs/payroll-audit.jsonl";
+
     public static void main(String[] args) {
         String dataRoute = args.length > 0 ? args[0] : DEFAULT_DATA_ROUTE;
         // check if dataRoute is a valid path
@@ -21,11 +76,179 @@ public class PayrollApplication {
             throw new IllegalArgumentException("Data route cannot be null or empty");
         }
         // Initialization
-        new PayrollCalculator(
-            new FileServiceImpl(dataRoute, new SimpleCsvParser(new DefaultFileReader())),
-            new ValidationServiceImpl(),
-            new CalculationServiceImpl()
-        ).run();
+        FileServiceImpl fileService = createFileService(dataRoute);
+        String mode = System.getProperty(MODE_PROPERTY, "batch");
+        try (AuditTrail audit = createAuditTrail();
+             CalculationServiceImpl calculationService = createCalculationService(audit)) {
+            switch (mode) {
+                case "batch" -> runBatch(fileService, calculationService);
+                case "streaming" -> new StreamingPayrollCalculator(
+                    fileService,
+                    createValidationService(fileService),
+                    calculationService,
+                    Integer.getInteger(STREAM_BATCH_SIZE_PROPERTY,
+                        StreamingPayrollCalculator.DEFAULT_BATCH_SIZE),
+                    Integer.getInteger(STREAM_QUEUE_CAPACITY_PROPERTY,
+                        StreamingPayrollCalculator.DEFAULT_QUEUE_CAPACITY)
+                ).run();
+                case "incremental" -> new IncrementalPayrollCalculator(
+                    fileService,
+                    createValidationService(fileService),
+                    calculationService
+                ).run();
+                case "server" -> runServer(dataRoute, calculationService);
+                default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+            }
+        }
+
+    }
+
+    private static void runBatch(FileServiceImpl fileService,
+                                 CalculationServiceImpl calculationService) {
+        RunMetrics metrics = createRunMetrics();
+        metrics.register();
+        try {
+            new PayrollCalculator(
+                fileService,
+                createValidationService(fileService),
+                calculationService,
+                metrics
+            ).run();
+        } finally {
+            metrics.unregister();
+        }
+    }
+
+    private static void runServer(String dataRoute, CalculationServiceImpl calculationService) {
+        PayrollServer server = new PayrollServer(
+            dataRoute,
+            PayrollApplication::createFileService,
+            PayrollApplication::createValidationService,
+            calculationService
+        );
+        try {
+            server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                Integer.getInteger(SERVER_PORT_PROPERTY, PayrollServer.DEFAULT_PORT)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start the payroll server", e);
+        }
+        // Stop on Ctrl+C or SIGTERM, and let main close the calculation service and the audit
+        // trail before the JVM exits
+        Thread main = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            try {
+                main.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        try {
+            server.awaitStop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.stop();
+        }
+    }
+
+    private static FileServiceImpl createFileService(String dataRoute) {
+        return new FileServiceImpl(dataRoute, createCsvParser(),
+            Integer.getInteger(LOAD_PARALLELISM_PROPERTY, 1), createParseCache(dataRoute));
+    }
+
+    private static AuditTrail createAuditTrail() {
+        String audit = System.getProperty(AUDIT_PROPERTY, "on");
+        return switch (audit) {
+            case "on" -> {
+                try {
+                    yield AuditTrail.open(Paths.get(AUDIT_FILE), AuditTrail.DEFAULT_CAPACITY);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot open the audit trail " + AUDIT_FILE, e);
+                }
+            }
+            case "off" -> AuditTrail.disabled();
+            default -> throw new IllegalArgumentException("Unknown audit trail: " + audit);
+        };
+    }
+
+    private static RunMetrics createRunMetrics() {
+        String enabled = System.getProperty(METRICS_PROPERTY, "off");
+        return switch (enabled) {
+            case "off" -> RunMetrics.disabled();
+            case "on" -> new RunMetrics();
+            default -> throw new IllegalArgumentException("Unknown run metrics: " + enabled);
+        };
+    }
+
+    private static ValidationService createValidationService(FileService fileService) {
+        String validation = System.getProperty(VALIDATION_PROPERTY, "log");
+        return switch (validation) {
+            case "log" -> new ValidationServiceImpl();
+            case "report" -> new RuleValidationServiceImpl(new ValidationEngine(),
+                fileService::saveValidationReport);
+            default -> throw new IllegalArgumentException("Unknown validation: " + validation);
+        };
+    }
+
+    private static ParseCache createParseCache(String dataRoute) {
+        String cache = System.getProperty(CACHE_PROPERTY, "off");
+        return switch (cache) {
+            case "off" -> null;
+            case "on" -> new ParseCache(Paths.get(dataRoute, FileServiceImpl.PARSE_CACHE_PATH),
+                ParseCache.Validation.METADATA);
+            case "verify" -> new ParseCache(
+                Paths.get(dataRoute, FileServiceImpl.PARSE_CACHE_PATH),
+                ParseCache.Validation.CHECKSUM);
+            default -> throw new IllegalArgumentException("Unknown parse cache: " + cache);
+        };
+    }
+
+    private static CsvParser createCsvParser() {
+        String parser = System.getProperty(PARSER_PROPERTY, "simple");
+        return switch (parser) {
+            case "simple" -> new SimpleCsvParser(new DefaultFileReader());
+            case "mapped" -> new MappedCsvParser(new MappedFileReader());
+            default -> throw new IllegalArgumentException("Unknown CSV parser: " + parser);
+        };
+    }
+
+    private static CalculationServiceImpl createCalculationService(AuditTrail audit) {
+        int parallelism = Integer.getInteger(CALCULATION_PARALLELISM_PROPERTY, 1);
+        RoundingMode rounding = createRounding();
+        if (parallelism <= 1) {
+            return new CalculationServiceImpl(createOvertimeService(), audit, rounding);
+        }
+        return new ParallelCalculationServiceImpl(createOvertimeService(), parallelism,
+            Integer.getInteger(CALCULATION_THRESHOLD_PROPERTY,
+                ParallelCalculationServiceImpl.DEFAULT_THRESHOLD), audit, rounding);
+    }
+
+    /**
+     * Gets the rounding of the fixed-point calculation, or null for the double one.
+     */
+    private static RoundingMode createRounding() {
+        String money = System.getProperty(MONEY_PROPERTY, "cents");
+        return switch (money) {
+            case "cents" -> {
+                String rounding = System.getProperty(MONEY_ROUNDING_PROPERTY,
+                    Money.DEFAULT_ROUNDING.name());
+                try {
+                    yield RoundingMode.valueOf(rounding);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown rounding: " + rounding, e);
+                }
+            }
+            case "double" -> null;
+            default -> throw new IllegalArgumentException("Unknown money arithmetic: " + money);
+        };
+    }
 
+    private static OvertimeServiceImpl createOvertimeService() {
+        String overtime = System.getProperty(OVERTIME_PROPERTY, "map");
+        return switch (overtime) {
+            case "map" -> new OvertimeServiceImpl();
+            case "packed" -> new PackedOvertimeServiceImpl();
+            default -> throw new IllegalArgumentException("Unknown overtime engine: " + overtime);
+        };
     }
-}
\ No newline at end of file
+}
@@ -2,17 +2,25 @@ package com.payroll;
 
 import com.payroll.api.CalculationService;
 import com.payroll.service.FileService;
+import com.payroll.service.PayrollCalculationService;
 import com.payroll.service.ValidationService;
 import com.payroll.exception.DataLoadException;
 import com.payroll.exception.ValidationException;
+import com.payroll.index.PreparedPayrollContext;
+import com.payroll.metrics.RunMetrics;
+import com.payroll.metrics.StageMetrics;
 import com.payroll.model.Calendar;
 import com.payroll.model.Employee;
+import com.payroll.model.LocalHoliday;
 import com.payroll.model.Overtime;
 import com.payroll.model.Payment;
 import com.payroll.model.PaymentResult;
 import com.payroll.model.Rate;
 import com.payroll.model.TaxClass;
+import com.payroll.util.ConcurrentLoader;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,6 +33,7 @@ public class PayrollCalculator {
     private final FileService fileService;
     private final ValidationService validationService;
     private final CalculationService calculationService;
+    private final RunMetrics metrics;
 
     /**
      * Constructs a PayrollCalculator with the required services.
@@ -37,9 +46,27 @@ public class PayrollCalculator {
         FileService fileService,
         ValidationService validationService,
         CalculationService calculationService) {
+        this(fileService, validationService, calculationService, RunMetrics.disabled());
+    }
+
+    /**
+     * Constructs a PayrollCalculator that records the metrics of every stage of the run
+     * and saves them next to the results.
+     *
+     * @param fileService        File access service
+     * @param validationService  Data validation service
+     * @param calculationService Calculation service
+     * @param metrics            Metrics of the run, or disabled metrics
+     */
+    public PayrollCalculator(
+        FileService fileService,
+        ValidationService validationService,
+        CalculationService calculationService,
+        RunMetrics metrics) {
         this.fileService = fileService;
         this.validationService = validationService;
         this.calculationService = calculationService;
+        this.metrics = metrics;
     }
 
     /**
@@ -48,26 +75,82 @@ public class PayrollCalculator {
     public void run() {
         logger.info("Starting payroll calculation process...");
 
+        boolean succeeded = false;
         try {
-            // Load data from files
-            List<Employee> employees = fileService.loadEmployees();
-            List<Rate> rates = fileService.loadRates();
-            List<Payment> payments = fileService.loadPayments();
-            List<Overtime> overtimes = fileService.loadOvertimes();
-            List<TaxClass> taxClasses = fileService.loadTaxClasses();
-            List<Calendar> calendar = fileService.loadCalendar();
-
-            // Validate data
-            validationService.validateData(employees, rates, payments, overtimes, taxClasses,
-                calendar);
-
-            // Calculate payroll
-            List<PaymentResult> results = calculationService.calculatePayroll(
-                employees, rates, payments, overtimes, taxClasses, calendar);
+            // Load data from files; the files are independent and are read concurrently
+            List<Employee> employees;
+            List<Rate> rates;
+            List<Payment> payments;
+            List<Overtime> overtimes;
+            List<TaxClass> taxClasses;
+            List<Calendar> calendar;
+            List<LocalHoliday> localHolidays;
+            long loadStart = System.nanoTime();
+            try (ConcurrentLoader loader = createLoader()) {
+                Supplier<List<Employee>> employeeLoad = loader.fork("employees",
+                    () -> measure("load employees", fileService::loadEmployees));
+                Supplier<List<Rate>> rateLoad = loader.fork("rates",
+                    () -> measure("load rates", fileService::loadRates));
+                Supplier<List<Payment>> paymentLoad = loader.fork("payments",
+                    () -> measure("load payments", fileService::loadPayments));
+                Supplier<List<Overtime>> overtimeLoad = loader.fork("overtimes",
+                    () -> measure("load overtimes", fileService::loadOvertimes));
+                Supplier<List<TaxClass>> taxClassLoad = loader.fork("tax classes",
+                    () -> measure("load tax classes", fileService::loadTaxClasses));
+                Supplier<List<Calendar>> calendarLoad = loader.fork("calendar",
+                    () -> measure("load calendar", fileService::loadCalendar));
+                Supplier<List<LocalHoliday>> localHolidayLoad = loader.fork("local holidays",
+                    () -> measure("load local holidays", fileService::loadLocalHolidays));
+                loader.join();
+
+                employees = employeeLoad.get();
+                rates = rateLoad.get();
+                payments = paymentLoad.get();
+                overtimes = overtimeLoad.get();
+                taxClasses = taxClassLoad.get();
+                calendar = calendarLoad.get();
+                localHolidays = localHolidayLoad.get();
+            }
+            logger.info("Loaded all input files in {} ms",
+                (System.nanoTime() - loadStart) / 1_000_000);
+
+            List<PaymentResult> results;
+            if (calculationService instanceof PayrollCalculationService payrollCalculation) {
+                // Build the indexes once for validation and calculation
+                PreparedPayrollContext context = measure("prepare",
+                    () -> payrollCalculation.prepareContext(employees, rates, payments,
+                        overtimes, taxClasses, calendar, localHolidays));
+
+                // Validate data
+                measure("validation", () -> {
+                    validationService.validateData(context);
+                    return null;
+                });
+
+                // Calculate payroll
+                results = measure("calculation",
+                    () -> countResults(payrollCalculation.calculatePayroll(context)));
+            } else {
+                // Validate data
+                measure("validation", () -> {
+                    validationService.validateData(employees, rates, payments, overtimes,
+                        taxClasses, calendar);
+                    return null;
+                });
+
+                // Calculate payroll; the base service does not take local holidays
+                results = measure("calculation",
+                    () -> countResults(calculationService.calculatePayroll(employees, rates,
+                        payments, overtimes, taxClasses, calendar)));
+            }
 
             // Save results
-            fileService.saveResults(results);
+            measure("save", () -> {
+                fileService.saveResults(results);
+                return null;
+            });
 
+            succeeded = true;
             logger.info("Payroll calculation completed successfully!");
             System.out.println("Payroll calculation completed successfully!");
 
@@ -83,6 +166,53 @@ public class PayrollCalculator {
             logger.error("Unexpected error: {}", e.getMessage(), e);
             System.err.println("Unexpected error: " + e.getMessage());
             throw new RuntimeException("Payroll calculation failed due to unexpected error", e);
+        } finally {
+            metrics.finish(succeeded);
+            saveMetrics();
+        }
+    }
+
+    /**
+     * Creates the loader of the input files. Measured loads run on platform threads, as
+     * virtual threads do not count their allocations.
+     */
+    private ConcurrentLoader createLoader() {
+        return metrics.isEnabled()
+            ? new ConcurrentLoader(Thread.ofPlatform().name("load-", 0).factory())
+            : new ConcurrentLoader();
+    }
+
+    /**
+     * Runs a step of the workflow as a stage of the run metrics.
+     */
+    private <T> T measure(String name, Callable<T> step) throws Exception {
+        try (StageMetrics stage = metrics.start(name)) {
+            try {
+                return step.call();
+            } catch (Throwable e) {
+                stage.fail();
+                throw e;
+            }
+        }
+    }
+
+    private static List<PaymentResult> countResults(List<PaymentResult> results) {
+        StageMetrics stage = StageMetrics.current();
+        if (stage != null) {
+            stage.addResults(results.size());
+        }
+        return results;
+    }
+
+    private void saveMetrics() {
+        if (!metrics.isEnabled()) {
+            return;
+        }
+        try {
+            fileService.saveRunMetrics(metrics);
+        } catch (DataLoadException e) {
+            // The outcome of the run is not affected
+            logger.warn("Run metrics could not be saved: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
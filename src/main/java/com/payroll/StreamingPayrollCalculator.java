@@ -0,0 +1,224 @@
+package com.payroll;
+
+import com.payroll.exception.DataLoadException;
+import com.payroll.exception.ValidationException;
+import com.payroll.model.Calendar;
+import com.payroll.model.Employee;
+import com.payroll.model.LocalHoliday;
+import com.payroll.model.Overtime;
+import com.payroll.model.Payment;
+import com.payroll.model.PaymentResult;
+import com.payroll.model.Rate;
+import com.payroll.model.TaxClass;
+import com.payroll.service.FileService;
+import com.payroll.service.PayrollCalculationService;
+import com.payroll.service.PayrollCalculationService.EmployeeBatchCalculation;
+import com.payroll.service.ResultSink;
+import com.payroll.service.ValidationService;
+import com.payroll.service.ValidationService.EmployeeValidation;
+import com.payroll.util.BatchQueue;
+import com.payroll.util.ConcurrentLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Payroll calculation workflow for employee files that do not fit into memory.
+ *
+ * Rates, payments, overtimes, tax classes, the calendar and local holidays are loaded into
+ * memory. Employees are read in batches that flow from a reader thread through bounded
+ * queues to validation, calculation and a writer thread, so the memory used for employees
+ * and results depends on the batch size and queue capacity, not on the number of
+ * employees. Employees are validated in a first pass and calculated in one pass per
+ * payment, which writes the results in the same order as {@link PayrollCalculator}.
+ */
+public class StreamingPayrollCalculator {
+    private static final Logger logger = LoggerFactory.getLogger(StreamingPayrollCalculator.class);
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+    public static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    private final FileService fileService;
+    private final ValidationService validationService;
+    private final PayrollCalculationService calculationService;
+    private final int batchSize;
+    private final int queueCapacity;
+
+    /**
+     * Constructs a StreamingPayrollCalculator.
+     *
+     * @param fileService        File access service
+     * @param validationService  Data validation service
+     * @param calculationService Calculation service
+     * @param batchSize          Number of employees per batch
+     * @param queueCapacity      Number of batches that may wait between two stages
+     */
+    public StreamingPayrollCalculator(
+        FileService fileService,
+        ValidationService validationService,
+        PayrollCalculationService calculationService,
+        int batchSize,
+        int queueCapacity) {
+        if (batchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Batch size and queue capacity must be positive: "
+                + batchSize + ", " + queueCapacity);
+        }
+        this.fileService = fileService;
+        this.validationService = validationService;
+        this.calculationService = calculationService;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Executes the payroll calculation process.
+     */
+    public void run() {
+        logger.info("Starting streaming payroll calculation process...");
+
+        try {
+            // Load the data that is kept in memory
+            List<Rate> rates;
+            List<Payment> payments;
+            List<Overtime> overtimes;
+            List<TaxClass> taxClasses;
+            List<Calendar> calendar;
+            List<LocalHoliday> localHolidays;
+            try (ConcurrentLoader loader = new ConcurrentLoader()) {
+                Supplier<List<Rate>> rateLoad = loader.fork("rates", fileService::loadRates);
+                Supplier<List<Payment>> paymentLoad =
+                    loader.fork("payments", fileService::loadPayments);
+                Supplier<List<Overtime>> overtimeLoad =
+                    loader.fork("overtimes", fileService::loadOvertimes);
+                Supplier<List<TaxClass>> taxClassLoad =
+                    loader.fork("tax classes", fileService::loadTaxClasses);
+                Supplier<List<Calendar>> calendarLoad =
+                    loader.fork("calendar", fileService::loadCalendar);
+                Supplier<List<LocalHoliday>> localHolidayLoad =
+                    loader.fork("local holidays", fileService::loadLocalHolidays);
+                loader.join();
+
+                rates = rateLoad.get();
+                payments = paymentLoad.get();
+                overtimes = overtimeLoad.get();
+                taxClasses = taxClassLoad.get();
+                calendar = calendarLoad.get();
+                localHolidays = localHolidayLoad.get();
+            }
+
+            try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+                // Validate data
+                logger.info("Starting data validation");
+                validationService.validateReferenceData(rates, payments, taxClasses, calendar);
+                EmployeeValidation validation =
+                    validationService.startEmployeeValidation(rates, taxClasses);
+                streamEmployees(threads, validation::validate);
+                validation.finish(overtimes);
+
+                // Calculate payroll and save results
+                EmployeeBatchCalculation calculation = calculationService.prepareBatchCalculation(
+                    rates, overtimes, taxClasses, calendar, localHolidays);
+                try (ResultSink sink = fileService.openResultSink()) {
+                    calculate(threads, calculation, payments, sink);
+                }
+            }
+
+            logger.info("Payroll calculation completed successfully!");
+            System.out.println("Payroll calculation completed successfully!");
+
+        } catch (DataLoadException e) {
+            logger.error("Error loading data: {}", e.getMessage(), e);
+            System.err.println("Error loading data: " + e.getMessage());
+            throw new RuntimeException("Payroll calculation failed due to data loading error", e);
+        } catch (ValidationException e) {
+            logger.error("Validation error: {}", e.getMessage(), e);
+            System.err.println("Validation error: " + e.getMessage());
+            throw new RuntimeException("Payroll calculation failed due to validation error", e);
+        } catch (Exception e) {
+            logger.error("Unexpected error: {}", e.getMessage(), e);
+            System.err.println("Unexpected error: " + e.getMessage());
+            throw new RuntimeException("Payroll calculation failed due to unexpected error", e);
+        }
+    }
+
+    /**
+     * Calculates all employees for every payment; the results are written on a separate
+     * thread while the next batches are calculated.
+     */
+    private void calculate(ExecutorService threads, EmployeeBatchCalculation calculation,
+                           List<Payment> payments, ResultSink sink) {
+        BatchQueue<PaymentResult> results = new BatchQueue<>(queueCapacity);
+        Future<?> writer = threads.submit(() -> {
+            try {
+                for (List<PaymentResult> batch; (batch = results.take()) != null; ) {
+                    sink.write(batch);
+                }
+            } catch (RuntimeException | Error e) {
+                results.fail(e);
+                throw e;
+            }
+        });
+
+        try {
+            for (Payment payment : payments) {
+                logger.info("Processing payment for period: {}", payment.getPaymentPeriodKey());
+                streamEmployees(threads, batch -> {
+                    List<PaymentResult> batchResults = new ArrayList<>(batch.size());
+                    calculation.calculate(batch, payment, batchResults);
+                    results.put(batchResults);
+                });
+            }
+            results.close();
+        } catch (RuntimeException | Error e) {
+            results.fail(e);
+            throw e;
+        }
+        await(writer);
+    }
+
+    /**
+     * Reads the employee file on a separate thread and passes its batches to a consumer in
+     * the calling thread.
+     */
+    private void streamEmployees(ExecutorService threads, Consumer<List<Employee>> consumer) {
+        BatchQueue<Employee> employees = new BatchQueue<>(queueCapacity);
+        threads.submit(() -> {
+            try {
+                fileService.streamEmployees(batchSize, employees::put);
+                employees.close();
+            } catch (RuntimeException | Error e) {
+                employees.fail(e);
+            }
+        });
+
+        try {
+            for (List<Employee> batch; (batch = employees.take()) != null; ) {
+                consumer.accept(batch);
+            }
+        } catch (RuntimeException | Error e) {
+            employees.fail(e);
+            throw e;
+        }
+    }
+
+    private static void await(Future<?> task) {
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataLoadException("Interrupted while saving results", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new DataLoadException("Error saving results: " + e.getCause().getMessage(),
+                e.getCause());
+        }
+    }
+}
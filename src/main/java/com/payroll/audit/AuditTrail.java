@@ -0,0 +1,414 @@
+package com.payroll.audit;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Audit trail of the per-employee events of a payroll run, written as one JSON object per
+ * line.
+ *
+ * Events are put into a ring buffer of preallocated slots and written by a background
+ * thread, so recording an event neither formats text nor waits for the file. Any thread
+ * may record events; they are written in the order their slots were claimed. When the
+ * buffer is full, recording waits for the writer; when it is empty, the writer blocks
+ * until an event is published. Closing the trail stops further claims and writes every
+ * event claimed before. A trail from {@link #disabled()} records nothing.
+ */
+public final class AuditTrail implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AuditTrail.class);
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    // Pause of a producer while the buffer is full
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    // Bit of the claim counter that is set when the trail is closed
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private static final AuditTrail DISABLED = new AuditTrail();
+
+    private final Slot[] slots;
+    private final int mask;
+    // Number of claimed slots, with the CLOSED bit once no more slots can be claimed
+    private final AtomicLong claimed = new AtomicLong();
+    // Sequences below this one have been written and their slots can be claimed again
+    private volatile long written;
+    private volatile boolean closed;
+    // Whether the writer is about to block, so producers have to wake it up
+    private volatile boolean draining = true;
+    private final Writer writer;
+    private final Thread drainer;
+
+    private AuditTrail() {
+        this.slots = null;
+        this.mask = 0;
+        this.writer = null;
+        this.drainer = null;
+        this.closed = true;
+    }
+
+    private AuditTrail(Writer writer, int capacity) {
+        // Round up to a power of two, so the slot of a sequence is a mask away
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.writer = writer;
+        this.drainer = Thread.ofPlatform().name("payroll-audit").daemon().unstarted(this::drain);
+        drainer.start();
+    }
+
+    /**
+     * Opens an audit trail that appends to a file.
+     *
+     * @param file     Audit file; missing parent directories are created
+     * @param capacity Number of events buffered, rounded up to a power of two
+     * @return Audit trail
+     * @throws IOException if the file cannot be opened
+     */
+    public static AuditTrail open(Path file, int capacity) throws IOException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        logger.info("Writing audit trail to {}", file);
+        return new AuditTrail(writer, capacity);
+    }
+
+    /**
+     * Gets an audit trail that records nothing.
+     *
+     * @return Disabled audit trail
+     */
+    public static AuditTrail disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Records the payment calculated for an employee.
+     *
+     * @param employeeId    Employee ID
+     * @param paymentDate   Payment date
+     * @param basePay       Base pay
+     * @param overtimePay   Overtime pay
+     * @param overtimeHours Overtime hours
+     * @param totalPay      Total pay
+     */
+    public void calculated(String employeeId, String paymentDate, double basePay,
+                           double overtimePay, int overtimeHours, double totalPay) {
+        Slot slot = claim();
+        if (slot == null) {
+            return;
+        }
+        slot.event = Event.CALCULATED;
+        slot.employeeId = employeeId;
+        slot.paymentDate = paymentDate;
+        slot.basePay = basePay;
+        slot.overtimePay = overtimePay;
+        slot.overtimeHours = overtimeHours;
+        slot.totalPay = totalPay;
+        publish(slot);
+    }
+
+    /**
+     * Records that an inactive employee was calculated.
+     *
+     * @param employeeId  Employee ID
+     * @param paymentDate Payment date
+     */
+    public void inactive(String employeeId, String paymentDate) {
+        record(Event.INACTIVE, employeeId, paymentDate, null);
+    }
+
+    /**
+     * Records that an employee was not paid because of an invalid name.
+     *
+     * @param employeeId  Employee ID
+     * @param paymentDate Payment date
+     * @param fullName    Name of the employee
+     */
+    public void invalidName(String employeeId, String paymentDate, String fullName) {
+        record(Event.INVALID_NAME, employeeId, paymentDate, fullName);
+    }
+
+    /**
+     * Records that an employee was not paid because of a holiday at their location.
+     *
+     * @param employeeId  Employee ID
+     * @param paymentDate Payment date
+     * @param location    Location of the employee
+     */
+    public void localHoliday(String employeeId, String paymentDate, String location) {
+        record(Event.LOCAL_HOLIDAY, employeeId, paymentDate, location);
+    }
+
+    /**
+     * Records that the overtime hours of an employee were limited.
+     *
+     * @param employeeId    Employee ID
+     * @param paymentDate   Payment date
+     * @param overtimeHours Overtime hours before the limit
+     */
+    public void overtimeLimited(String employeeId, String paymentDate, int overtimeHours) {
+        Slot slot = claim();
+        if (slot == null) {
+            return;
+        }
+        slot.event = Event.OVERTIME_LIMITED;
+        slot.employeeId = employeeId;
+        slot.paymentDate = paymentDate;
+        slot.overtimeHours = overtimeHours;
+        publish(slot);
+    }
+
+    /**
+     * Records that no settlement account could be generated for an employee.
+     *
+     * @param employeeId  Employee ID
+     * @param paymentDate Payment date
+     * @param fullName    Name of the employee
+     */
+    public void invalidAccount(String employeeId, String paymentDate, String fullName) {
+        record(Event.INVALID_ACCOUNT, employeeId, paymentDate, fullName);
+    }
+
+    /**
+     * Records that an employee was not paid because their rate or pay is out of the range
+     * of the calculation in cents.
+     *
+     * @param employeeId  Employee ID
+     * @param paymentDate Payment date
+     */
+    public void invalidRate(String employeeId, String paymentDate) {
+        record(Event.INVALID_RATE, employeeId, paymentDate, null);
+    }
+
+    /**
+     * Writes the remaining events and closes the file. Events recorded afterwards are
+     * dropped; events recorded concurrently are either written or dropped as a whole.
+     */
+    @Override
+    public void close() {
+        if (drainer == null || closed) {
+            return;
+        }
+        closed = true;
+        claimed.getAndUpdate(count -> count | CLOSED);
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void record(Event event, String employeeId, String paymentDate, String text) {
+        Slot slot = claim();
+        if (slot == null) {
+            return;
+        }
+        slot.event = event;
+        slot.employeeId = employeeId;
+        slot.paymentDate = paymentDate;
+        slot.text = text;
+        publish(slot);
+    }
+
+    /**
+     * Claims the next slot, or returns null if the trail is closed. A claimed slot is
+     * always written, as the writer only stops once every claimed slot is published.
+     */
+    private Slot claim() {
+        if (closed) {
+            return null;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if ((sequence & CLOSED) != 0) {
+                return null;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        while (sequence - written >= slots.length) {
+            LockSupport.parkNanos(IDLE_NANOS);
+        }
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.sequence = sequence;
+        return slot;
+    }
+
+    private void publish(Slot slot) {
+        // The volatile write makes the fields visible to the writer
+        slot.published = slot.sequence;
+        if (!draining) {
+            LockSupport.unpark(drainer);
+        }
+    }
+
+    private void drain() {
+        StringBuilder line = new StringBuilder(256);
+        boolean failed = false;
+        long next = 0;
+        while (true) {
+            Slot slot = slots[(int) (next & mask)];
+            if (slot.published != next) {
+                long count = claimed.get();
+                if ((count & CLOSED) != 0 && next == (count & ~CLOSED)) {
+                    break;
+                }
+                failed = flush(failed);
+                // Announce the wait before checking again, so a producer publishing in
+                // between sees it and unparks; close() always unparks
+                draining = false;
+                if (slot.published != next) {
+                    LockSupport.park(this);
+                }
+                draining = true;
+                continue;
+            }
+            if (!failed) {
+                line.setLength(0);
+                slot.format(line);
+                try {
+                    writer.append(line);
+                } catch (IOException e) {
+                    logger.warn("Audit trail failed, dropping further events: {}", e.getMessage());
+                    failed = true;
+                }
+            }
+            slot.clear();
+            written = ++next;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("Cannot close the audit trail: {}", e.getMessage());
+        }
+        logger.info("Audit trail closed after {} events", next);
+    }
+
+    private boolean flush(boolean failed) {
+        if (failed) {
+            return true;
+        }
+        try {
+            writer.flush();
+            return false;
+        } catch (IOException e) {
+            logger.warn("Audit trail failed, dropping further events: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private enum Event {
+        CALCULATED("calculated"),
+        INACTIVE("inactive"),
+        INVALID_NAME("invalid-name"),
+        LOCAL_HOLIDAY("local-holiday"),
+        OVERTIME_LIMITED("overtime-limited"),
+        INVALID_ACCOUNT("invalid-account"),
+        INVALID_RATE("invalid-rate");
+
+        private final String name;
+
+        Event(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Preallocated event, reused every time the ring comes around.
+     */
+    private static final class Slot {
+        private volatile long published = -1;
+        private long sequence;
+        private Event event;
+        private String employeeId;
+        private String paymentDate;
+        private String text;
+        private double basePay;
+        private double overtimePay;
+        private int overtimeHours;
+        private double totalPay;
+
+        void format(StringBuilder line) {
+            line.append("{\"seq\":").append(sequence);
+            line.append(",\"event\":\"").append(event.name).append('"');
+            appendString(line, "employeeId", employeeId);
+            appendString(line, "paymentDate", paymentDate);
+            switch (event) {
+                case CALCULATED -> {
+                    appendAmount(line, "basePay", basePay);
+                    appendAmount(line, "overtimePay", overtimePay);
+                    line.append(",\"overtimeHours\":").append(overtimeHours);
+                    appendAmount(line, "totalPay", totalPay);
+                }
+                case INVALID_NAME, INVALID_ACCOUNT -> appendString(line, "name", text);
+                case OVERTIME_LIMITED -> line.append(",\"overtimeHours\":").append(overtimeHours);
+                case LOCAL_HOLIDAY -> appendString(line, "location", text);
+                case INACTIVE, INVALID_RATE -> {
+                }
+            }
+            line.append("}\n");
+        }
+
+        void clear() {
+            employeeId = null;
+            paymentDate = null;
+            text = null;
+        }
+
+        /**
+         * Appends an amount; NaN and the infinities have no JSON number, so they are null.
+         */
+        private static void appendAmount(StringBuilder line, String name, double value) {
+            line.append(",\"").append(name).append("\":");
+            if (Double.isFinite(value)) {
+                line.append(value);
+            } else {
+                line.append("null");
+            }
+        }
+
+        private static void appendString(StringBuilder line, String name, String value) {
+            line.append(",\"").append(name).append("\":");
+            if (value == null) {
+                line.append("null");
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> line.append("\\\"");
+                    case '\\' -> line.append("\\\\");
+                    case '\n' -> line.append("\\n");
+                    case '\r' -> line.append("\\r");
+                    case '\t' -> line.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            line.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            line.append(c);
+                        }
+                    }
+                }
+            }
+            line.append('"');
+        }
+    }
+}
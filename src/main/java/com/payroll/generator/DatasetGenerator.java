@@ -0,0 +1,547 @@
+package com.payroll.generator;
+
+import com.payroll.service.impl.FileServiceImpl;
+import com.payroll.util.CsvFileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates a complete data root in the format of the files in data/, at any scale up to
+ * {@link #MAX_EMPLOYEES} employees.
+ *
+ * The output only depends on the settings and the seed. Rows are written as they are
+ * generated, so the heap does not grow with the number of employees. Employee IDs are
+ * distinct 8-digit numbers; every employee has a rate. Optional skew makes a small group
+ * of "hot" employees own a given share of the overtime rows, and a share of the rows of
+ * main_data.csv, rate.csv and overtime_data.csv can be malformed so the loaders skip them.
+ *
+ * Usage: {@code DatasetGenerator <data root>}, with the settings as system properties, e.g.
+ * {@code -Dpayroll.generator.employees=1000000}.
+ */
+public final class DatasetGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    public static final int MAX_EMPLOYEES = 50_000_000;
+
+    // System property with the number of employees
+    public static final String EMPLOYEES_PROPERTY = "payroll.generator.employees";
+    // System property with the seed of the generated data
+    public static final String SEED_PROPERTY = "payroll.generator.seed";
+    // System property with the number of locations
+    public static final String LOCATIONS_PROPERTY = "payroll.generator.locations";
+    // System property with the number of monthly payments, ending with the payment month
+    public static final String PAYMENTS_PROPERTY = "payroll.generator.payments";
+    // System property with the share of INACTIVE employees
+    public static final String INACTIVE_SHARE_PROPERTY = "payroll.generator.inactive.share";
+    // System property with the share of employees that worked part of the month
+    public static final String PARTIAL_SHARE_PROPERTY = "payroll.generator.partial.share";
+    // System property with the average number of overtime rows per employee
+    public static final String OVERTIMES_PROPERTY = "payroll.generator.overtimes";
+    // System property with the share of employees that are "hot" for overtime skew
+    public static final String HOT_EMPLOYEE_SHARE_PROPERTY = "payroll.generator.hot.employees";
+    // System property with the share of overtime rows that belong to hot employees
+    public static final String HOT_OVERTIME_SHARE_PROPERTY = "payroll.generator.hot.overtimes";
+    // System property with the share of malformed rows
+    public static final String MALFORMED_SHARE_PROPERTY = "payroll.generator.malformed.share";
+
+    /** Employee IDs are FIRST_ID plus a permutation of the row index in [0, ID_RANGE). */
+    private static final int FIRST_ID = 10_000_000;
+    private static final int ID_RANGE = 90_000_000;
+    /** Coprime to ID_RANGE, so the permutation is a bijection. */
+    private static final long ID_STRIDE = 48_271;
+
+    private static final String[] FIRST_NAMES = {
+        "Anna", "Bernd", "Claudia", "Dieter", "Emma", "Felix", "Greta", "Henner", "Ines",
+        "Jonas", "Katrin", "Lukas", "Mia", "Niklas", "Svenja", "Zbigniew"
+    };
+    private static final String[] LAST_NAMES = {
+        "Becker", "Fischer", "Geisler", "Graf", "Hoffmann", "Koch", "Müller", "Pechel", "Römer",
+        "Schäfer", "Schulz", "Wagner", "Weiß", "Zimmermann"
+    };
+    private static final String[] CITIES = {
+        "Berlin", "Munich", "Frankfurt", "Dresden", "Leipzig", "Stuttgart", "Düsseldorf",
+        "Dortmund", "Hamburg", "Cologne", "Bremen", "Hanover", "Nuremberg", "Essen", "Bonn",
+        "Münster"
+    };
+    private static final String[] TAX_CLASSES = {"1", "2", "3", "4", "5", "6"};
+    private static final double[] TAX_FACTORS = {0.20, 0.12, 0.10, 0.15, 0.25, 0.30};
+    private static final String[] DAY_NAMES = {"MON", "TUE", "WED", "THU", "FRI", "SAT", "SUN"};
+    private static final String PASSWORD_CHARACTERS =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    /** Share of locations with a local holiday in a month. */
+    private static final double LOCAL_HOLIDAY_SHARE = 0.1;
+    private static final int PAYMENT_DAY = 19;
+
+    private final int employees;
+    private final long seed;
+    private final int locations;
+    private final YearMonth lastPayment;
+    private final int payments;
+    private final double inactiveShare;
+    private final double partialShare;
+    private final double overtimesPerEmployee;
+    private final double hotEmployeeShare;
+    private final double hotOvertimeShare;
+    private final double malformedShare;
+
+    private DatasetGenerator(Builder builder) {
+        this.employees = builder.employees;
+        this.seed = builder.seed;
+        this.locations = builder.locations;
+        this.lastPayment = builder.lastPayment;
+        this.payments = builder.payments;
+        this.inactiveShare = builder.inactiveShare;
+        this.partialShare = builder.partialShare;
+        this.overtimesPerEmployee = builder.overtimesPerEmployee;
+        this.hotEmployeeShare = builder.hotEmployeeShare;
+        this.hotOvertimeShare = builder.hotOvertimeShare;
+        this.malformedShare = builder.malformedShare;
+    }
+
+    /**
+     * Starts building a generator for a number of employees.
+     *
+     * @param employees Number of employee rows, at most {@link #MAX_EMPLOYEES}
+     * @return Builder with the default settings
+     */
+    public static Builder builder(int employees) {
+        return new Builder(employees);
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1 || args[0].isEmpty()) {
+            throw new IllegalArgumentException("Usage: DatasetGenerator <data root>");
+        }
+        Builder builder = builder(Integer.getInteger(EMPLOYEES_PROPERTY, 1_000_000))
+            .seed(Long.getLong(SEED_PROPERTY, Builder.DEFAULT_SEED))
+            .locations(Integer.getInteger(LOCATIONS_PROPERTY, CITIES.length))
+            .payments(Integer.getInteger(PAYMENTS_PROPERTY, 1))
+            .inactiveShare(doubleProperty(INACTIVE_SHARE_PROPERTY, Builder.DEFAULT_INACTIVE_SHARE))
+            .partialShare(doubleProperty(PARTIAL_SHARE_PROPERTY, Builder.DEFAULT_PARTIAL_SHARE))
+            .overtimesPerEmployee(doubleProperty(OVERTIMES_PROPERTY, Builder.DEFAULT_OVERTIMES))
+            .overtimeSkew(doubleProperty(HOT_EMPLOYEE_SHARE_PROPERTY, 0),
+                doubleProperty(HOT_OVERTIME_SHARE_PROPERTY, 0))
+            .malformedShare(doubleProperty(MALFORMED_SHARE_PROPERTY, 0));
+        builder.build().generate(Paths.get(args[0]));
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    /**
+     * Writes all input files into a data root, replacing existing files.
+     *
+     * @param dataRoot Directory to write to; created if missing
+     */
+    public void generate(Path dataRoot) {
+        logger.info("Generating {} employees with seed {} into {}", employees, seed, dataRoot);
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(dataRoot);
+            writeEmployees(dataRoot.resolve(FileServiceImpl.MAIN_DATA_PATH));
+            writeRates(dataRoot.resolve(FileServiceImpl.RATE_DATA_PATH));
+            writeOvertimes(dataRoot.resolve(FileServiceImpl.OVERTIME_DATA_PATH));
+            writeTaxClasses(dataRoot.resolve(FileServiceImpl.TAX_CLASS_DATA_PATH));
+            writePayments(dataRoot.resolve(FileServiceImpl.PAYMENT_DATA_PATH));
+            writeCalendar(dataRoot.resolve(FileServiceImpl.CALENDAR_DATA_PATH));
+            writeLocalHolidays(dataRoot.resolve(FileServiceImpl.HOLIDAYS_DATA_PATH));
+        } catch (IOException e) {
+            logger.error("Error generating data into {}", dataRoot, e);
+            throw new UncheckedIOException("Error generating data: " + e.getMessage(), e);
+        }
+        logger.info("Generated data root {} in {} ms", dataRoot,
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Gets the employee ID of a row; distinct for all rows.
+     */
+    static String employeeId(int row) {
+        return Integer.toString(FIRST_ID + (int) (row * ID_STRIDE % ID_RANGE));
+    }
+
+    private void writeEmployees(Path file) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        char[] password = new char[10];
+        long malformed = 0;
+        try (CsvFileWriter writer = open(file)) {
+            writer.write("Name;Location;Employee ID;Tax Class;AT Level;Status;Days Worked;"
+                + "Phone Number;Birthday;Password");
+            writer.newLine();
+            for (int row = 0; row < employees; row++) {
+                String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                String location = location(random.nextInt(locations));
+                String taxClass = TAX_CLASSES[random.nextInt(TAX_CLASSES.length)];
+                boolean inactive = random.nextDouble() < inactiveShare;
+                boolean partial = random.nextDouble() < partialShare;
+                int daysWorked = 1 + random.nextInt(22);
+                int phone = random.nextInt(100_000_000);
+                LocalDate birthday = LocalDate.of(1960, 1, 1).plusDays(random.nextInt(16_000));
+                for (int i = 0; i < password.length; i++) {
+                    password[i] = PASSWORD_CHARACTERS.charAt(
+                        random.nextInt(PASSWORD_CHARACTERS.length()));
+                }
+                int defect = malformedKind(random, 2);
+
+                writer.write(name);
+                writer.write(';');
+                writer.write(location);
+                writer.write(';');
+                writer.write(employeeId(row));
+                if (defect == 0) {
+                    // Too few columns
+                    writer.newLine();
+                    malformed++;
+                    continue;
+                }
+                writer.write(';');
+                writer.write(taxClass);
+                writer.write(';');
+                writer.write(row % 3 == 0 ? "AT2" : "AT1");
+                writer.write(';');
+                writer.write(inactive ? "INACTIVE" : "ACTIVE");
+                writer.write(';');
+                if (defect == 1) {
+                    // An empty Days Worked is rejected
+                    malformed++;
+                } else {
+                    writer.write(partial ? Integer.toString(daysWorked) : "null");
+                }
+                writer.write(';');
+                writer.write("01");
+                writer.write(zeroPadded(phone, 8));
+                writer.write(';');
+                writer.write(birthday.toString());
+                writer.write(';');
+                writer.write(new String(password));
+                writer.newLine();
+            }
+        }
+        logWritten(file, employees, malformed);
+    }
+
+    private void writeRates(Path file) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        long malformed = 0;
+        try (CsvFileWriter writer = open(file)) {
+            writer.write("EMPLOYEE_ID;RATE;OVERTIME_RATE");
+            writer.newLine();
+            for (int row = 0; row < employees; row++) {
+                int rate = 1500 + random.nextInt(6001);
+                int overtimeRate = 20 + random.nextInt(41);
+                writer.write(employeeId(row));
+                writer.write(';');
+                if (malformedKind(random, 1) == 0) {
+                    writer.write("n/a");
+                    malformed++;
+                } else {
+                    writer.write(Integer.toString(rate));
+                }
+                writer.write(';');
+                writer.write(Integer.toString(overtimeRate));
+                writer.newLine();
+            }
+        }
+        logWritten(file, employees, malformed);
+    }
+
+    private void writeOvertimes(Path file) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed + 2);
+        long rows = Math.round(employees * overtimesPerEmployee);
+        int hotEmployees = Math.max(1, (int) (employees * hotEmployeeShare));
+        List<YearMonth> months = calculationMonths();
+        long malformed = 0;
+        try (CsvFileWriter writer = open(file)) {
+            writer.write("EMPLOYEE_ID;OVERTIME_DATA;DATE");
+            writer.newLine();
+            for (long row = 0; row < rows; row++) {
+                int employee = random.nextDouble() < hotOvertimeShare
+                    ? random.nextInt(hotEmployees) : random.nextInt(employees);
+                YearMonth month = months.get(random.nextInt(months.size()));
+                int day = 1 + random.nextInt(month.lengthOfMonth());
+                int hours = 1 + random.nextInt(12);
+                writer.write(employeeId(employee));
+                writer.write(';');
+                writer.write(Integer.toString(hours));
+                writer.write(';');
+                if (malformedKind(random, 1) == 0) {
+                    writer.write(month.getYear() + "-13-" + day);
+                    malformed++;
+                } else {
+                    writer.write(month.atDay(day).toString());
+                }
+                writer.newLine();
+            }
+        }
+        logWritten(file, rows, malformed);
+    }
+
+    private void writeTaxClasses(Path file) throws IOException {
+        try (CsvFileWriter writer = open(file)) {
+            writer.write("TAX_CLASS;FACTOR");
+            writer.newLine();
+            for (int i = 0; i < TAX_CLASSES.length; i++) {
+                writer.write(TAX_CLASSES[i]);
+                writer.write(';');
+                writer.writeAmount(TAX_FACTORS[i]);
+                writer.newLine();
+            }
+        }
+        logWritten(file, TAX_CLASSES.length, 0);
+    }
+
+    private void writePayments(Path file) throws IOException {
+        try (CsvFileWriter writer = open(file)) {
+            writer.write("MONTH;YEAR;PAYMENT_DATE");
+            writer.newLine();
+            for (int i = payments - 1; i >= 0; i--) {
+                YearMonth payment = lastPayment.minusMonths(i);
+                writer.write(payment.getMonthValue() + ";" + payment.getYear() + ";"
+                    + PAYMENT_DAY);
+                writer.newLine();
+            }
+        }
+        logWritten(file, payments, 0);
+    }
+
+    /**
+     * Writes every day of the years from the first calculation month to the last payment,
+     * latest first as in data/, with the national holidays that fall on fixed dates.
+     */
+    private void writeCalendar(Path file) throws IOException {
+        LocalDate first = LocalDate.of(calculationMonths().get(0).getYear(), 1, 1);
+        LocalDate day = LocalDate.of(lastPayment.getYear(), 12, 31);
+        long rows = 0;
+        try (CsvFileWriter writer = open(file)) {
+            writer.write("YEAR;MONTH;DAY;DAY_OF_WEEK;HOLIDAY");
+            writer.newLine();
+            for (; !day.isBefore(first); day = day.minusDays(1)) {
+                writer.write(day.getYear() + ";" + day.getMonthValue() + ";"
+                    + day.getDayOfMonth() + ";" + dayName(day.getDayOfWeek()) + ";"
+                    + (isNationalHoliday(day) ? "Y" : "N"));
+                writer.newLine();
+                rows++;
+            }
+        }
+        logWritten(file, rows, 0);
+    }
+
+    /**
+     * Gives about one in ten locations a local holiday on a weekday of every calculation
+     * month.
+     */
+    private void writeLocalHolidays(Path file) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed + 3);
+        long rows = 0;
+        try (CsvFileWriter writer = open(file)) {
+            writer.write("YEAR;MONTH;DAY;DAY_OF_WEEK;LOCATION");
+            writer.newLine();
+            for (YearMonth month : calculationMonths()) {
+                for (int location = 0; location < locations; location++) {
+                    if (random.nextDouble() >= LOCAL_HOLIDAY_SHARE) {
+                        continue;
+                    }
+                    LocalDate day = month.atDay(1 + random.nextInt(month.lengthOfMonth()));
+                    while (day.getDayOfWeek().getValue() > 5) {
+                        day = day.minusDays(day.getDayOfMonth() > 2 ? 2 : -2);
+                    }
+                    writer.write(day.getYear() + ";" + day.getMonthValue() + ";"
+                        + day.getDayOfMonth() + ";" + dayName(day.getDayOfWeek()) + ";"
+                        + location(location));
+                    writer.newLine();
+                    rows++;
+                }
+            }
+        }
+        logWritten(file, rows, 0);
+    }
+
+    /**
+     * Gets the months the payments are calculated for, earliest first.
+     */
+    private List<YearMonth> calculationMonths() {
+        List<YearMonth> months = new ArrayList<>(payments);
+        for (int i = payments; i >= 1; i--) {
+            months.add(lastPayment.minusMonths(i));
+        }
+        return months;
+    }
+
+    /**
+     * Draws whether a row is malformed.
+     *
+     * @return Kind of defect in [0, kinds), or -1 for a valid row
+     */
+    private int malformedKind(SplittableRandom random, int kinds) {
+        if (malformedShare == 0 || random.nextDouble() >= malformedShare) {
+            return -1;
+        }
+        return random.nextInt(kinds);
+    }
+
+    private static String location(int index) {
+        return index < CITIES.length
+            ? CITIES[index] : CITIES[index % CITIES.length] + " " + (index / CITIES.length + 1);
+    }
+
+    private static String zeroPadded(int value, int digits) {
+        String text = Integer.toString(value);
+        return text.length() >= digits ? text : "0".repeat(digits - text.length()) + text;
+    }
+
+    private static String dayName(DayOfWeek dayOfWeek) {
+        return DAY_NAMES[dayOfWeek.ordinal()];
+    }
+
+    private static boolean isNationalHoliday(LocalDate day) {
+        int date = day.getMonthValue() * 100 + day.getDayOfMonth();
+        return date == 101 || date == 501 || date == 1003 || date == 1225 || date == 1226;
+    }
+
+    private static CsvFileWriter open(Path file) throws IOException {
+        return CsvFileWriter.open(file.toString(), CsvFileWriter.DEFAULT_BUFFER_SIZE);
+    }
+
+    private static void logWritten(Path file, long rows, long malformed) {
+        logger.info("Wrote {} rows ({} malformed) to {}", rows, malformed, file);
+    }
+
+    /**
+     * Builder of a generator. Shares are fractions between 0 and 1.
+     */
+    public static final class Builder {
+        static final long DEFAULT_SEED = 42;
+        static final double DEFAULT_INACTIVE_SHARE = 0.1;
+        static final double DEFAULT_PARTIAL_SHARE = 0.05;
+        static final double DEFAULT_OVERTIMES = 2;
+
+        private final int employees;
+        private long seed = DEFAULT_SEED;
+        private int locations = CITIES.length;
+        private YearMonth lastPayment = YearMonth.of(2025, 11);
+        private int payments = 1;
+        private double inactiveShare = DEFAULT_INACTIVE_SHARE;
+        private double partialShare = DEFAULT_PARTIAL_SHARE;
+        private double overtimesPerEmployee = DEFAULT_OVERTIMES;
+        private double hotEmployeeShare;
+        private double hotOvertimeShare;
+        private double malformedShare;
+
+        private Builder(int employees) {
+            if (employees < 1 || employees > MAX_EMPLOYEES) {
+                throw new IllegalArgumentException(
+                    "Employees must be between 1 and " + MAX_EMPLOYEES + ": " + employees);
+            }
+            this.employees = employees;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder locations(int locations) {
+            if (locations < 1) {
+                throw new IllegalArgumentException("Locations must be positive: " + locations);
+            }
+            this.locations = locations;
+            return this;
+        }
+
+        /**
+         * Sets the monthly payments.
+         *
+         * @param payments Number of payments
+         * @return This builder
+         */
+        public Builder payments(int payments) {
+            if (payments < 1) {
+                throw new IllegalArgumentException("Payments must be positive: " + payments);
+            }
+            this.payments = payments;
+            return this;
+        }
+
+        /**
+         * Sets the month of the last payment; earlier payments are in the months before.
+         *
+         * @param lastPayment Month of the last payment, default 2025-11
+         * @return This builder
+         */
+        public Builder lastPayment(YearMonth lastPayment) {
+            this.lastPayment = lastPayment;
+            return this;
+        }
+
+        public Builder inactiveShare(double inactiveShare) {
+            this.inactiveShare = share(inactiveShare, "Inactive share");
+            return this;
+        }
+
+        /**
+         * Sets the share of employees with a number of days worked instead of the full
+         * month.
+         */
+        public Builder partialShare(double partialShare) {
+            this.partialShare = share(partialShare, "Partial share");
+            return this;
+        }
+
+        public Builder overtimesPerEmployee(double overtimesPerEmployee) {
+            if (!(overtimesPerEmployee >= 0)) {
+                throw new IllegalArgumentException(
+                    "Overtimes per employee must not be negative: " + overtimesPerEmployee);
+            }
+            this.overtimesPerEmployee = overtimesPerEmployee;
+            return this;
+        }
+
+        /**
+         * Skews the overtime rows towards a group of hot employees.
+         *
+         * @param hotEmployeeShare Share of the employees that are hot
+         * @param hotOvertimeShare Share of the overtime rows that belong to hot employees;
+         *                         0 spreads the rows evenly
+         * @return This builder
+         */
+        public Builder overtimeSkew(double hotEmployeeShare, double hotOvertimeShare) {
+            this.hotEmployeeShare = share(hotEmployeeShare, "Hot employee share");
+            this.hotOvertimeShare = share(hotOvertimeShare, "Hot overtime share");
+            return this;
+        }
+
+        /**
+         * Sets the share of the rows of main_data.csv, rate.csv and overtime_data.csv that
+         * are malformed.
+         */
+        public Builder malformedShare(double malformedShare) {
+            this.malformedShare = share(malformedShare, "Malformed share");
+            return this;
+        }
+
+        public DatasetGenerator build() {
+            return new DatasetGenerator(this);
+        }
+
+        private static double share(double value, String name) {
+            if (!(value >= 0 && value <= 1)) {
+                throw new IllegalArgumentException(name + " must be between 0 and 1: " + value);
+            }
+            return value;
+        }
+    }
+}
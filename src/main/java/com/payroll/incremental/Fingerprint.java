@@ -0,0 +1,70 @@
+package com.payroll.incremental;
+
+/**
+ * 64-bit hash of a sequence of values, used to detect changed input rows between runs.
+ *
+ * Every value is hashed with its type and length, so different sequences of values do not
+ * share their text (e.g. "ab", "c" and "a", "bc"). The hash is not cryptographic; it only
+ * has to tell an edited row from its previous version.
+ *
+ * Not thread-safe.
+ */
+public final class Fingerprint {
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final long NULL = 0x5BD1E9955BD1E995L;
+
+    private long hash = SEED;
+
+    public Fingerprint add(String value) {
+        if (value == null) {
+            return mix(NULL);
+        }
+        long h = hash;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * FNV_PRIME;
+        }
+        hash = h;
+        return mix(value.length());
+    }
+
+    public Fingerprint add(Integer value) {
+        return value == null ? mix(NULL) : add(value.intValue());
+    }
+
+    public Fingerprint add(int value) {
+        return mix(value & 0xFFFFFFFFL | 1L << 32);
+    }
+
+    public Fingerprint add(long value) {
+        mix(value);
+        return mix(2L << 32);
+    }
+
+    public Fingerprint add(double value) {
+        // Same bits, same value; -0.0 and 0.0 are different inputs
+        return add(Double.doubleToLongBits(value));
+    }
+
+    public Fingerprint add(boolean value) {
+        return mix(value ? 3L << 32 : 4L << 32);
+    }
+
+    /**
+     * Gets the hash of the values added so far.
+     *
+     * @return Hash
+     */
+    public long value() {
+        return hash;
+    }
+
+    private Fingerprint mix(long value) {
+        // Finalizer of SplitMix64, applied per value
+        long h = (hash ^ value) + SEED;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        hash = h ^ (h >>> 31);
+        return this;
+    }
+}
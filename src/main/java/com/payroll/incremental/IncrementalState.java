@@ -0,0 +1,153 @@
+package com.payroll.incremental;
+
+import com.payroll.model.PaymentResult;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * State of the last payroll run that later runs are compared to: the fingerprint of the
+ * global inputs and, per employee row, its fingerprint and its results.
+ */
+public final class IncrementalState {
+    private static final int MAGIC = 0x50415952; // "PAYR"
+    private static final int FORMAT_VERSION = 3;
+
+    private final long globalFingerprint;
+    private final int payments;
+    private final Map<RowKey, RowState> rows;
+
+    /**
+     * Constructs a state.
+     *
+     * @param globalFingerprint Fingerprint of the global inputs
+     * @param payments          Number of payments
+     * @param rows              State of each employee row
+     */
+    public IncrementalState(long globalFingerprint, int payments, Map<RowKey, RowState> rows) {
+        this.globalFingerprint = globalFingerprint;
+        this.payments = payments;
+        this.rows = rows;
+    }
+
+    public long globalFingerprint() {
+        return globalFingerprint;
+    }
+
+    public int payments() {
+        return payments;
+    }
+
+    /**
+     * Gets the state of an employee row.
+     *
+     * @param key Key of the row
+     * @return State of the row, or null if the row was not in the last run
+     */
+    public RowState row(RowKey key) {
+        return rows.get(key);
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Key of an employee row: the employee ID and how many rows with the same ID come
+     * before it.
+     *
+     * @param employeeId Employee ID, may be null
+     * @param occurrence Number of earlier rows with the ID
+     */
+    public record RowKey(String employeeId, int occurrence) {
+    }
+
+    /**
+     * Fingerprint and results of an employee row.
+     *
+     * @param fingerprint Fingerprint of the inputs of the row
+     * @param results     Result for each payment, in payment order; null where the row had
+     *                    no result. Do not modify.
+     */
+    public record RowState(long fingerprint, PaymentResult[] results) {
+    }
+
+    /**
+     * Writes the state in a binary format.
+     *
+     * @param out Output
+     * @throws IOException If the state cannot be written
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(globalFingerprint);
+        out.writeInt(payments);
+        out.writeInt(rows.size());
+        for (Map.Entry<RowKey, RowState> row : rows.entrySet()) {
+            writeString(out, row.getKey().employeeId());
+            out.writeInt(row.getKey().occurrence());
+            out.writeLong(row.getValue().fingerprint());
+            for (PaymentResult result : row.getValue().results()) {
+                out.writeBoolean(result != null);
+                if (result != null) {
+                    writeString(out, result.employeeId());
+                    out.writeDouble(result.pay());
+                    writeString(out, result.date());
+                    writeString(out, result.settlementAccount());
+                    writeString(out, result.currency());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a state written by {@link #write(DataOutput)}.
+     *
+     * @param in Input
+     * @return State
+     * @throws IOException If the state cannot be read or has another format
+     */
+    public static IncrementalState read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a payroll state file");
+        }
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported state format version: " + version);
+        }
+        long globalFingerprint = in.readLong();
+        int payments = in.readInt();
+        int size = in.readInt();
+        if (payments < 0 || size < 0) {
+            throw new IOException("Corrupt state file");
+        }
+        Map<RowKey, RowState> rows = HashMap.newHashMap(size);
+        for (int i = 0; i < size; i++) {
+            RowKey key = new RowKey(readString(in), in.readInt());
+            long fingerprint = in.readLong();
+            PaymentResult[] results = new PaymentResult[payments];
+            for (int payment = 0; payment < payments; payment++) {
+                if (in.readBoolean()) {
+                    results[payment] = new PaymentResult(readString(in), in.readDouble(),
+                        readString(in), readString(in), readString(in));
+                }
+            }
+            rows.put(key, new RowState(fingerprint, results));
+        }
+        return new IncrementalState(globalFingerprint, payments, rows);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,136 @@
+package com.payroll.incremental;
+
+import com.payroll.model.Calendar;
+import com.payroll.model.Employee;
+import com.payroll.model.LocalHoliday;
+import com.payroll.model.Overtime;
+import com.payroll.model.Payment;
+import com.payroll.model.Rate;
+import com.payroll.model.TaxClass;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fingerprints of the input rows that a payroll result depends on.
+ *
+ * A result depends on the row of its employee, the rate and the overtimes of the employee
+ * ID, and on global inputs that apply to every employee: payments, calendar, tax classes,
+ * local holidays and the arithmetic of the calculation.
+ */
+public final class InputFingerprints {
+    // Changes whenever the fingerprinted fields or the calculation change
+    private static final int VERSION = 2;
+
+    private InputFingerprints() {
+    }
+
+    /**
+     * Fingerprints the inputs that apply to every employee.
+     *
+     * @param payments      Payment data
+     * @param calendar      Calendar data
+     * @param taxClasses    Tax classes
+     * @param localHolidays Holidays that only apply to some locations
+     * @param arithmetic    Arithmetic of the calculation service, such as the money mode
+     *                      and rounding
+     * @return Fingerprint of the global inputs
+     */
+    public static long global(List<Payment> payments, List<Calendar> calendar,
+                              List<TaxClass> taxClasses, List<LocalHoliday> localHolidays,
+                              String arithmetic) {
+        Fingerprint fingerprint = new Fingerprint().add(VERSION).add(arithmetic);
+        fingerprint.add(payments.size());
+        for (Payment payment : payments) {
+            fingerprint.add(payment.month()).add(payment.year()).add(payment.paymentDate());
+        }
+        fingerprint.add(calendar.size());
+        for (Calendar day : calendar) {
+            fingerprint.add(day.year()).add(day.month()).add(day.day())
+                .add(day.dayOfWeek() == null ? null : day.dayOfWeek().name())
+                .add(day.isHoliday());
+        }
+        fingerprint.add(taxClasses.size());
+        for (TaxClass taxClass : taxClasses) {
+            fingerprint.add(taxClass.taxClass()).add(taxClass.factor());
+        }
+        fingerprint.add(localHolidays.size());
+        for (LocalHoliday holiday : localHolidays) {
+            fingerprint.add(holiday.year()).add(holiday.month()).add(holiday.day())
+                .add(holiday.location());
+        }
+        return fingerprint.value();
+    }
+
+    /**
+     * Fingerprints every employee row together with the rate and overtimes of its ID.
+     *
+     * @param employees List of employees
+     * @param rates     Payment rates
+     * @param overtimes Overtime hours
+     * @return Fingerprint of each employee, in employee order
+     */
+    public static long[] employees(List<Employee> employees, List<Rate> rates,
+                                   List<Overtime> overtimes) {
+        // As in the calculation, the last rate of an employee ID wins
+        Map<String, Rate> rateById = new HashMap<>();
+        for (Rate rate : rates) {
+            rateById.put(rate.employeeId(), rate);
+        }
+        Map<String, Fingerprint> overtimesById = new HashMap<>();
+        for (Overtime overtime : overtimes) {
+            Fingerprint fingerprint =
+                overtimesById.computeIfAbsent(overtime.employeeId(), id -> new Fingerprint());
+            fingerprint.add(overtime.overtimeHours());
+            if (overtime.date() == null) {
+                fingerprint.add((String) null);
+            } else {
+                fingerprint.add(overtime.date().toEpochDay());
+            }
+        }
+
+        long[] fingerprints = new long[employees.size()];
+        int row = 0;
+        for (Employee employee : employees) {
+            Fingerprint fingerprint = new Fingerprint()
+                .add(employee.getFullName())
+                .add(employee.getLocation())
+                .add(employee.getEmployeeId())
+                .add(employee.getTaxClass())
+                .add(employee.getAtLevel())
+                .add(employee.getStatus())
+                .add(employee.getDaysWorked())
+                .add(employee.getPhone())
+                .add(employee.getBirthdayDate())
+                .add(employee.getPassword());
+            Rate rate = rateById.get(employee.getEmployeeId());
+            fingerprint.add(rate != null);
+            if (rate != null) {
+                fingerprint.add(rate.rate()).add(rate.overtimeRate());
+            }
+            Fingerprint employeeOvertimes = overtimesById.get(employee.getEmployeeId());
+            fingerprint.add(employeeOvertimes == null ? 0L : employeeOvertimes.value());
+            fingerprints[row++] = fingerprint.value();
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Gets the key of every employee row. Rows with the same employee ID are told apart by
+     * their occurrence.
+     *
+     * @param employees List of employees
+     * @return Key of each employee, in employee order
+     */
+    public static IncrementalState.RowKey[] keys(List<Employee> employees) {
+        Map<String, Integer> occurrences = new HashMap<>();
+        IncrementalState.RowKey[] keys = new IncrementalState.RowKey[employees.size()];
+        int row = 0;
+        for (Employee employee : employees) {
+            String employeeId = employee.getEmployeeId();
+            int occurrence = occurrences.merge(employeeId, 1, Integer::sum) - 1;
+            keys[row++] = new IncrementalState.RowKey(employeeId, occurrence);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,176 @@
+package com.payroll.index;
+
+import com.payroll.model.LocalHoliday;
+import com.payroll.util.StringDictionary;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local holidays per location.
+ *
+ * Locations are dictionary coded and every location has a bitset of its holidays over the
+ * day numbers between the first and the last holiday, so checking a date is a bit test.
+ * Holidays without a location, with an invalid date or with a year outside
+ * {@link LocalHoliday#isSupportedYear} are left out, so one typo year cannot stretch the
+ * bitsets over centuries.
+ */
+public final class HolidayIndex {
+    private static final HolidayIndex EMPTY = of(List.of());
+
+    private final StringDictionary locations;
+    private final long firstDay;
+    private final long lastDay;
+    private final long[][] holidays;
+    private final long[] anyLocation;
+
+    private HolidayIndex(StringDictionary locations, long firstDay, long lastDay,
+                         long[][] holidays) {
+        this.locations = locations;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.holidays = holidays;
+        this.anyLocation = new long[holidays.length == 0 ? 0 : holidays[0].length];
+        for (long[] words : holidays) {
+            for (int i = 0; i < words.length; i++) {
+                anyLocation[i] |= words[i];
+            }
+        }
+    }
+
+    /**
+     * Creates an index from local holidays.
+     *
+     * @param localHolidays Local holidays
+     * @return New index
+     */
+    public static HolidayIndex of(List<LocalHoliday> localHolidays) {
+        StringDictionary locations = new StringDictionary();
+        List<Long> days = new ArrayList<>();
+        List<Integer> codes = new ArrayList<>();
+        long firstDay = Long.MAX_VALUE;
+        long lastDay = Long.MIN_VALUE;
+        for (LocalHoliday holiday : localHolidays) {
+            long day = epochDay(holiday.year(), holiday.month(), holiday.day());
+            if (holiday.location() == null || day == Long.MIN_VALUE
+                || !LocalHoliday.isSupportedYear(holiday.year())) {
+                continue;
+            }
+            codes.add(locations.intern(holiday.location()));
+            days.add(day);
+            firstDay = Math.min(firstDay, day);
+            lastDay = Math.max(lastDay, day);
+        }
+
+        long[][] holidays = new long[locations.size()][];
+        int words = days.isEmpty() ? 0 : (int) ((lastDay - firstDay) >>> 6) + 1;
+        for (int code = 0; code < holidays.length; code++) {
+            holidays[code] = new long[words];
+        }
+        for (int i = 0; i < days.size(); i++) {
+            long offset = days.get(i) - firstDay;
+            holidays[codes.get(i)][(int) (offset >>> 6)] |= 1L << offset;
+        }
+        return new HolidayIndex(locations, firstDay, lastDay, holidays);
+    }
+
+    /**
+     * Gets an index without holidays.
+     *
+     * @return Empty index
+     */
+    public static HolidayIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Gets the code of a location.
+     *
+     * @param location Location name
+     * @return Code of the location, or -1 if it has no local holidays
+     */
+    public int locationCode(String location) {
+        return locations.codeOf(location);
+    }
+
+    /**
+     * Gets the location of a code.
+     *
+     * @param locationCode Code of the location
+     * @return Location name, or null for -1
+     */
+    public String location(int locationCode) {
+        return locations.valueOf(locationCode);
+    }
+
+    /**
+     * Gets the number of locations with local holidays; codes are below this number.
+     *
+     * @return Number of locations
+     */
+    public int locationCount() {
+        return locations.size();
+    }
+
+    /**
+     * Checks whether a date is a holiday at a location.
+     *
+     * @param locationCode Code of the location, -1 for a location without local holidays
+     * @param year         Year
+     * @param month        Month number
+     * @param day          Day of the month
+     * @return true if the date is a local holiday there; false for invalid dates
+     */
+    public boolean isHoliday(int locationCode, int year, int month, int day) {
+        return locationCode >= 0 && isSet(holidays[locationCode], year, month, day);
+    }
+
+    /**
+     * Checks whether a date is a holiday at a location.
+     *
+     * @param location Location name
+     * @param year     Year
+     * @param month    Month number
+     * @param day      Day of the month
+     * @return true if the date is a local holiday there; false for invalid dates
+     */
+    public boolean isHoliday(String location, int year, int month, int day) {
+        return isHoliday(locationCode(location), year, month, day);
+    }
+
+    /**
+     * Checks whether a date is a holiday at any location.
+     *
+     * @param year  Year
+     * @param month Month number
+     * @param day   Day of the month
+     * @return true if any location has a local holiday on the date
+     */
+    public boolean isHolidayAnywhere(int year, int month, int day) {
+        return isSet(anyLocation, year, month, day);
+    }
+
+    private boolean isSet(long[] words, int year, int month, int day) {
+        long date = epochDay(year, month, day);
+        if (date < firstDay || date > lastDay) {
+            return false;
+        }
+        long offset = date - firstDay;
+        return (words[(int) (offset >>> 6)] & (1L << offset)) != 0;
+    }
+
+    /**
+     * Gets the day number of a date.
+     *
+     * @return Days since 1970-01-01, or Long.MIN_VALUE if the date is invalid
+     */
+    private static long epochDay(int year, int month, int day) {
+        if (month < 1 || month > 12 || year < Year.MIN_VALUE || year > Year.MAX_VALUE
+            || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return Long.MIN_VALUE;
+        }
+        return LocalDate.of(year, month, day).toEpochDay();
+    }
+}
@@ -0,0 +1,54 @@
+package com.payroll.index;
+
+/**
+ * Lookup of aggregated overtime hours by employee ordinal and calculation month.
+ */
+@FunctionalInterface
+public interface OvertimeHours {
+
+    /**
+     * Gets the total overtime hours of an employee in a month.
+     *
+     * @param employeeOrdinal Ordinal of the employee, -1 if unknown
+     * @param yearMonth       Month encoded as {@code year * 100 + month}
+     * @return Total overtime hours, 0 if there are none
+     */
+    int hours(int employeeOrdinal, int yearMonth);
+
+    /**
+     * Gets the lookup of one month, for looking up many employees in the same month.
+     * Implementations resolve the month here once instead of on every lookup.
+     *
+     * @param yearMonth Month encoded as {@code year * 100 + month}
+     * @return Total overtime hours in the month by employee ordinal
+     */
+    default Month month(int yearMonth) {
+        return employeeOrdinal -> hours(employeeOrdinal, yearMonth);
+    }
+
+    /**
+     * Encodes a month as {@code year * 100 + month}.
+     *
+     * @param year  Year
+     * @param month Month number
+     * @return Encoded month
+     */
+    static int yearMonth(int year, int month) {
+        return year * 100 + month;
+    }
+
+    /**
+     * Lookup of overtime hours by employee ordinal in one month.
+     */
+    @FunctionalInterface
+    interface Month {
+
+        /**
+         * Gets the total overtime hours of an employee in the month.
+         *
+         * @param employeeOrdinal Ordinal of the employee, -1 if unknown
+         * @return Total overtime hours, 0 if there are none
+         */
+        int hours(int employeeOrdinal);
+    }
+}
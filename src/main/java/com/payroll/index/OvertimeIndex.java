@@ -0,0 +1,90 @@
+package com.payroll.index;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Overtime hours aggregated per (employee ordinal, month).
+ *
+ * Each key is packed into one long and kept in an open-addressing table with primitive
+ * int accumulators, so neither the aggregation nor the lookups allocate. Keys are claimed
+ * with compare-and-set and hours are added atomically, which lets several threads
+ * aggregate shards of the overtime file into the same index without locking.
+ * The capacity is fixed when the index is created.
+ */
+public final class OvertimeIndex implements OvertimeHours {
+    private static final long EMPTY = 0L;
+
+    private final AtomicLongArray keys;
+    private final AtomicIntegerArray hours;
+    private final int mask;
+
+    /**
+     * Creates an index for at most the given number of distinct (employee, month) keys.
+     *
+     * @param maxEntries Upper bound of the number of keys, e.g. the number of overtime rows
+     */
+    public OvertimeIndex(int maxEntries) {
+        int capacity = Integer.highestOneBit(Math.max(16, maxEntries) * 2 - 1) << 1;
+        this.keys = new AtomicLongArray(capacity);
+        this.hours = new AtomicIntegerArray(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Adds overtime hours of an employee in a month. Safe to call from several threads.
+     *
+     * @param employeeOrdinal Ordinal of the employee, must not be negative
+     * @param yearMonth       Month encoded as {@code year * 100 + month}
+     * @param overtimeHours   Hours to add
+     * @throws IllegalStateException If the index holds more keys than it was created for
+     */
+    public void add(int employeeOrdinal, int yearMonth, int overtimeHours) {
+        long key = pack(employeeOrdinal, yearMonth);
+        int slot = slotOf(key);
+        for (int probes = 0; probes <= mask; ) {
+            long current = keys.get(slot);
+            if (current == EMPTY && !keys.compareAndSet(slot, EMPTY, key)) {
+                // Another thread claimed the slot first, check which key it stored
+                continue;
+            }
+            if (current == EMPTY || current == key) {
+                hours.getAndAdd(slot, overtimeHours);
+                return;
+            }
+            slot = (slot + 1) & mask;
+            probes++;
+        }
+        throw new IllegalStateException("Overtime index is full: " + keys.length() + " slots");
+    }
+
+    @Override
+    public int hours(int employeeOrdinal, int yearMonth) {
+        if (employeeOrdinal < 0) {
+            return 0;
+        }
+        long key = pack(employeeOrdinal, yearMonth);
+        int slot = slotOf(key);
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = keys.get(slot);
+            if (current == key) {
+                return hours.get(slot);
+            }
+            if (current == EMPTY) {
+                return 0;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    private static long pack(int employeeOrdinal, int yearMonth) {
+        // The ordinal is shifted by one so that no key equals EMPTY
+        return ((long) (employeeOrdinal + 1) << 32) | (yearMonth & 0xFFFFFFFFL);
+    }
+
+    private int slotOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,93 @@
+package com.payroll.index;
+
+import com.payroll.model.Payment;
+
+/**
+ * A payment with everything the calculation derives from it alone, computed once per run
+ * instead of once per employee: the formatted period key and payment date, the month the
+ * overtimes are summed for and the locations with a local holiday on the payment date.
+ */
+public final class PaymentPeriod {
+    private final Payment payment;
+    private final String periodKey;
+    private final String paymentDate;
+    private final int overtimeMonth;
+    private final boolean holidayAnywhere;
+    private final boolean[] holidayAtLocation;
+
+    private PaymentPeriod(Payment payment, HolidayIndex holidays) {
+        this.payment = payment;
+        this.periodKey = payment.getPaymentPeriodKey();
+        this.paymentDate = payment.toString();
+        this.overtimeMonth = OvertimeHours.yearMonth(payment.getCalculationYear(),
+            payment.getCalculationMonth());
+        this.holidayAnywhere =
+            holidays.isHolidayAnywhere(payment.year(), payment.month(), payment.paymentDate());
+        this.holidayAtLocation = new boolean[holidays.locationCount()];
+        for (int code = 0; code < holidayAtLocation.length; code++) {
+            holidayAtLocation[code] = holidays.isHoliday(code, payment.year(), payment.month(),
+                payment.paymentDate());
+        }
+    }
+
+    /**
+     * Describes a payment.
+     *
+     * @param payment  Payment
+     * @param holidays Local holidays; location codes of this period are the codes here
+     * @return Payment period
+     */
+    public static PaymentPeriod of(Payment payment, HolidayIndex holidays) {
+        return new PaymentPeriod(payment, holidays);
+    }
+
+    public Payment payment() {
+        return payment;
+    }
+
+    /**
+     * Gets the calculated month as formatted by {@link Payment#getPaymentPeriodKey()}.
+     *
+     * @return Period key, e.g. 2025-10
+     */
+    public String periodKey() {
+        return periodKey;
+    }
+
+    /**
+     * Gets the payment date as formatted by {@link Payment#toString()}.
+     *
+     * @return Payment date, e.g. 2025-11-19
+     */
+    public String paymentDate() {
+        return paymentDate;
+    }
+
+    /**
+     * Gets the month the overtimes are summed for, as keyed in {@link OvertimeHours}.
+     *
+     * @return Year and month of the calculated month
+     */
+    public int overtimeMonth() {
+        return overtimeMonth;
+    }
+
+    /**
+     * Checks whether any location has a local holiday on the payment date.
+     *
+     * @return true if some employees may not be paid on the payment date
+     */
+    public boolean isHolidayAnywhere() {
+        return holidayAnywhere;
+    }
+
+    /**
+     * Checks whether the payment date is a local holiday at a location.
+     *
+     * @param locationCode Code of the location, -1 for a location without local holidays
+     * @return true if the payment date is a holiday there
+     */
+    public boolean isHoliday(int locationCode) {
+        return locationCode >= 0 && holidayAtLocation[locationCode];
+    }
+}
@@ -0,0 +1,337 @@
+package com.payroll.index;
+
+import com.payroll.model.Calendar;
+import com.payroll.model.Employee;
+import com.payroll.model.LocalHoliday;
+import com.payroll.model.Overtime;
+import com.payroll.model.Payment;
+import com.payroll.model.Rate;
+import com.payroll.model.TaxClass;
+import com.payroll.util.EmployeeIdDictionary;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Input data of one payroll run together with the indexes that validation and calculation
+ * share, so every index is built once.
+ *
+ * Employees are joined by the ordinal of their ID in {@link #employeeIds()}; rates and
+ * overtimes are indexed by that ordinal. The build time of every index is logged and kept
+ * in {@link #buildMillis()}.
+ *
+ * The context is not modified after it is built and can be shared between threads.
+ */
+public final class PreparedPayrollContext {
+    private static final Logger logger = LoggerFactory.getLogger(PreparedPayrollContext.class);
+
+    private final List<Employee> employees;
+    private final List<Rate> rates;
+    private final List<Payment> payments;
+    private final List<Overtime> overtimes;
+    private final List<TaxClass> taxClasses;
+    private final List<Calendar> calendar;
+    private final List<LocalHoliday> localHolidays;
+
+    private final EmployeeIdDictionary employeeIds;
+    private final int[] employeeOrdinals;
+    private final BitSet repeatedEmployees;
+    private final boolean employeeWithoutId;
+    private final Rate[] rateByOrdinal;
+    private final Map<String, TaxClass> taxClassMap;
+    private final HolidayIndex holidays;
+    private final WorkingDayIndex workingDays;
+    private final OvertimeHours overtimeHours;
+    private final Map<String, Long> buildMillis;
+
+    private PreparedPayrollContext(Builder builder) {
+        this.employees = builder.employees;
+        this.rates = builder.rates;
+        this.payments = builder.payments;
+        this.overtimes = builder.overtimes;
+        this.taxClasses = builder.taxClasses;
+        this.calendar = builder.calendar;
+        this.localHolidays = builder.localHolidays;
+
+        Map<String, Long> times = new LinkedHashMap<>();
+        this.employeeIds = new EmployeeIdDictionary();
+        this.employeeOrdinals = new int[employees.size()];
+        this.repeatedEmployees = new BitSet();
+        this.employeeWithoutId = timed(times, "employees", this::indexEmployees);
+        this.rateByOrdinal = timed(times, "rates", this::indexRates);
+        this.taxClassMap = timed(times, "tax classes", this::indexTaxClasses);
+        this.holidays = timed(times, "local holidays", () -> HolidayIndex.of(localHolidays));
+        this.workingDays = timed(times, "calendar", () -> WorkingDayIndex.of(calendar));
+        this.overtimeHours = timed(times, "overtimes",
+            () -> builder.overtimeAggregation.apply(overtimes, employeeIds));
+        this.buildMillis = Collections.unmodifiableMap(times);
+    }
+
+    /**
+     * Starts building a context.
+     *
+     * @param employees     List of employees
+     * @param rates         Payment rates
+     * @param payments      Payment data
+     * @param overtimes     Overtime hours
+     * @param taxClasses    Tax classes
+     * @param calendar      Calendar data
+     * @param localHolidays Holidays that only apply to some locations
+     * @return Builder of the context
+     */
+    public static Builder builder(
+        List<Employee> employees,
+        List<Rate> rates,
+        List<Payment> payments,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar,
+        List<LocalHoliday> localHolidays
+    ) {
+        return new Builder(employees, rates, payments, overtimes, taxClasses, calendar,
+            localHolidays);
+    }
+
+    public List<Employee> employees() {
+        return employees;
+    }
+
+    public List<Rate> rates() {
+        return rates;
+    }
+
+    public List<Payment> payments() {
+        return payments;
+    }
+
+    public List<Overtime> overtimes() {
+        return overtimes;
+    }
+
+    public List<TaxClass> taxClasses() {
+        return taxClasses;
+    }
+
+    public List<Calendar> calendar() {
+        return calendar;
+    }
+
+    public List<LocalHoliday> localHolidays() {
+        return localHolidays;
+    }
+
+    /**
+     * Gets the dictionary of the employee IDs, in employee order. Do not modify it.
+     *
+     * @return Employee ID dictionary
+     */
+    public EmployeeIdDictionary employeeIds() {
+        return employeeIds;
+    }
+
+    /**
+     * Gets the ordinal of the ID of an employee.
+     *
+     * @param row Position of the employee in {@link #employees()}
+     * @return Ordinal of the employee ID, or -1 if it is null
+     */
+    public int employeeOrdinal(int row) {
+        return employeeOrdinals[row];
+    }
+
+    /**
+     * Checks if an employee repeats the ID of an earlier employee.
+     *
+     * @param row Position of the employee in {@link #employees()}
+     * @return True if the ID was seen before the row
+     */
+    public boolean isRepeatedEmployee(int row) {
+        return repeatedEmployees.get(row);
+    }
+
+    /**
+     * Checks if an employee ID exists.
+     *
+     * @param employeeId Employee ID, may be null
+     * @return True if an employee has the ID
+     */
+    public boolean hasEmployee(String employeeId) {
+        return employeeId == null ? employeeWithoutId : employeeIds.ordinalOf(employeeId) >= 0;
+    }
+
+    /**
+     * Gets the rate of an employee by ordinal. As with a map, the last rate of an employee
+     * wins; the employee without an ID gets the rate without an ID.
+     *
+     * @param employeeOrdinal Ordinal of the employee ID, or -1 for null
+     * @return Rate, or null if there is none
+     */
+    public Rate rate(int employeeOrdinal) {
+        return rateByOrdinal[employeeOrdinal < 0 ? employeeIds.size() : employeeOrdinal];
+    }
+
+    /**
+     * Gets the rate of an employee ID.
+     *
+     * @param employeeId Employee ID, may be null
+     * @return Rate, or null if there is none or the ID is not an employee
+     */
+    public Rate rate(String employeeId) {
+        if (employeeId == null) {
+            return rateByOrdinal[employeeIds.size()];
+        }
+        int ordinal = employeeIds.ordinalOf(employeeId);
+        return ordinal < 0 ? null : rateByOrdinal[ordinal];
+    }
+
+    /**
+     * Gets the tax classes by code. As with a map, the last tax class of a code wins.
+     *
+     * @return Unmodifiable tax class map
+     */
+    public Map<String, TaxClass> taxClassMap() {
+        return taxClassMap;
+    }
+
+    public HolidayIndex holidays() {
+        return holidays;
+    }
+
+    public WorkingDayIndex workingDays() {
+        return workingDays;
+    }
+
+    /**
+     * Gets the overtime hours by employee ordinal and month.
+     *
+     * @return Overtime lookup
+     */
+    public OvertimeHours overtimeHours() {
+        return overtimeHours;
+    }
+
+    /**
+     * Gets the time it took to build each index.
+     *
+     * @return Build time in milliseconds by index name, in build order
+     */
+    public Map<String, Long> buildMillis() {
+        return buildMillis;
+    }
+
+    private boolean indexEmployees() {
+        boolean withoutId = false;
+        int row = 0;
+        for (Employee employee : employees) {
+            String employeeId = employee.getEmployeeId();
+            int known = employeeIds.size();
+            int ordinal = employeeIds.intern(employeeId);
+            employeeOrdinals[row] = ordinal;
+            if (employeeId == null ? withoutId : ordinal < known) {
+                repeatedEmployees.set(row);
+            }
+            withoutId |= employeeId == null;
+            row++;
+        }
+        return withoutId;
+    }
+
+    /**
+     * Joins rates to employee ordinals. The extra slot at index {@code employeeIds.size()}
+     * holds the rate without an employee ID.
+     */
+    private Rate[] indexRates() {
+        Rate[] byOrdinal = new Rate[employeeIds.size() + 1];
+        for (Rate rate : rates) {
+            if (rate.employeeId() == null) {
+                byOrdinal[employeeIds.size()] = rate;
+                continue;
+            }
+            int ordinal = employeeIds.ordinalOf(rate.employeeId());
+            if (ordinal >= 0) {
+                byOrdinal[ordinal] = rate;
+            }
+        }
+        return byOrdinal;
+    }
+
+    private Map<String, TaxClass> indexTaxClasses() {
+        Map<String, TaxClass> byCode = new HashMap<>();
+        for (TaxClass taxClass : taxClasses) {
+            byCode.put(taxClass.taxClass(), taxClass);
+        }
+        return Collections.unmodifiableMap(byCode);
+    }
+
+    private static <T> T timed(Map<String, Long> times, String name, Supplier<T> build) {
+        long start = System.nanoTime();
+        T index = build.get();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        times.put(name, millis);
+        logger.info("Built {} index in {} ms", name, millis);
+        return index;
+    }
+
+    /**
+     * Builder of a context. The overtime aggregation has to be set, as it belongs to the
+     * calculation service.
+     */
+    public static final class Builder {
+        private final List<Employee> employees;
+        private final List<Rate> rates;
+        private final List<Payment> payments;
+        private final List<Overtime> overtimes;
+        private final List<TaxClass> taxClasses;
+        private final List<Calendar> calendar;
+        private final List<LocalHoliday> localHolidays;
+        private BiFunction<List<Overtime>, EmployeeIdDictionary, OvertimeHours>
+            overtimeAggregation;
+
+        private Builder(
+            List<Employee> employees,
+            List<Rate> rates,
+            List<Payment> payments,
+            List<Overtime> overtimes,
+            List<TaxClass> taxClasses,
+            List<Calendar> calendar,
+            List<LocalHoliday> localHolidays
+        ) {
+            this.employees = employees;
+            this.rates = rates;
+            this.payments = payments;
+            this.overtimes = overtimes;
+            this.taxClasses = taxClasses;
+            this.calendar = calendar;
+            this.localHolidays = localHolidays;
+        }
+
+        /**
+         * Sets how overtime hours are aggregated by employee ordinal and month.
+         *
+         * @param overtimeAggregation Aggregation, e.g. of an overtime service
+         * @return This builder
+         */
+        public Builder overtimeAggregation(
+            BiFunction<List<Overtime>, EmployeeIdDictionary, OvertimeHours> overtimeAggregation) {
+            this.overtimeAggregation = overtimeAggregation;
+            return this;
+        }
+
+        public PreparedPayrollContext build() {
+            Objects.requireNonNull(overtimeAggregation, "Overtime aggregation is not set");
+            long start = System.nanoTime();
+            PreparedPayrollContext context = new PreparedPayrollContext(this);
+            logger.info("Prepared payroll context in {} ms",
+                (System.nanoTime() - start) / 1_000_000);
+            return context;
+        }
+    }
+}
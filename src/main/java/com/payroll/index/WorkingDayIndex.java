@@ -0,0 +1,93 @@
+package com.payroll.index;
+
+import com.payroll.model.Calendar;
+import java.util.List;
+
+/**
+ * Working days per month, precomputed from the calendar for the payment validation.
+ *
+ * Every month covered by the calendar gets its number of calendar entries and of distinct
+ * working days, so both lookups are array accesses. Months outside the calendar have no
+ * days.
+ */
+public final class WorkingDayIndex {
+    private final int firstMonth;
+    private final int[] calendarEntries;
+    private final int[] workingDayCounts;
+
+    private WorkingDayIndex(int firstMonth, int[] calendarEntries, int[] workingDayCounts) {
+        this.firstMonth = firstMonth;
+        this.calendarEntries = calendarEntries;
+        this.workingDayCounts = workingDayCounts;
+    }
+
+    /**
+     * Builds the index of calendar entries.
+     *
+     * @param calendar Calendar entries
+     * @return Index of the calendar
+     */
+    public static WorkingDayIndex of(List<Calendar> calendar) {
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        for (Calendar day : calendar) {
+            if (day.month() >= 1 && day.month() <= 12) {
+                int month = day.year() * 12 + day.month() - 1;
+                first = Math.min(first, month);
+                last = Math.max(last, month);
+            }
+        }
+        int months = first > last ? 0 : last - first + 1;
+        int firstMonth = first > last ? 0 : first;
+        int[] calendarEntries = new int[months];
+        // Bit day - 1 per working day, so a day listed twice counts once
+        int[] workingDays = new int[months];
+        for (Calendar day : calendar) {
+            if (day.month() < 1 || day.month() > 12) {
+                continue;
+            }
+            int index = day.year() * 12 + day.month() - 1 - firstMonth;
+            calendarEntries[index]++;
+            if (day.day() >= 1 && day.day() <= 31 && day.isWorkingDay()) {
+                workingDays[index] |= 1 << (day.day() - 1);
+            }
+        }
+        int[] workingDayCounts = new int[months];
+        for (int i = 0; i < months; i++) {
+            workingDayCounts[i] = Integer.bitCount(workingDays[i]);
+        }
+        return new WorkingDayIndex(firstMonth, calendarEntries, workingDayCounts);
+    }
+
+    /**
+     * Checks whether the calendar has any entry for a month.
+     *
+     * @param year  Year
+     * @param month Month number
+     * @return true if there is calendar data for the month
+     */
+    public boolean hasCalendar(int year, int month) {
+        int index = monthIndex(year, month);
+        return index >= 0 && calendarEntries[index] > 0;
+    }
+
+    /**
+     * Gets the number of working days in a month, not counting local holidays.
+     *
+     * @param year  Year
+     * @param month Month number
+     * @return Number of working days, 0 if the month is not in the calendar
+     */
+    public int workingDays(int year, int month) {
+        int index = monthIndex(year, month);
+        return index < 0 ? 0 : workingDayCounts[index];
+    }
+
+    private int monthIndex(int year, int month) {
+        if (month < 1 || month > 12) {
+            return -1;
+        }
+        long index = (long) year * 12 + month - 1 - firstMonth;
+        return index >= 0 && index < calendarEntries.length ? (int) index : -1;
+    }
+}
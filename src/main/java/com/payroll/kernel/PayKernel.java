@@ -0,0 +1,73 @@
+package com.payroll.kernel;
+
+/**
+ * Evaluates the pay formula over primitive arrays, one array element per employee:
+ * <pre>
+ * base pay     = days ratio * rate * tax factor
+ * overtime pay = min(overtime hours, 10) * overtime rate * 1.5, 0 without overtime
+ * </pre>
+ * Every implementation multiplies in this order, so the results are the same as the
+ * ones of {@code BasePayServiceIml} and {@code OvertimeServiceImpl} to the last bit.
+ *
+ * {@link #preferred()} uses a kernel registered as a {@link java.util.ServiceLoader} service,
+ * such as the Vector API kernel of the benchmarks, when the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}, and plain loops otherwise.
+ */
+public interface PayKernel {
+
+    /** Overtime hours above this limit are not paid. */
+    int MAX_OVERTIME_HOURS = 10;
+
+    /** Overtime hours are paid with this coefficient on the overtime rate. */
+    double OVERTIME_COEFFICIENT = 1.5;
+
+    /**
+     * Calculates the base pay of the first {@code count} elements.
+     *
+     * @param daysRatios Ratios of days worked to working days
+     * @param rates      Monthly rates
+     * @param taxFactors Tax factors
+     * @param basePay    Receives the base pay
+     * @param count      Number of elements
+     */
+    void basePay(double[] daysRatios, double[] rates, double[] taxFactors, double[] basePay,
+                 int count);
+
+    /**
+     * Calculates the overtime pay of the first {@code count} elements.
+     *
+     * @param overtimeHours Overtime hours of the month, not yet limited
+     * @param overtimeRates Overtime rates
+     * @param overtimePay   Receives the overtime pay
+     * @param count         Number of elements
+     * @return Number of elements with more overtime hours than are paid
+     */
+    int overtimePay(int[] overtimeHours, double[] overtimeRates, double[] overtimePay,
+                    int count);
+
+    /**
+     * Gets the name of the implementation, for logs and benchmarks.
+     *
+     * @return Name
+     */
+    String name();
+
+    /**
+     * Gets the kernel with plain loops, which runs on every JVM.
+     *
+     * @return Scalar kernel
+     */
+    static PayKernel scalar() {
+        return ScalarPayKernel.INSTANCE;
+    }
+
+    /**
+     * Gets the fastest kernel of this JVM: the first registered kernel if the incubator
+     * module is present, the scalar kernel otherwise.
+     *
+     * @return Kernel
+     */
+    static PayKernel preferred() {
+        return PreferredPayKernel.KERNEL;
+    }
+}
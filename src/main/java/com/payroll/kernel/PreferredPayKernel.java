@@ -0,0 +1,29 @@
+package com.payroll.kernel;
+
+import java.util.ServiceLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the kernel of {@link PayKernel#preferred()}, picked once on first use.
+ */
+final class PreferredPayKernel {
+    private static final Logger logger = LoggerFactory.getLogger(PreferredPayKernel.class);
+
+    static final PayKernel KERNEL = select();
+
+    private PreferredPayKernel() {
+    }
+
+    private static PayKernel select() {
+        // Registered kernels are only loaded when the module they link against is there
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            logger.debug("jdk.incubator.vector not present, using the scalar pay kernel");
+            return PayKernel.scalar();
+        }
+        PayKernel kernel = ServiceLoader.load(PayKernel.class).findFirst()
+            .orElse(PayKernel.scalar());
+        logger.debug("Using the {} pay kernel", kernel.name());
+        return kernel;
+    }
+}
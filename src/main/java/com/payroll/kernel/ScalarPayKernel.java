@@ -0,0 +1,42 @@
+package com.payroll.kernel;
+
+/**
+ * Pay kernel with plain loops. The loops have no calls and no branches the JIT cannot
+ * turn into conditional moves, so C2 may still vectorize them on its own.
+ */
+final class ScalarPayKernel implements PayKernel {
+    static final ScalarPayKernel INSTANCE = new ScalarPayKernel();
+
+    private ScalarPayKernel() {
+    }
+
+    @Override
+    public void basePay(double[] daysRatios, double[] rates, double[] taxFactors,
+                        double[] basePay, int count) {
+        for (int i = 0; i < count; i++) {
+            basePay[i] = daysRatios[i] * rates[i] * taxFactors[i];
+        }
+    }
+
+    @Override
+    public int overtimePay(int[] overtimeHours, double[] overtimeRates, double[] overtimePay,
+                           int count) {
+        int limited = 0;
+        for (int i = 0; i < count; i++) {
+            int hours = overtimeHours[i];
+            if (hours > MAX_OVERTIME_HOURS) {
+                limited++;
+            }
+            int cappedHours = Math.min(hours, MAX_OVERTIME_HOURS);
+            overtimePay[i] = hours <= 0
+                ? 0
+                : cappedHours * overtimeRates[i] * OVERTIME_COEFFICIENT;
+        }
+        return limited;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
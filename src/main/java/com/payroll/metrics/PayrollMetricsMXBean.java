@@ -0,0 +1,43 @@
+package com.payroll.metrics;
+
+import java.util.List;
+
+/**
+ * JMX view of a payroll run, registered as {@link RunMetrics#OBJECT_NAME} while the run is
+ * in progress. Totals are the sums over all stages so far.
+ */
+public interface PayrollMetricsMXBean {
+
+    /**
+     * Gets the state of the run: RUNNING, SUCCEEDED or FAILED.
+     *
+     * @return State of the run
+     */
+    String getState();
+
+    long getElapsedMillis();
+
+    long getRowsRead();
+
+    long getRowsRejected();
+
+    long getResultsProduced();
+
+    long getBytesRead();
+
+    long getBytesWritten();
+
+    /**
+     * Gets the bytes allocated by the threads of the finished stages.
+     *
+     * @return Allocated bytes
+     */
+    long getAllocatedBytes();
+
+    /**
+     * Gets the metrics of every stage that has started, in start order.
+     *
+     * @return Stage metrics
+     */
+    List<StageInfo> getStages();
+}
@@ -0,0 +1,210 @@
+package com.payroll.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metrics of one payroll run: wall time, rows, results, bytes and allocations per stage.
+ *
+ * Stages are started with {@link #start(String)} and closed when they end. The run can be
+ * watched over JMX with {@link #register()} and is summarized by {@link #toJson()}.
+ * Disabled metrics, see {@link #disabled()}, hand out stages that record nothing.
+ */
+public final class RunMetrics implements PayrollMetricsMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(RunMetrics.class);
+
+    public static final String OBJECT_NAME = "com.payroll:type=PayrollMetrics";
+
+    private final boolean enabled;
+    private final List<StageMetrics> stages = new CopyOnWriteArrayList<>();
+    private final long startNanos = System.nanoTime();
+    private volatile long elapsedMillis = -1;
+    private volatile String state = "RUNNING";
+    private ObjectName registeredName;
+
+    /**
+     * Constructs metrics for a run that starts now.
+     */
+    public RunMetrics() {
+        this(true);
+    }
+
+    private RunMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets metrics that record nothing.
+     *
+     * @return Disabled metrics
+     */
+    public static RunMetrics disabled() {
+        return new RunMetrics(false);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts a stage on the current thread. Close it on the same thread when it ends.
+     *
+     * @param name Name of the stage
+     * @return Started stage
+     */
+    public StageMetrics start(String name) {
+        StageMetrics stage = new StageMetrics(name, enabled);
+        if (enabled) {
+            stages.add(stage);
+        }
+        return stage;
+    }
+
+    /**
+     * Ends the run.
+     *
+     * @param succeeded True if the run succeeded
+     */
+    public void finish(boolean succeeded) {
+        elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        state = succeeded ? "SUCCEEDED" : "FAILED";
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server. Disabled metrics are not
+     * registered. A failure is logged and does not affect the run.
+     */
+    public synchronized void register() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+            registeredName = name;
+            logger.info("Registered run metrics as {}", OBJECT_NAME);
+        } catch (JMException e) {
+            logger.warn("Cannot register run metrics as {}: {}", OBJECT_NAME, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server, if they were registered.
+     */
+    public synchronized void unregister() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            logger.warn("Cannot unregister run metrics {}: {}", registeredName, e.getMessage());
+        }
+        registeredName = null;
+    }
+
+    @Override
+    public String getState() {
+        return state;
+    }
+
+    @Override
+    public long getElapsedMillis() {
+        long elapsed = elapsedMillis;
+        return elapsed >= 0 ? elapsed : (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    @Override
+    public long getRowsRead() {
+        return sum(getStages(), StageInfo::getRowsRead);
+    }
+
+    @Override
+    public long getRowsRejected() {
+        return sum(getStages(), StageInfo::getRowsRejected);
+    }
+
+    @Override
+    public long getResultsProduced() {
+        return sum(getStages(), StageInfo::getResultsProduced);
+    }
+
+    @Override
+    public long getBytesRead() {
+        return sum(getStages(), StageInfo::getBytesRead);
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return sum(getStages(), StageInfo::getBytesWritten);
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return sum(getStages(), stage -> Math.max(0, stage.getAllocatedBytes()));
+    }
+
+    @Override
+    public List<StageInfo> getStages() {
+        List<StageInfo> snapshots = new ArrayList<>(stages.size());
+        for (StageMetrics stage : stages) {
+            snapshots.add(stage.snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * Formats the metrics as JSON.
+     *
+     * @return JSON document
+     */
+    public String toJson() {
+        List<StageInfo> snapshots = getStages();
+        StringBuilder json = new StringBuilder(256 + snapshots.size() * 256);
+        json.append("{\n  \"state\": \"").append(state).append('"');
+        json.append(",\n  \"elapsedMillis\": ").append(getElapsedMillis());
+        json.append(",\n  \"rowsRead\": ").append(sum(snapshots, StageInfo::getRowsRead));
+        json.append(",\n  \"rowsRejected\": ")
+            .append(sum(snapshots, StageInfo::getRowsRejected));
+        json.append(",\n  \"resultsProduced\": ")
+            .append(sum(snapshots, StageInfo::getResultsProduced));
+        json.append(",\n  \"bytesRead\": ").append(sum(snapshots, StageInfo::getBytesRead));
+        json.append(",\n  \"bytesWritten\": ")
+            .append(sum(snapshots, StageInfo::getBytesWritten));
+        json.append(",\n  \"allocatedBytes\": ")
+            .append(sum(snapshots, stage -> Math.max(0, stage.getAllocatedBytes())));
+        json.append(",\n  \"stages\": [");
+        String separator = "\n";
+        for (StageInfo stage : snapshots) {
+            // Stage names are chosen by the workflow and need no escaping
+            json.append(separator).append("    {\"name\": \"").append(stage.getName());
+            json.append("\", \"state\": \"").append(stage.getState());
+            json.append("\", \"wallMillis\": ").append(stage.getWallMillis());
+            json.append(", \"rowsRead\": ").append(stage.getRowsRead());
+            json.append(", \"rowsRejected\": ").append(stage.getRowsRejected());
+            json.append(", \"resultsProduced\": ").append(stage.getResultsProduced());
+            json.append(", \"bytesRead\": ").append(stage.getBytesRead());
+            json.append(", \"bytesWritten\": ").append(stage.getBytesWritten());
+            json.append(", \"allocatedBytes\": ").append(stage.getAllocatedBytes());
+            json.append('}');
+            separator = ",\n";
+        }
+        return json.append("\n  ]\n}\n").toString();
+    }
+
+    private static long sum(List<StageInfo> stages, ToLongFunction<StageInfo> counter) {
+        return stages.stream().mapToLong(counter).sum();
+    }
+}
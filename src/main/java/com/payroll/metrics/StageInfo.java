@@ -0,0 +1,71 @@
+package com.payroll.metrics;
+
+/**
+ * Snapshot of the metrics of one stage of a payroll run. Counters that a stage does not
+ * report are 0; the allocated bytes are -1 when the JVM cannot measure them.
+ */
+public final class StageInfo {
+    private final String name;
+    private final String state;
+    private final long wallMillis;
+    private final long rowsRead;
+    private final long rowsRejected;
+    private final long resultsProduced;
+    private final long bytesRead;
+    private final long bytesWritten;
+    private final long allocatedBytes;
+
+    StageInfo(String name, String state, long wallMillis, long rowsRead, long rowsRejected,
+              long resultsProduced, long bytesRead, long bytesWritten, long allocatedBytes) {
+        this.name = name;
+        this.state = state;
+        this.wallMillis = wallMillis;
+        this.rowsRead = rowsRead;
+        this.rowsRejected = rowsRejected;
+        this.resultsProduced = resultsProduced;
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the state of the stage: RUNNING, SUCCEEDED or FAILED.
+     *
+     * @return State of the stage
+     */
+    public String getState() {
+        return state;
+    }
+
+    public long getWallMillis() {
+        return wallMillis;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public long getResultsProduced() {
+        return resultsProduced;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+}
@@ -0,0 +1,128 @@
+package com.payroll.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of one stage of a payroll run, such as loading a file or the calculation.
+ *
+ * A stage measures the wall time and the bytes allocated by the thread that started it,
+ * until it is closed on that thread. While it is open it is the current stage of the
+ * thread, so services can add their counters through {@link #current()} without knowing
+ * about the run. Allocations of other threads, e.g. of a parallel load, are not counted;
+ * virtual threads do not support allocation counting, so run measured stages on platform
+ * threads.
+ */
+public final class StageMetrics implements AutoCloseable {
+    private static final ThreadLocal<StageMetrics> CURRENT = new ThreadLocal<>();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final String name;
+    private final boolean recording;
+    private final StageMetrics previous;
+    private final long startNanos;
+    private final long startAllocated;
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final AtomicLong resultsProduced = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private volatile long wallMillis = -1;
+    private volatile long allocatedBytes = -1;
+    private volatile boolean failed;
+
+    /**
+     * Starts a stage on the current thread.
+     *
+     * @param name      Name of the stage
+     * @param recording False for a stage that records nothing, as used by disabled metrics
+     */
+    StageMetrics(String name, boolean recording) {
+        this.name = name;
+        this.recording = recording;
+        this.previous = recording ? CURRENT.get() : null;
+        this.startNanos = System.nanoTime();
+        this.startAllocated = recording ? currentThreadAllocatedBytes() : -1;
+        if (recording) {
+            CURRENT.set(this);
+        }
+    }
+
+    /**
+     * Gets the stage that is open on the current thread.
+     *
+     * @return Current stage, or null if no stage is measured
+     */
+    public static StageMetrics current() {
+        return CURRENT.get();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Adds rows read from an input.
+     *
+     * @param rows     Rows read, including rejected rows
+     * @param rejected Rows that could not be parsed
+     * @param bytes    Bytes read
+     */
+    public void addInput(long rows, long rejected, long bytes) {
+        rowsRead.addAndGet(rows);
+        rowsRejected.addAndGet(rejected);
+        bytesRead.addAndGet(bytes);
+    }
+
+    public void addResults(long results) {
+        resultsProduced.addAndGet(results);
+    }
+
+    public void addBytesWritten(long bytes) {
+        bytesWritten.addAndGet(bytes);
+    }
+
+    /**
+     * Marks the stage as failed; it still has to be closed.
+     */
+    public void fail() {
+        failed = true;
+    }
+
+    /**
+     * Ends the stage. Has to be called on the thread that started it.
+     */
+    @Override
+    public void close() {
+        if (!recording || wallMillis >= 0) {
+            return;
+        }
+        long allocated = currentThreadAllocatedBytes();
+        allocatedBytes = allocated < 0 || startAllocated < 0 ? -1 : allocated - startAllocated;
+        wallMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    StageInfo snapshot() {
+        long wall = wallMillis;
+        String state = wall < 0 ? "RUNNING" : failed ? "FAILED" : "SUCCEEDED";
+        return new StageInfo(name, state,
+            wall < 0 ? (System.nanoTime() - startNanos) / 1_000_000 : wall,
+            rowsRead.get(), rowsRejected.get(), resultsProduced.get(), bytesRead.get(),
+            bytesWritten.get(), allocatedBytes);
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean threads
+            && threads.isThreadAllocatedMemorySupported()
+            && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
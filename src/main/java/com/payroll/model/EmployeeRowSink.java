@@ -0,0 +1,25 @@
+package com.payroll.model;
+
+/**
+ * Receiver of employee rows as they are read, so one loader can fill any employee table.
+ *
+ * @see EmployeeTable.Builder
+ * @see OffHeapEmployeeTable.Builder
+ */
+public interface EmployeeRowSink {
+
+    /**
+     * Appends an employee.
+     *
+     * @param fullName        Full name
+     * @param location        Location
+     * @param employeeId      Employee ID
+     * @param taxClass        Tax class
+     * @param status          Employment status
+     * @param hasDaysWorked   Whether days worked is set; otherwise it is null
+     * @param daysWorkedValue Days worked, ignored if not set
+     * @return This sink
+     */
+    EmployeeRowSink add(String fullName, String location, String employeeId, String taxClass,
+                        String status, boolean hasDaysWorked, int daysWorkedValue);
+}
@@ -0,0 +1,69 @@
+package com.payroll.model;
+
+import com.payroll.util.EmployeeIdDictionary;
+import com.payroll.util.StringDictionary;
+
+/**
+ * Employees as rows of the fields used by the payroll calculation, whatever their storage.
+ * Employee IDs are ordinals of an {@link EmployeeIdDictionary}; locations, tax classes and
+ * statuses are dictionary coded, with -1 for a missing value.
+ *
+ * @see EmployeeTable
+ * @see OffHeapEmployeeTable
+ */
+public interface EmployeeRows {
+
+    int size();
+
+    String fullName(int row);
+
+    int employeeOrdinal(int row);
+
+    String employeeId(int row);
+
+    int locationCode(int row);
+
+    String location(int row);
+
+    int taxClassCode(int row);
+
+    String taxClass(int row);
+
+    int statusCode(int row);
+
+    String status(int row);
+
+    /**
+     * Checks whether an employee has the INACTIVE status (case-insensitive).
+     *
+     * @param row Row index
+     * @return true if the employee is inactive, false otherwise or if the status is missing
+     */
+    boolean isInactive(int row);
+
+    boolean isDaysWorkedNull(int row);
+
+    /**
+     * Gets the days worked by an employee.
+     *
+     * @param row Row index
+     * @return Days worked, or 0 if the value is null
+     */
+    int daysWorked(int row);
+
+    /**
+     * Gets the days worked as used by the {@code Employee} based services.
+     *
+     * @param row Row index
+     * @return Days worked, or null if the employee worked the full month
+     */
+    Integer daysWorkedOrNull(int row);
+
+    EmployeeIdDictionary employeeIdDictionary();
+
+    StringDictionary locationDictionary();
+
+    StringDictionary taxClassDictionary();
+
+    StringDictionary statusDictionary();
+}
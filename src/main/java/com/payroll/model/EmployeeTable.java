@@ -0,0 +1,236 @@
+package com.payroll.model;
+
+import com.payroll.util.EmployeeIdDictionary;
+import com.payroll.util.StringDictionary;
+import java.util.Arrays;
+
+/**
+ * Column-oriented employee data.
+ * Holds only the fields used by the payroll calculation, one primitive array per field.
+ * Employee IDs are stored as ordinals of an {@link EmployeeIdDictionary} that other files
+ * can be joined against. Locations, tax classes and statuses are dictionary coded; a
+ * missing value has code -1. Days worked uses a null bitmap instead of boxed values.
+ */
+public final class EmployeeTable implements EmployeeRows {
+    private static final String INACTIVE = "INACTIVE";
+
+    private final int size;
+    private final String[] fullNames;
+    private final int[] employeeIds;
+    private final int[] locations;
+    private final int[] taxClasses;
+    private final int[] statuses;
+    private final int[] daysWorked;
+    private final long[] daysWorkedNulls;
+    private final EmployeeIdDictionary employeeIdDictionary;
+    private final StringDictionary locationDictionary;
+    private final StringDictionary taxClassDictionary;
+    private final StringDictionary statusDictionary;
+    private final boolean[] inactiveStatuses;
+
+    private EmployeeTable(Builder builder) {
+        this.size = builder.size;
+        this.fullNames = Arrays.copyOf(builder.fullNames, size);
+        this.employeeIds = Arrays.copyOf(builder.employeeIds, size);
+        this.locations = Arrays.copyOf(builder.locations, size);
+        this.taxClasses = Arrays.copyOf(builder.taxClasses, size);
+        this.statuses = Arrays.copyOf(builder.statuses, size);
+        this.daysWorked = Arrays.copyOf(builder.daysWorked, size);
+        this.daysWorkedNulls = Arrays.copyOf(builder.daysWorkedNulls, (size + 63) >>> 6);
+        this.employeeIdDictionary = builder.employeeIdDictionary;
+        this.locationDictionary = builder.locationDictionary;
+        this.taxClassDictionary = builder.taxClassDictionary;
+        this.statusDictionary = builder.statusDictionary;
+        this.inactiveStatuses = new boolean[statusDictionary.size()];
+        for (int code = 0; code < inactiveStatuses.length; code++) {
+            inactiveStatuses[code] = INACTIVE.equalsIgnoreCase(statusDictionary.valueOf(code));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder(new EmployeeIdDictionary());
+    }
+
+    /**
+     * Creates a builder that registers employee IDs in a shared dictionary.
+     *
+     * @param employeeIdDictionary Dictionary for the employee IDs
+     * @return New builder
+     */
+    public static Builder builder(EmployeeIdDictionary employeeIdDictionary) {
+        return new Builder(employeeIdDictionary);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String fullName(int row) {
+        return fullNames[row];
+    }
+
+    public int employeeOrdinal(int row) {
+        return employeeIds[row];
+    }
+
+    public String employeeId(int row) {
+        return employeeIdDictionary.idOf(employeeIds[row]);
+    }
+
+    public int locationCode(int row) {
+        return locations[row];
+    }
+
+    public String location(int row) {
+        return locationDictionary.valueOf(locations[row]);
+    }
+
+    public int taxClassCode(int row) {
+        return taxClasses[row];
+    }
+
+    public String taxClass(int row) {
+        return taxClassDictionary.valueOf(taxClasses[row]);
+    }
+
+    public int statusCode(int row) {
+        return statuses[row];
+    }
+
+    public String status(int row) {
+        return statusDictionary.valueOf(statuses[row]);
+    }
+
+    /**
+     * Checks whether an employee has the INACTIVE status (case-insensitive).
+     *
+     * @param row Row index
+     * @return true if the employee is inactive, false otherwise or if the status is missing
+     */
+    public boolean isInactive(int row) {
+        int status = statuses[row];
+        return status >= 0 && inactiveStatuses[status];
+    }
+
+    public boolean isDaysWorkedNull(int row) {
+        return (daysWorkedNulls[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * Gets the days worked by an employee.
+     *
+     * @param row Row index
+     * @return Days worked, or 0 if the value is null
+     */
+    public int daysWorked(int row) {
+        return daysWorked[row];
+    }
+
+    /**
+     * Gets the days worked as used by the {@code Employee} based services.
+     *
+     * @param row Row index
+     * @return Days worked, or null if the employee worked the full month
+     */
+    public Integer daysWorkedOrNull(int row) {
+        return isDaysWorkedNull(row) ? null : daysWorked[row];
+    }
+
+    public EmployeeIdDictionary employeeIdDictionary() {
+        return employeeIdDictionary;
+    }
+
+    public StringDictionary locationDictionary() {
+        return locationDictionary;
+    }
+
+    public StringDictionary taxClassDictionary() {
+        return taxClassDictionary;
+    }
+
+    public StringDictionary statusDictionary() {
+        return statusDictionary;
+    }
+
+    /**
+     * Builder that appends employees row by row.
+     */
+    public static final class Builder implements EmployeeRowSink {
+        private int size;
+        private String[] fullNames = new String[1024];
+        private int[] employeeIds = new int[1024];
+        private int[] locations = new int[1024];
+        private int[] taxClasses = new int[1024];
+        private int[] statuses = new int[1024];
+        private int[] daysWorked = new int[1024];
+        private long[] daysWorkedNulls = new long[16];
+        private final EmployeeIdDictionary employeeIdDictionary;
+        private final StringDictionary locationDictionary = new StringDictionary();
+        private final StringDictionary taxClassDictionary = new StringDictionary();
+        private final StringDictionary statusDictionary = new StringDictionary();
+
+        private Builder(EmployeeIdDictionary employeeIdDictionary) {
+            this.employeeIdDictionary = employeeIdDictionary;
+        }
+
+        @Override
+        public Builder add(String fullName, String location, String employeeId, String taxClass,
+                           String status, boolean hasDaysWorked, int daysWorkedValue) {
+            ensureCapacity(size + 1);
+            fullNames[size] = fullName;
+            employeeIds[size] = employeeIdDictionary.intern(employeeId);
+            locations[size] = locationDictionary.intern(location);
+            taxClasses[size] = taxClassDictionary.intern(taxClass);
+            statuses[size] = statusDictionary.intern(status);
+            if (hasDaysWorked) {
+                daysWorked[size] = daysWorkedValue;
+            } else {
+                daysWorkedNulls[size >>> 6] |= 1L << size;
+            }
+            size++;
+            return this;
+        }
+
+        /**
+         * Appends all rows of another builder, keeping their order.
+         *
+         * @param other Builder to append
+         * @return This builder
+         */
+        public Builder addAll(Builder other) {
+            for (int row = 0; row < other.size; row++) {
+                boolean isNull = (other.daysWorkedNulls[row >>> 6] & (1L << row)) != 0;
+                add(other.fullNames[row],
+                    other.locationDictionary.valueOf(other.locations[row]),
+                    other.employeeIdDictionary.idOf(other.employeeIds[row]),
+                    other.taxClassDictionary.valueOf(other.taxClasses[row]),
+                    other.statusDictionary.valueOf(other.statuses[row]),
+                    !isNull, other.daysWorked[row]);
+            }
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public EmployeeTable build() {
+            return new EmployeeTable(this);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > fullNames.length) {
+                int newCapacity = Math.max(capacity, fullNames.length * 2);
+                fullNames = Arrays.copyOf(fullNames, newCapacity);
+                employeeIds = Arrays.copyOf(employeeIds, newCapacity);
+                locations = Arrays.copyOf(locations, newCapacity);
+                taxClasses = Arrays.copyOf(taxClasses, newCapacity);
+                statuses = Arrays.copyOf(statuses, newCapacity);
+                daysWorked = Arrays.copyOf(daysWorked, newCapacity);
+            }
+            if ((capacity + 63) >>> 6 > daysWorkedNulls.length) {
+                daysWorkedNulls = Arrays.copyOf(daysWorkedNulls, daysWorkedNulls.length * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.payroll.model;
+
+/**
+ * Local holiday model.
+ * Contains a holiday that only applies to one location.
+ */
+public record LocalHoliday(int year, int month, int day, String location) {
+    /** Earliest year a local holiday may have. */
+    public static final int MIN_YEAR = 1900;
+    /** Latest year a local holiday may have. */
+    public static final int MAX_YEAR = 2199;
+
+    /**
+     * Creates a LocalHoliday instance from the provided data.
+     *
+     * @throws IllegalArgumentException if the year is outside {@link #MIN_YEAR} to
+     *                                  {@link #MAX_YEAR}, typically a typo
+     */
+    public static LocalHoliday of(int year, int month, int day, String location) {
+        if (!isSupportedYear(year)) {
+            throw new IllegalArgumentException("Year out of range: " + year);
+        }
+        return new LocalHoliday(year, month, day, location);
+    }
+
+    /**
+     * Checks whether a year is in the range of local holidays.
+     *
+     * @param year Year
+     * @return true if the year is from {@link #MIN_YEAR} to {@link #MAX_YEAR}
+     */
+    public static boolean isSupportedYear(int year) {
+        return year >= MIN_YEAR && year <= MAX_YEAR;
+    }
+}
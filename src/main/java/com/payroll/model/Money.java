@@ -0,0 +1,137 @@
+package com.payroll.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic on amounts in cents.
+ *
+ * The methods work on raw {@code long} cents, so the calculation can add up pay without
+ * allocating. Every step that can produce a fraction of a cent takes an explicit
+ * {@link RoundingMode}. A result leaves the calculation as the nearest double to its
+ * cents, which {@code CsvFileWriter.writeAmount} prints as exactly those cents.
+ */
+public final class Money {
+    /** Rounding of the calculation unless configured otherwise; the one of "%.2f". */
+    public static final RoundingMode DEFAULT_ROUNDING = RoundingMode.HALF_UP;
+
+    // Amounts are rounded in doubles only while they are exact integers
+    private static final double MAX_EXACT = 0x1p52;
+
+    private Money() {
+    }
+
+    /**
+     * Converts an amount in major units to cents.
+     *
+     * @param amount   Amount in major units
+     * @param rounding Rounding of fractions of a cent
+     * @return Amount in cents
+     * @throws ArithmeticException If the amount is not finite or too large, or needs
+     *                             rounding with {@link RoundingMode#UNNECESSARY}
+     */
+    public static long toCents(double amount, RoundingMode rounding) {
+        if (!Double.isFinite(amount)) {
+            throw new ArithmeticException("Amount out of range: " + amount);
+        }
+        if (amount == Math.rint(amount) && Math.abs(amount) < MAX_EXACT / 100) {
+            return (long) amount * 100;
+        }
+        // Rounds the shortest decimal representation, as amount * 100 is rarely exact
+        return BigDecimal.valueOf(amount).movePointRight(2).setScale(0, rounding)
+            .longValueExact();
+    }
+
+    /**
+     * Gets an amount in cents in major units.
+     *
+     * @param cents Amount in cents
+     * @return Nearest double to the amount
+     */
+    public static double toDouble(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Multiplies an amount by a factor such as a days ratio or a tax factor, rounding the
+     * product once. An amount is returned as it is for the factor 1.
+     *
+     * @param cents    Amount in cents
+     * @param factor   Factor
+     * @param rounding Rounding of fractions of a cent
+     * @return Product in cents
+     * @throws ArithmeticException If the product is not finite or too large, or needs
+     *                             rounding with {@link RoundingMode#UNNECESSARY}
+     */
+    public static long multiply(long cents, double factor, RoundingMode rounding) {
+        if (factor == 1) {
+            return cents;
+        }
+        return round(cents * factor, rounding);
+    }
+
+    /**
+     * Multiplies an amount by a fraction in integer arithmetic, e.g. by 3/2 for the
+     * overtime coefficient 1.5.
+     *
+     * @param cents       Amount in cents
+     * @param numerator   Numerator of the fraction
+     * @param denominator Denominator of the fraction, positive
+     * @param rounding    Rounding of fractions of a cent
+     * @return Product in cents
+     * @throws ArithmeticException If the product overflows, or needs rounding with
+     *                             {@link RoundingMode#UNNECESSARY}
+     */
+    public static long multiply(long cents, long numerator, long denominator,
+                                RoundingMode rounding) {
+        if (denominator <= 0) {
+            throw new IllegalArgumentException("Denominator must be positive: " + denominator);
+        }
+        long product = Math.multiplyExact(cents, numerator);
+        long quotient = Math.floorDiv(product, denominator);
+        long remainder = Math.floorMod(product, denominator);
+        if (remainder == 0) {
+            return quotient;
+        }
+        // The exact result is quotient + remainder / denominator, with 0 < remainder / d < 1
+        int half = Long.compare(remainder, denominator - remainder);
+        return quotient + roundUp(quotient, half, product > 0, rounding);
+    }
+
+    private static long round(double value, RoundingMode rounding) {
+        if (!(Math.abs(value) < MAX_EXACT)) {
+            throw new ArithmeticException("Amount out of range: " + value);
+        }
+        double floor = Math.floor(value);
+        double fraction = value - floor;
+        long quotient = (long) floor;
+        if (fraction == 0) {
+            return quotient;
+        }
+        return quotient + roundUp(quotient, Double.compare(fraction, 0.5), value > 0, rounding);
+    }
+
+    /**
+     * Decides whether a value between quotient and quotient + 1 is rounded up.
+     *
+     * @param quotient Value rounded down
+     * @param half     Comparison of the fraction with one half
+     * @param positive Whether the value is positive
+     * @param rounding Rounding mode
+     * @return 1 to round up, 0 to round down
+     */
+    private static int roundUp(long quotient, int half, boolean positive,
+                               RoundingMode rounding) {
+        boolean up = switch (rounding) {
+            case FLOOR -> false;
+            case CEILING -> true;
+            case DOWN -> !positive;
+            case UP -> positive;
+            case HALF_UP -> half > 0 || half == 0 && positive;
+            case HALF_DOWN -> half > 0 || half == 0 && !positive;
+            case HALF_EVEN -> half > 0 || half == 0 && (quotient & 1) != 0;
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return up ? 1 : 0;
+    }
+}
@@ -0,0 +1,290 @@
+package com.payroll.model;
+
+import com.payroll.util.DirectStore;
+import com.payroll.util.EmployeeIdDictionary;
+import com.payroll.util.StringDictionary;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Employee rows kept outside the Java heap, for employee counts whose on-heap columns
+ * would lengthen GC pauses.
+ *
+ * Every row is a fixed-width record in a {@link DirectStore}; full names are UTF-8 bytes,
+ * after their int length, in a second store, the string arena, that the record points
+ * into. A name is decoded to a String when it is read, so the heap only holds the
+ * dictionaries: employee IDs, locations, tax classes and statuses. Holds the same values
+ * as {@link EmployeeTable}.
+ */
+public final class OffHeapEmployeeTable implements EmployeeRows {
+    private static final String INACTIVE = "INACTIVE";
+
+    // Record layout; the size divides every chunk size, so row r is at r * RECORD_SIZE
+    private static final int RECORD_SIZE = 32;
+    private static final int NAME_ADDRESS = 0;
+    private static final int EMPLOYEE_ID = 8;
+    private static final int LOCATION = 12;
+    private static final int DAYS_WORKED = 16;
+    private static final int TAX_CLASS = 20;
+    private static final int STATUS = 24;
+    private static final int FLAGS = 28;
+    private static final byte DAYS_WORKED_NULL = 1;
+    // Name address of a null name
+    private static final long NULL_NAME = -1;
+
+    private final int size;
+    private final DirectStore records;
+    private final DirectStore names;
+    private final EmployeeIdDictionary employeeIdDictionary;
+    private final StringDictionary locationDictionary;
+    private final StringDictionary taxClassDictionary;
+    private final StringDictionary statusDictionary;
+    private final boolean[] inactiveStatuses;
+
+    private OffHeapEmployeeTable(Builder builder) {
+        this.size = builder.size;
+        this.records = builder.records;
+        this.names = builder.names;
+        this.employeeIdDictionary = builder.employeeIdDictionary;
+        this.locationDictionary = builder.locationDictionary;
+        this.taxClassDictionary = builder.taxClassDictionary;
+        this.statusDictionary = builder.statusDictionary;
+        this.inactiveStatuses = new boolean[statusDictionary.size()];
+        for (int code = 0; code < inactiveStatuses.length; code++) {
+            inactiveStatuses[code] = INACTIVE.equalsIgnoreCase(statusDictionary.valueOf(code));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder(new EmployeeIdDictionary());
+    }
+
+    /**
+     * Creates a builder that registers employee IDs in a shared dictionary.
+     *
+     * @param employeeIdDictionary Dictionary for the employee IDs
+     * @return New builder
+     */
+    public static Builder builder(EmployeeIdDictionary employeeIdDictionary) {
+        return new Builder(employeeIdDictionary);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String fullName(int row) {
+        long name = records.getLong(address(row) + NAME_ADDRESS);
+        if (name == NULL_NAME) {
+            return null;
+        }
+        byte[] bytes = new byte[names.getInt(name)];
+        names.get(name + Integer.BYTES, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int employeeOrdinal(int row) {
+        return records.getInt(address(row) + EMPLOYEE_ID);
+    }
+
+    @Override
+    public String employeeId(int row) {
+        return employeeIdDictionary.idOf(employeeOrdinal(row));
+    }
+
+    @Override
+    public int locationCode(int row) {
+        return records.getInt(address(row) + LOCATION);
+    }
+
+    @Override
+    public String location(int row) {
+        return locationDictionary.valueOf(locationCode(row));
+    }
+
+    @Override
+    public int taxClassCode(int row) {
+        return records.getInt(address(row) + TAX_CLASS);
+    }
+
+    @Override
+    public String taxClass(int row) {
+        return taxClassDictionary.valueOf(taxClassCode(row));
+    }
+
+    @Override
+    public int statusCode(int row) {
+        return records.getInt(address(row) + STATUS);
+    }
+
+    @Override
+    public String status(int row) {
+        return statusDictionary.valueOf(statusCode(row));
+    }
+
+    @Override
+    public boolean isInactive(int row) {
+        int status = statusCode(row);
+        return status >= 0 && inactiveStatuses[status];
+    }
+
+    @Override
+    public boolean isDaysWorkedNull(int row) {
+        return (records.getByte(address(row) + FLAGS) & DAYS_WORKED_NULL) != 0;
+    }
+
+    @Override
+    public int daysWorked(int row) {
+        return records.getInt(address(row) + DAYS_WORKED);
+    }
+
+    @Override
+    public Integer daysWorkedOrNull(int row) {
+        return isDaysWorkedNull(row) ? null : daysWorked(row);
+    }
+
+    @Override
+    public EmployeeIdDictionary employeeIdDictionary() {
+        return employeeIdDictionary;
+    }
+
+    @Override
+    public StringDictionary locationDictionary() {
+        return locationDictionary;
+    }
+
+    @Override
+    public StringDictionary taxClassDictionary() {
+        return taxClassDictionary;
+    }
+
+    @Override
+    public StringDictionary statusDictionary() {
+        return statusDictionary;
+    }
+
+    /**
+     * Gets the memory the table holds outside the heap.
+     *
+     * @return Reserved bytes of the records and the names
+     */
+    public long offHeapBytes() {
+        return records.reservedBytes() + names.reservedBytes();
+    }
+
+    private static long address(int row) {
+        return (long) row * RECORD_SIZE;
+    }
+
+    /**
+     * Builder that appends employees row by row.
+     */
+    public static final class Builder implements EmployeeRowSink {
+        private int size;
+        private final DirectStore records = new DirectStore();
+        private final DirectStore names = new DirectStore();
+        private final EmployeeIdDictionary employeeIdDictionary;
+        private final StringDictionary locationDictionary = new StringDictionary();
+        private final StringDictionary taxClassDictionary = new StringDictionary();
+        private final StringDictionary statusDictionary = new StringDictionary();
+        private boolean built;
+
+        private Builder(EmployeeIdDictionary employeeIdDictionary) {
+            this.employeeIdDictionary = employeeIdDictionary;
+        }
+
+        @Override
+        public Builder add(String fullName, String location, String employeeId, String taxClass,
+                           String status, boolean hasDaysWorked, int daysWorkedValue) {
+            byte[] name = fullName == null ? null : fullName.getBytes(StandardCharsets.UTF_8);
+            return append(name, name == null ? -1 : name.length, location, employeeId,
+                taxClass, status, hasDaysWorked, daysWorkedValue);
+        }
+
+        /**
+         * Appends all rows of another builder, keeping their order.
+         *
+         * @param other Builder to append
+         * @return This builder
+         */
+        public Builder addAll(Builder other) {
+            byte[] name = new byte[64];
+            for (int row = 0; row < other.size; row++) {
+                long record = address(row);
+                long nameAddress = other.records.getLong(record + NAME_ADDRESS);
+                int length = -1;
+                if (nameAddress != NULL_NAME) {
+                    length = other.names.getInt(nameAddress);
+                    if (length > name.length) {
+                        name = new byte[Math.max(length, name.length * 2)];
+                    }
+                    other.names.get(nameAddress + Integer.BYTES, name, 0, length);
+                }
+                boolean isNull = (other.records.getByte(record + FLAGS) & DAYS_WORKED_NULL) != 0;
+                append(name, length,
+                    other.locationDictionary.valueOf(other.records.getInt(record + LOCATION)),
+                    other.employeeIdDictionary.idOf(other.records.getInt(record + EMPLOYEE_ID)),
+                    other.taxClassDictionary.valueOf(other.records.getInt(record + TAX_CLASS)),
+                    other.statusDictionary.valueOf(other.records.getInt(record + STATUS)),
+                    !isNull, other.records.getInt(record + DAYS_WORKED));
+            }
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Builds the table. The table takes over the memory of the builder, so the builder
+         * cannot be used afterwards.
+         *
+         * @return Table
+         */
+        public OffHeapEmployeeTable build() {
+            checkNotBuilt();
+            built = true;
+            return new OffHeapEmployeeTable(this);
+        }
+
+        /**
+         * Appends an employee whose name is already encoded.
+         *
+         * @param name       UTF-8 bytes of the name, ignored for a null name
+         * @param nameLength Number of bytes of the name, or -1 for a null name
+         */
+        private Builder append(byte[] name, int nameLength, String location, String employeeId,
+                               String taxClass, String status, boolean hasDaysWorked,
+                               int daysWorkedValue) {
+            checkNotBuilt();
+            long record = records.allocate(RECORD_SIZE);
+            if (nameLength < 0) {
+                records.putLong(record + NAME_ADDRESS, NULL_NAME);
+            } else {
+                long nameAddress = names.allocate(Integer.BYTES + nameLength);
+                names.putInt(nameAddress, nameLength);
+                names.put(nameAddress + Integer.BYTES, name, 0, nameLength);
+                records.putLong(record + NAME_ADDRESS, nameAddress);
+            }
+            records.putInt(record + EMPLOYEE_ID, employeeIdDictionary.intern(employeeId));
+            records.putInt(record + LOCATION, locationDictionary.intern(location));
+            records.putInt(record + TAX_CLASS, taxClassDictionary.intern(taxClass));
+            records.putInt(record + STATUS, statusDictionary.intern(status));
+            if (hasDaysWorked) {
+                records.putInt(record + DAYS_WORKED, daysWorkedValue);
+            } else {
+                records.putByte(record + FLAGS, DAYS_WORKED_NULL);
+            }
+            size++;
+            return this;
+        }
+
+        private void checkNotBuilt() {
+            if (built) {
+                throw new IllegalStateException("Table was already built");
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.payroll.model;
+
+import com.payroll.util.DirectStore;
+import com.payroll.util.EmployeeIdDictionary;
+
+/**
+ * Rates kept outside the Java heap, joined to the employee ordinals of an
+ * {@link EmployeeIdDictionary}. As with a map, the last rate of an employee wins; rates of
+ * employee IDs that are not in the dictionary are dropped.
+ *
+ * Every ordinal has a fixed-width record of the rate and the overtime rate; the slot after
+ * the last ordinal holds the rate without an employee ID. {@link #rate(int)} creates a
+ * short-lived {@link Rate} for the pay services, which take rates as objects.
+ */
+public final class OffHeapRateTable {
+    // Record layout; the size divides every chunk size, so ordinal o is at o * RECORD_SIZE
+    private static final int RECORD_SIZE = 16;
+    private static final int RATE = 0;
+    private static final int OVERTIME_RATE = 8;
+
+    private final EmployeeIdDictionary employeeIds;
+    // Slot of the rate without an employee ID
+    private final int missingId;
+    private final DirectStore records;
+    // Bit per slot, set if the slot has a rate
+    private final long[] present;
+
+    private OffHeapRateTable(Builder builder) {
+        this.employeeIds = builder.employeeIds;
+        this.missingId = builder.missingId;
+        this.records = builder.records;
+        this.present = builder.present;
+    }
+
+    /**
+     * Creates a builder for rates of the employees of a dictionary. The dictionary must not
+     * grow afterwards.
+     *
+     * @param employeeIds Dictionary of the employee IDs
+     * @return New builder
+     */
+    public static Builder builder(EmployeeIdDictionary employeeIds) {
+        return new Builder(employeeIds);
+    }
+
+    public EmployeeIdDictionary employeeIdDictionary() {
+        return employeeIds;
+    }
+
+    /**
+     * Checks whether an employee has a rate.
+     *
+     * @param ordinal Employee ordinal, or -1 for an employee without an ID
+     * @return true if there is a rate
+     */
+    public boolean hasRate(int ordinal) {
+        int slot = slot(ordinal);
+        return (present[slot >>> 6] & 1L << slot) != 0;
+    }
+
+    /**
+     * Gets the rate of an employee.
+     *
+     * @param ordinal Employee ordinal, or -1 for an employee without an ID
+     * @return Rate, or null if the employee has none
+     */
+    public Rate rate(int ordinal) {
+        if (!hasRate(ordinal)) {
+            return null;
+        }
+        long record = address(slot(ordinal));
+        return new Rate(ordinal < 0 ? null : employeeIds.idOf(ordinal),
+            records.getDouble(record + RATE), records.getDouble(record + OVERTIME_RATE));
+    }
+
+    /**
+     * Gets the memory the table holds outside the heap.
+     *
+     * @return Reserved bytes of the records
+     */
+    public long offHeapBytes() {
+        return records.reservedBytes();
+    }
+
+    private int slot(int ordinal) {
+        if (ordinal >= missingId) {
+            throw new IndexOutOfBoundsException("Ordinal " + ordinal + " out of range");
+        }
+        return ordinal < 0 ? missingId : ordinal;
+    }
+
+    private static long address(int slot) {
+        return (long) slot * RECORD_SIZE;
+    }
+
+    /**
+     * Builder that sets rates one by one.
+     */
+    public static final class Builder {
+        private final EmployeeIdDictionary employeeIds;
+        private final int missingId;
+        private final DirectStore records = new DirectStore();
+        private final long[] present;
+        private boolean built;
+
+        private Builder(EmployeeIdDictionary employeeIds) {
+            this.employeeIds = employeeIds;
+            this.missingId = employeeIds.size();
+            for (int slot = 0; slot <= missingId; slot++) {
+                records.allocate(RECORD_SIZE);
+            }
+            this.present = new long[(missingId >>> 6) + 1];
+        }
+
+        /**
+         * Sets the rate of an employee, replacing an earlier one.
+         *
+         * @param employeeId   Employee ID, may be null
+         * @param rate         Monthly rate
+         * @param overtimeRate Hourly overtime rate
+         * @return true if the rate was kept, false if the employee is unknown
+         */
+        public boolean add(String employeeId, double rate, double overtimeRate) {
+            if (built) {
+                throw new IllegalStateException("Table was already built");
+            }
+            int slot = employeeId == null ? missingId : employeeIds.ordinalOf(employeeId);
+            // IDs interned after the builder was created have no slot
+            if (slot < 0 || slot >= missingId && employeeId != null) {
+                return false;
+            }
+            long record = address(slot);
+            records.putDouble(record + RATE, rate);
+            records.putDouble(record + OVERTIME_RATE, overtimeRate);
+            present[slot >>> 6] |= 1L << slot;
+            return true;
+        }
+
+        /**
+         * Builds the table. The table takes over the memory of the builder, so the builder
+         * cannot be used afterwards.
+         *
+         * @return Table
+         */
+        public OffHeapRateTable build() {
+            if (built) {
+                throw new IllegalStateException("Table was already built");
+            }
+            built = true;
+            return new OffHeapRateTable(this);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.payroll.server;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Request count, error count and latency percentiles of one endpoint. The percentiles are
+ * taken over the most recent requests.
+ */
+final class LatencyStats {
+    static final int DEFAULT_WINDOW = 4096;
+
+    private final String path;
+    private final long[] latencies;
+    private long requests;
+    private long errors;
+    private long maxNanos;
+
+    LatencyStats(String path, int window) {
+        this.path = path;
+        this.latencies = new long[window];
+    }
+
+    synchronized void record(long nanos, boolean failed) {
+        latencies[(int) (requests % latencies.length)] = nanos;
+        requests++;
+        if (failed) {
+            errors++;
+        }
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * Appends the statistics as a JSON object; latencies are in milliseconds.
+     */
+    void appendJson(StringBuilder json) {
+        long[] window;
+        long count;
+        long failed;
+        long max;
+        synchronized (this) {
+            count = requests;
+            failed = errors;
+            max = maxNanos;
+            window = Arrays.copyOf(latencies, (int) Math.min(count, latencies.length));
+        }
+        Arrays.sort(window);
+        json.append("{\"path\": \"").append(path).append('"');
+        json.append(", \"requests\": ").append(count);
+        json.append(", \"errors\": ").append(failed);
+        json.append(", \"p50Millis\": ").append(millis(percentile(window, 50)));
+        json.append(", \"p99Millis\": ").append(millis(percentile(window, 99)));
+        json.append(", \"maxMillis\": ").append(millis(max));
+        json.append('}');
+    }
+
+    /**
+     * Gets a percentile of sorted latencies by the nearest-rank method, 0 if there are none.
+     */
+    private static long percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
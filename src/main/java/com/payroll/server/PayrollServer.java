@@ -0,0 +1,431 @@
+package com.payroll.server;
+
+import com.payroll.exception.DataLoadException;
+import com.payroll.exception.ValidationException;
+import com.payroll.model.Employee;
+import com.payroll.model.Payment;
+import com.payroll.model.PaymentResult;
+import com.payroll.service.FileService;
+import com.payroll.service.PayrollCalculationService;
+import com.payroll.service.ValidationService;
+import com.payroll.service.ValidationService.EmployeeValidation;
+import com.payroll.util.CsvFileWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long-running payroll calculation behind a local HTTP API.
+ *
+ * The reference data of every data root (rates, payments, overtimes, tax classes, the
+ * calendar and local holidays) is loaded, validated and prepared for calculation on the
+ * first request for that root and kept until one of its files changes, so a request only
+ * reads and calculates employees. At most {@link #MAX_DATA_ROOTS} data roots are kept; the
+ * least recently used one is dropped for another. Endpoints:
+ * <ul>
+ *   <li>{@code POST /calculate?root=<data root>&format=csv|json} calculates the employees of
+ *   the data root, or the employees in the request body if it has one, in the format of
+ *   the employee file. The results are returned, not saved.</li>
+ *   <li>{@code POST /reload?root=<data root>} loads the reference data again.</li>
+ *   <li>{@code GET /stats} returns request counts and p50/p99 latencies as JSON.</li>
+ * </ul>
+ */
+public class PayrollServer {
+    private static final Logger logger = LoggerFactory.getLogger(PayrollServer.class);
+    public static final int DEFAULT_PORT = 8080;
+    // Data roots whose reference data is kept at the same time
+    public static final int MAX_DATA_ROOTS = 16;
+    private static final int RESPONSE_BUFFER_SIZE = 64 * 1024;
+
+    private final String defaultDataRoot;
+    private final Function<String, FileService> fileServices;
+    private final Function<FileService, ValidationService> validationServices;
+    private final PayrollCalculationService calculationService;
+    private final Map<String, ReferenceData> referenceData = new ConcurrentHashMap<>();
+    // Not a monitor: requests run on virtual threads, which a monitor would pin while the
+    // reference files are loaded on further virtual threads
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final LatencyStats calculateStats =
+        new LatencyStats("/calculate", LatencyStats.DEFAULT_WINDOW);
+    private final LatencyStats reloadStats =
+        new LatencyStats("/reload", LatencyStats.DEFAULT_WINDOW);
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final long startNanos = System.nanoTime();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Constructs a PayrollServer.
+     *
+     * @param defaultDataRoot    Data root of requests without a root
+     * @param fileServices       File access service for a data root
+     * @param validationServices Data validation service for the file service of a data root
+     * @param calculationService Calculation service
+     */
+    public PayrollServer(
+        String defaultDataRoot,
+        Function<String, FileService> fileServices,
+        Function<FileService, ValidationService> validationServices,
+        PayrollCalculationService calculationService) {
+        this.defaultDataRoot = defaultDataRoot;
+        this.fileServices = fileServices;
+        this.validationServices = validationServices;
+        this.calculationService = calculationService;
+    }
+
+    /**
+     * Loads the reference data of the default data root and starts serving requests.
+     *
+     * @param address Address to listen on
+     * @throws IOException If the server cannot be started
+     */
+    public synchronized void start(InetSocketAddress address) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Server is already started");
+        }
+        referenceData(defaultDataRoot);
+
+        server = HttpServer.create(address, 0);
+        server.createContext("/calculate",
+            exchange -> handle(exchange, "POST", calculateStats, this::calculate));
+        server.createContext("/reload",
+            exchange -> handle(exchange, "POST", reloadStats, this::reload));
+        server.createContext("/stats", exchange -> handle(exchange, "GET", null, this::stats));
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Payroll server listening on {}", server.getAddress());
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return Port
+     */
+    public synchronized int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, letting running requests finish for up to a second.
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(1);
+        executor.close();
+        server = null;
+        logger.info("Payroll server stopped");
+        stopped.countDown();
+    }
+
+    /**
+     * Waits until the server is stopped.
+     *
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    private void calculate(HttpExchange exchange, Map<String, String> query)
+        throws IOException {
+        long start = System.nanoTime();
+        String root = query.getOrDefault("root", defaultDataRoot);
+        String format = query.getOrDefault("format", "csv");
+        if (!format.equals("csv") && !format.equals("json")) {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+
+        ReferenceData data = referenceData(root);
+        List<Employee> employees = readEmployees(exchange, data.fileService());
+        EmployeeValidation validation = data.validationService()
+            .startEmployeeValidation(data.rates(), data.taxClasses());
+        validation.validate(employees);
+        validation.finish(data.overtimes());
+
+        List<PaymentResult> results = new ArrayList<>();
+        for (Payment payment : data.payments()) {
+            data.calculation().calculate(employees, payment, results);
+        }
+        logger.info("Calculated {} results for {} employees of {} in {} ms", results.size(),
+            employees.size(), root, (System.nanoTime() - start) / 1_000_000);
+
+        exchange.getResponseHeaders().set("Content-Type", format.equals("csv")
+            ? "text/csv; charset=utf-8" : "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        try (CsvFileWriter writer = CsvFileWriter.of(
+            Channels.newChannel(exchange.getResponseBody()), RESPONSE_BUFFER_SIZE)) {
+            if (format.equals("csv")) {
+                writeCsv(writer, results);
+            } else {
+                writeJson(writer, results);
+            }
+        }
+    }
+
+    private void reload(HttpExchange exchange, Map<String, String> query) throws IOException {
+        String root = query.getOrDefault("root", defaultDataRoot);
+        referenceData.remove(key(root));
+        referenceData(root);
+        send(exchange, 200, "Reloaded reference data of " + root);
+    }
+
+    private void stats(HttpExchange exchange, Map<String, String> query) throws IOException {
+        StringBuilder json = new StringBuilder(512);
+        json.append("{\n  \"uptimeMillis\": ").append((System.nanoTime() - startNanos) / 1_000_000);
+        json.append(",\n  \"dataRoots\": ").append(referenceData.size());
+        json.append(",\n  \"endpoints\": [\n    ");
+        calculateStats.appendJson(json);
+        json.append(",\n    ");
+        reloadStats.appendJson(json);
+        json.append("\n  ]\n}\n");
+
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Gets the reference data of a data root, loading it if it is not loaded yet or one of
+     * its files changed.
+     */
+    private ReferenceData referenceData(String root) {
+        String key = key(root);
+        ReferenceData data = referenceData.get(key);
+        if (data != null && data.isCurrent()) {
+            data.touch();
+            return data;
+        }
+        loadLock.lock();
+        try {
+            data = referenceData.get(key);
+            if (data == null || !data.isCurrent()) {
+                logger.info("Loading reference data of {}", root);
+                FileService fileService = fileServices.apply(root);
+                data = ReferenceData.load(root, fileService,
+                    validationServices.apply(fileService), calculationService);
+                if (!referenceData.containsKey(key) && referenceData.size() >= MAX_DATA_ROOTS) {
+                    evictLeastRecentlyUsed();
+                }
+                referenceData.put(key, data);
+            }
+            data.touch();
+            return data;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        String oldest = null;
+        long oldestNanos = 0;
+        for (Map.Entry<String, ReferenceData> entry : referenceData.entrySet()) {
+            long lastUsed = entry.getValue().lastUsedNanos();
+            if (oldest == null || lastUsed - oldestNanos < 0) {
+                oldest = entry.getKey();
+                oldestNanos = lastUsed;
+            }
+        }
+        if (oldest != null) {
+            referenceData.remove(oldest);
+            logger.info("Dropped reference data of {}, more than {} data roots are in use",
+                oldest, MAX_DATA_ROOTS);
+        }
+    }
+
+    /**
+     * Reads the employees in the request body, or the employee file of the data root if
+     * the body is empty.
+     */
+    private static List<Employee> readEmployees(HttpExchange exchange, FileService fileService)
+        throws IOException {
+        Path file = Files.createTempFile("payroll-employees", ".csv");
+        try {
+            try (InputStream body = exchange.getRequestBody()) {
+                Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (Files.size(file) == 0) {
+                return fileService.loadEmployees();
+            }
+            return fileService.loadEmployees(file.toString());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void writeCsv(CsvFileWriter writer, List<PaymentResult> results)
+        throws IOException {
+        writer.write("EMPLOYEE_ID;PAY;DATE;SETTLEMENT_ACCOUNT;CURRENCY");
+        writer.newLine();
+        for (PaymentResult result : results) {
+            writer.write(result.employeeId());
+            writer.write(';');
+            writer.writeAmount(result.pay());
+            writer.write(';');
+            writer.write(result.date());
+            writer.write(';');
+            writer.write(result.settlementAccount());
+            writer.write(';');
+            writer.write(result.currency());
+            writer.newLine();
+        }
+    }
+
+    private static void writeJson(CsvFileWriter writer, List<PaymentResult> results)
+        throws IOException {
+        StringBuilder row = new StringBuilder(160);
+        writer.write('[');
+        for (int i = 0; i < results.size(); i++) {
+            PaymentResult result = results.get(i);
+            row.setLength(0);
+            row.append(i == 0 ? "\n  " : ",\n  ").append("{\"employeeId\": ");
+            appendString(row, result.employeeId());
+            row.append(", \"pay\": ");
+            writer.write(row.toString());
+            writer.writeAmount(result.pay());
+
+            row.setLength(0);
+            row.append(", \"date\": ");
+            appendString(row, result.date());
+            row.append(", \"settlementAccount\": ");
+            appendString(row, result.settlementAccount());
+            row.append(", \"currency\": ");
+            appendString(row, result.currency());
+            row.append('}');
+            writer.write(row.toString());
+        }
+        writer.write("\n]\n");
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange, Map<String, String> query) throws IOException;
+    }
+
+    /**
+     * Runs a handler, answering failures with an error status and recording the latency.
+     */
+    private static void handle(HttpExchange exchange, String method, LatencyStats stats,
+                               Handler handler) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            if (!exchange.getRequestMethod().equals(method)) {
+                send(exchange, 405, "Use " + method + " for " + exchange.getRequestURI().getPath());
+                return;
+            }
+            handler.handle(exchange, parseQuery(exchange.getRequestURI()));
+            failed = false;
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (ValidationException e) {
+            logger.error("Validation error: {}", e.getMessage());
+            sendError(exchange, 422, "Validation error: " + e.getMessage());
+        } catch (DataLoadException e) {
+            logger.error("Error loading data: {}", e.getMessage(), e);
+            sendError(exchange, 500, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error: {}", e.getMessage(), e);
+            sendError(exchange, 500, "Unexpected error: " + e.getMessage());
+        } finally {
+            // Closed only now, so the failures above can still be answered
+            exchange.close();
+            if (stats != null) {
+                stats.record(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) {
+        try {
+            send(exchange, status, message);
+        } catch (IOException e) {
+            // The response was already started or the client is gone
+            logger.debug("Cannot send error response: {}", e.getMessage());
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String message)
+        throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parseQuery(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return query;
+        }
+        for (String parameter : raw.split("&")) {
+            int separator = parameter.indexOf('=');
+            String name = separator < 0 ? parameter : parameter.substring(0, separator);
+            String value = separator < 0 ? "" : parameter.substring(separator + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static String key(String root) {
+        return Paths.get(root).toAbsolutePath().normalize().toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,174 @@
+package com.payroll.server;
+
+import com.payroll.exception.ValidationException;
+import com.payroll.model.Calendar;
+import com.payroll.model.LocalHoliday;
+import com.payroll.model.Overtime;
+import com.payroll.model.Payment;
+import com.payroll.model.Rate;
+import com.payroll.model.TaxClass;
+import com.payroll.service.FileService;
+import com.payroll.service.PayrollCalculationService;
+import com.payroll.service.PayrollCalculationService.EmployeeBatchCalculation;
+import com.payroll.service.ValidationService;
+import com.payroll.service.impl.FileServiceImpl;
+import com.payroll.util.ConcurrentLoader;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Everything of a data root except the employees, loaded, validated and prepared for
+ * calculation once and kept for the requests on that root.
+ *
+ * The reference files are stamped with their size and modification time when they are
+ * loaded; {@link #isCurrent()} tells whether any of them changed since. The file and
+ * validation services of the data root are kept with it, so the validation of a request
+ * completes the payment report of its own root and saves the report there.
+ */
+final class ReferenceData {
+    private static final String[] FILES = {
+        FileServiceImpl.RATE_DATA_PATH,
+        FileServiceImpl.PAYMENT_DATA_PATH,
+        FileServiceImpl.OVERTIME_DATA_PATH,
+        FileServiceImpl.TAX_CLASS_DATA_PATH,
+        FileServiceImpl.CALENDAR_DATA_PATH,
+        FileServiceImpl.HOLIDAYS_DATA_PATH
+    };
+
+    private final String dataRoot;
+    private final long[] stamps;
+    private final FileService fileService;
+    private final ValidationService validationService;
+    private final List<Rate> rates;
+    private final List<Payment> payments;
+    private final List<Overtime> overtimes;
+    private final List<TaxClass> taxClasses;
+    private final EmployeeBatchCalculation calculation;
+    private volatile long lastUsedNanos = System.nanoTime();
+
+    private ReferenceData(String dataRoot, long[] stamps, FileService fileService,
+                          ValidationService validationService, List<Rate> rates,
+                          List<Payment> payments, List<Overtime> overtimes,
+                          List<TaxClass> taxClasses, EmployeeBatchCalculation calculation) {
+        this.dataRoot = dataRoot;
+        this.stamps = stamps;
+        this.fileService = fileService;
+        this.validationService = validationService;
+        this.rates = rates;
+        this.payments = payments;
+        this.overtimes = overtimes;
+        this.taxClasses = taxClasses;
+        this.calculation = calculation;
+    }
+
+    /**
+     * Loads, validates and prepares the reference data of a data root.
+     *
+     * @param dataRoot           Data root
+     * @param fileService        File access service of the data root
+     * @param validationService  Data validation service of the data root
+     * @param calculationService Calculation service
+     * @return Reference data
+     * @throws ValidationException If the reference data is invalid
+     */
+    static ReferenceData load(String dataRoot, FileService fileService,
+                              ValidationService validationService,
+                              PayrollCalculationService calculationService)
+        throws ValidationException {
+        // Stamp first, so a file changed while loading is loaded again by the next request
+        long[] stamps = stamp(dataRoot);
+        List<Rate> rates;
+        List<Payment> payments;
+        List<Overtime> overtimes;
+        List<TaxClass> taxClasses;
+        List<Calendar> calendar;
+        List<LocalHoliday> localHolidays;
+        try (ConcurrentLoader loader = new ConcurrentLoader()) {
+            Supplier<List<Rate>> rateLoad = loader.fork("rates", fileService::loadRates);
+            Supplier<List<Payment>> paymentLoad =
+                loader.fork("payments", fileService::loadPayments);
+            Supplier<List<Overtime>> overtimeLoad =
+                loader.fork("overtimes", fileService::loadOvertimes);
+            Supplier<List<TaxClass>> taxClassLoad =
+                loader.fork("tax classes", fileService::loadTaxClasses);
+            Supplier<List<Calendar>> calendarLoad =
+                loader.fork("calendar", fileService::loadCalendar);
+            Supplier<List<LocalHoliday>> localHolidayLoad =
+                loader.fork("local holidays", fileService::loadLocalHolidays);
+            loader.join();
+
+            rates = rateLoad.get();
+            payments = paymentLoad.get();
+            overtimes = overtimeLoad.get();
+            taxClasses = taxClassLoad.get();
+            calendar = calendarLoad.get();
+            localHolidays = localHolidayLoad.get();
+        }
+
+        validationService.validateReferenceData(rates, payments, taxClasses, calendar);
+        EmployeeBatchCalculation calculation = calculationService.prepareBatchCalculation(
+            rates, overtimes, taxClasses, calendar, localHolidays);
+        return new ReferenceData(dataRoot, stamps, fileService, validationService, rates,
+            payments, overtimes, taxClasses, calculation);
+    }
+
+    /**
+     * Checks whether the reference files are unchanged since they were loaded.
+     *
+     * @return True if no reference file changed
+     */
+    boolean isCurrent() {
+        return Arrays.equals(stamps, stamp(dataRoot));
+    }
+
+    /**
+     * Records that a request uses the reference data.
+     */
+    void touch() {
+        lastUsedNanos = System.nanoTime();
+    }
+
+    long lastUsedNanos() {
+        return lastUsedNanos;
+    }
+
+    FileService fileService() {
+        return fileService;
+    }
+
+    ValidationService validationService() {
+        return validationService;
+    }
+
+    List<Rate> rates() {
+        return rates;
+    }
+
+    List<Payment> payments() {
+        return payments;
+    }
+
+    List<Overtime> overtimes() {
+        return overtimes;
+    }
+
+    List<TaxClass> taxClasses() {
+        return taxClasses;
+    }
+
+    EmployeeBatchCalculation calculation() {
+        return calculation;
+    }
+
+    private static long[] stamp(String dataRoot) {
+        long[] stamps = new long[FILES.length * 2];
+        for (int i = 0; i < FILES.length; i++) {
+            File file = new File(dataRoot, FILES[i]);
+            stamps[2 * i] = file.length();
+            stamps[2 * i + 1] = file.lastModified();
+        }
+        return stamps;
+    }
+}
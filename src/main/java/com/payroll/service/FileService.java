@@ -1,14 +1,23 @@
 package com.payroll.service;
 
 import com.payroll.exception.DataLoadException;
+import com.payroll.incremental.IncrementalState;
+import com.payroll.metrics.RunMetrics;
 import com.payroll.model.Calendar;
 import com.payroll.model.Employee;
+import com.payroll.model.EmployeeTable;
+import com.payroll.model.LocalHoliday;
+import com.payroll.model.OffHeapEmployeeTable;
+import com.payroll.model.OffHeapRateTable;
 import com.payroll.model.Overtime;
 import com.payroll.model.Payment;
 import com.payroll.model.PaymentResult;
 import com.payroll.model.Rate;
 import com.payroll.model.TaxClass;
+import com.payroll.util.EmployeeIdDictionary;
+import com.payroll.validation.ValidationReport;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface for working with data files.
@@ -24,6 +33,46 @@ public interface FileService {
      */
     List<Employee> loadEmployees() throws DataLoadException;
 
+    /**
+     * Loads employees from a file in the format of the employee file that is not under
+     * the data root, without the parse cache.
+     *
+     * @param path Path to the file
+     * @return List of employees
+     * @throws DataLoadException if loading fails
+     */
+    List<Employee> loadEmployees(String path) throws DataLoadException;
+
+    /**
+     * Loads employee data from a file into a column-oriented table.
+     * Accepts and skips the same rows as {@link #loadEmployees()}.
+     *
+     * @return Table of employees
+     * @throws DataLoadException If an error occurs while loading data
+     */
+    EmployeeTable loadEmployeeTable() throws DataLoadException;
+
+    /**
+     * Loads employee data from a file into a table outside the Java heap.
+     * Accepts and skips the same rows as {@link #loadEmployees()}.
+     *
+     * @return Off-heap table of employees
+     * @throws DataLoadException If an error occurs while loading data
+     */
+    OffHeapEmployeeTable loadOffHeapEmployeeTable() throws DataLoadException;
+
+    /**
+     * Reads employee data from a file and hands it over in batches, so that only one batch
+     * has to be in memory at a time. Accepts and skips the same rows as
+     * {@link #loadEmployees()}.
+     *
+     * @param batchSize Maximum number of employees per batch
+     * @param batches   Consumer of the batches, called in file order
+     * @throws DataLoadException If an error occurs while loading data
+     */
+    void streamEmployees(int batchSize, Consumer<List<Employee>> batches)
+        throws DataLoadException;
+
     /**
      * Loads rate data from a file.
      *
@@ -32,6 +81,17 @@ public interface FileService {
      */
     List<Rate> loadRates() throws DataLoadException;
 
+    /**
+     * Loads rate data from a file into a table outside the Java heap, joined to the
+     * employee ordinals of a dictionary. Rates of unknown employee IDs are dropped.
+     *
+     * @param employeeIds Dictionary of the loaded employees, which must not grow afterwards
+     * @return Off-heap table of rates
+     * @throws DataLoadException If an error occurs while loading data
+     */
+    OffHeapRateTable loadOffHeapRates(EmployeeIdDictionary employeeIds)
+        throws DataLoadException;
+
     /**
      * Loads calendar data from a file.
      *
@@ -71,6 +131,14 @@ public interface FileService {
      */
     List<Calendar> loadCalendar() throws DataLoadException;
 
+    /**
+     * Loads the holidays that only apply to some locations.
+     *
+     * @return List of local holidays
+     * @throws DataLoadException If an error occurs while loading data
+     */
+    List<LocalHoliday> loadLocalHolidays() throws DataLoadException;
+
 
     /**
      * Loads calculation results from a file.
@@ -86,4 +154,44 @@ public interface FileService {
      * @throws DataLoadException If an error occurs while saving data
      */
     void saveResults(List<PaymentResult> results) throws DataLoadException;
+
+    /**
+     * Opens the result file for writing results batch by batch.
+     * Produces the same file as {@link #saveResults(List)} with all batches.
+     *
+     * @return Sink for the results
+     * @throws DataLoadException If the file cannot be created
+     */
+    ResultSink openResultSink() throws DataLoadException;
+
+    /**
+     * Saves a validation report as JSON next to the calculation results.
+     *
+     * @param report Validation report
+     * @throws DataLoadException If an error occurs while saving data
+     */
+    void saveValidationReport(ValidationReport report) throws DataLoadException;
+
+    /**
+     * Saves the metrics of a run as JSON next to the calculation results.
+     *
+     * @param metrics Run metrics
+     * @throws DataLoadException If an error occurs while saving data
+     */
+    void saveRunMetrics(RunMetrics metrics) throws DataLoadException;
+
+    /**
+     * Loads the state of the last incremental run.
+     *
+     * @return State, or null if there is none or it cannot be read
+     */
+    IncrementalState loadIncrementalState();
+
+    /**
+     * Saves the state of an incremental run next to the calculation results.
+     *
+     * @param state State of the run
+     * @throws DataLoadException If an error occurs while saving data
+     */
+    void saveIncrementalState(IncrementalState state) throws DataLoadException;
 }
@@ -0,0 +1,119 @@
+package com.payroll.service;
+
+import com.payroll.api.CalculationService;
+import com.payroll.index.PreparedPayrollContext;
+import com.payroll.model.Calendar;
+import com.payroll.model.Employee;
+import com.payroll.model.LocalHoliday;
+import com.payroll.model.Overtime;
+import com.payroll.model.Payment;
+import com.payroll.model.PaymentResult;
+import com.payroll.model.Rate;
+import com.payroll.model.TaxClass;
+import java.util.List;
+
+/**
+ * Calculation service that also takes the input data not covered by
+ * {@link CalculationService}, which has to stay unchanged for external applications.
+ */
+public interface PayrollCalculationService extends CalculationService {
+
+    /**
+     * Calculates payroll for a list of employees, taking local holidays into account.
+     *
+     * @param employees     List of employees
+     * @param rates         Payment rates
+     * @param payments      Payment data
+     * @param overtimes     Overtime hours
+     * @param taxClasses    Tax classes
+     * @param calendar      Calendar data
+     * @param localHolidays Holidays that only apply to some locations
+     * @return List of calculation results
+     */
+    List<PaymentResult> calculatePayroll(
+        List<Employee> employees,
+        List<Rate> rates,
+        List<Payment> payments,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar,
+        List<LocalHoliday> localHolidays
+    );
+
+    /**
+     * Builds the indexes of a payroll run once, for validation and calculation.
+     * Overtimes are aggregated with the overtime engine of this service.
+     *
+     * @param employees     List of employees
+     * @param rates         Payment rates
+     * @param payments      Payment data
+     * @param overtimes     Overtime hours
+     * @param taxClasses    Tax classes
+     * @param calendar      Calendar data
+     * @param localHolidays Holidays that only apply to some locations
+     * @return Prepared input data and indexes
+     */
+    PreparedPayrollContext prepareContext(
+        List<Employee> employees,
+        List<Rate> rates,
+        List<Payment> payments,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar,
+        List<LocalHoliday> localHolidays
+    );
+
+    /**
+     * Calculates payroll with the indexes of a prepared context. Gives the results of
+     * {@link #calculatePayroll(List, List, List, List, List, List, List)} for its data.
+     *
+     * @param context Prepared input data and indexes
+     * @return List of calculation results
+     */
+    List<PaymentResult> calculatePayroll(PreparedPayrollContext context);
+
+    /**
+     * Prepares the calculation of employees that are not all in memory at once.
+     * The lookup structures for the given data are built once and used for every batch.
+     *
+     * @param rates         Payment rates
+     * @param overtimes     Overtime hours
+     * @param taxClasses    Tax classes
+     * @param calendar      Calendar data
+     * @param localHolidays Holidays that only apply to some locations
+     * @return Calculation of employee batches
+     */
+    EmployeeBatchCalculation prepareBatchCalculation(
+        List<Rate> rates,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar,
+        List<LocalHoliday> localHolidays
+    );
+
+    /**
+     * Describes the arithmetic of the calculation: how money is represented and rounded.
+     * Results of one calculation are only valid for another with the same arithmetic.
+     *
+     * @return Description of the arithmetic, e.g. "cents HALF_UP"
+     */
+    String arithmetic();
+
+    /**
+     * Calculation of employees batch by batch.
+     */
+    @FunctionalInterface
+    interface EmployeeBatchCalculation {
+
+        /**
+         * Calculates a batch of employees for one payment. Calculating all batches of a
+         * payment in order gives the results of
+         * {@link #calculatePayroll(List, List, List, List, List, List, List)} for it.
+         *
+         * @param employees Batch of employees
+         * @param payment   Payment
+         * @param results   List the results are appended to, in employee order
+         */
+        void calculate(List<Employee> employees, Payment payment, List<PaymentResult> results);
+    }
+}
@@ -0,0 +1,27 @@
+package com.payroll.service;
+
+import com.payroll.exception.DataLoadException;
+import com.payroll.model.PaymentResult;
+import java.util.List;
+
+/**
+ * Destination that calculation results are written to batch by batch.
+ */
+public interface ResultSink extends AutoCloseable {
+
+    /**
+     * Writes a batch of results after the ones written before.
+     *
+     * @param results Calculation results
+     * @throws DataLoadException If an error occurs while writing
+     */
+    void write(List<PaymentResult> results) throws DataLoadException;
+
+    /**
+     * Flushes and closes the sink.
+     *
+     * @throws DataLoadException If an error occurs while writing
+     */
+    @Override
+    void close() throws DataLoadException;
+}
@@ -1,6 +1,7 @@
 package com.payroll.service;
 
 import com.payroll.exception.ValidationException;
+import com.payroll.index.PreparedPayrollContext;
 import com.payroll.model.Calendar;
 import com.payroll.model.Employee;
 import com.payroll.model.Overtime;
@@ -34,4 +35,61 @@ public interface ValidationService {
         List<Calendar> calendar
 
     ) throws ValidationException;
+
+    /**
+     * Validates the correctness of all data, using the indexes of a prepared context
+     * instead of building them.
+     *
+     * @param context Prepared input data and indexes
+     * @throws ValidationException If invalid data is found
+     */
+    void validateData(PreparedPayrollContext context) throws ValidationException;
+
+    /**
+     * Validates all data except employees and overtimes, which are validated with
+     * {@link #startEmployeeValidation(List, List)} when employees are read in batches.
+     *
+     * @param rates      Payment rates
+     * @param payments   Payment data
+     * @param taxClasses Tax classes
+     * @param calendar   Calendar data
+     * @throws ValidationException If invalid data is found
+     */
+    void validateReferenceData(
+        List<Rate> rates,
+        List<Payment> payments,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar
+    ) throws ValidationException;
+
+    /**
+     * Starts validating employees that are read in batches.
+     *
+     * @param rates      Payment rates
+     * @param taxClasses Tax classes
+     * @return Validation that takes the employee batches
+     */
+    EmployeeValidation startEmployeeValidation(List<Rate> rates, List<TaxClass> taxClasses);
+
+    /**
+     * Validation of employees batch by batch.
+     */
+    interface EmployeeValidation {
+
+        /**
+         * Validates a batch of employees.
+         *
+         * @param employees Batch of employees
+         */
+        void validate(List<Employee> employees);
+
+        /**
+         * Completes the validation after the last batch and validates the overtimes against
+         * all employees.
+         *
+         * @param overtimes Overtime hours
+         * @throws ValidationException If there were no employees
+         */
+        void finish(List<Overtime> overtimes) throws ValidationException;
+    }
 }
@@ -2,10 +2,13 @@ package com.payroll.service.impl;
 
 import com.payroll.model.Calendar;
 import com.payroll.model.Employee;
+import com.payroll.model.Money;
 import com.payroll.model.Payment;
 import com.payroll.model.Rate;
 import com.payroll.model.TaxClass;
 import com.payroll.api.BasePayService;
+import com.payroll.kernel.PayKernel;
+import java.math.RoundingMode;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,15 +19,80 @@ public class BasePayServiceIml implements BasePayService {
 
     public double calculateBasePay(Employee employee, Rate rate, Payment payment,
                                    TaxClass taxClass, List<Calendar> calendar) {
-        double workDaysPayFactor = getDaysRatio(employee.getDaysWorked(), calendar, payment);
+        return calculateBasePay(employee.getEmployeeId(), employee.getDaysWorked(), rate, payment,
+            taxClass, calendar);
+    }
+
+    /**
+     * Calculates the base pay from the days worked instead of a full Employee, for callers
+     * that keep employees in columnar form.
+     *
+     * @param employeeId - ID of the employee, used for logging
+     * @param daysWorked - Days worked, or null for the full month
+     * @param rate       - The rate applicable to the employee
+     * @param payment    - Payment details containing month and year
+     * @param taxClass   - The tax class applicable to the employee
+     * @param calendar   - List of calendar entries for the month
+     * @return - Calculated base pay
+     */
+    public double calculateBasePay(String employeeId, Integer daysWorked, Rate rate,
+                                   Payment payment, TaxClass taxClass, List<Calendar> calendar) {
+        double workDaysPayFactor = getDaysRatio(daysWorked, calendar, payment);
         double taxFactor = getTaxFactor(taxClass);
 
-        logger.debug("Days ratio for employee {}: {}", employee.getEmployeeId(), workDaysPayFactor);
-        logger.debug("Tax factor for employee {}: {}", employee.getEmployeeId(), taxFactor);
+        if (logger.isDebugEnabled()) {
+            // Checked first, as the factors would be boxed for every employee
+            logger.debug("Days ratio for employee {}: {}", employeeId, workDaysPayFactor);
+            logger.debug("Tax factor for employee {}: {}", employeeId, taxFactor);
+        }
 
         return workDaysPayFactor * rate.rate() * taxFactor;
     }
 
+    /**
+     * Calculates the base pay in cents for the fixed-point calculation. The days ratio and
+     * the tax factor are multiplied first, and the product with the rate is rounded once.
+     *
+     * @param employeeId - ID of the employee, used for logging
+     * @param daysWorked - Days worked, or null for the full month
+     * @param rateCents  - Monthly rate of the employee in cents
+     * @param payment    - Payment details containing month and year
+     * @param taxClass   - The tax class applicable to the employee
+     * @param calendar   - List of calendar entries for the month
+     * @param rounding   - Rounding of fractions of a cent
+     * @return - Calculated base pay in cents
+     * @throws ArithmeticException - If the base pay does not fit in a long
+     */
+    public long calculateBasePayCents(String employeeId, Integer daysWorked, long rateCents,
+                                      Payment payment, TaxClass taxClass,
+                                      List<Calendar> calendar, RoundingMode rounding) {
+        double workDaysPayFactor = getDaysRatio(daysWorked, calendar, payment);
+        double taxFactor = getTaxFactor(taxClass);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Days ratio for employee {}: {}", employeeId, workDaysPayFactor);
+            logger.debug("Tax factor for employee {}: {}", employeeId, taxFactor);
+        }
+
+        return Money.multiply(rateCents, workDaysPayFactor * taxFactor, rounding);
+    }
+
+    /**
+     * Calculates the base pay of a batch of employees in columnar form, with the days ratios
+     * and tax factors already taken from {@link #getDaysRatio} and {@link #getTaxFactor}.
+     * Gives the same results as calling the single-employee methods one by one.
+     *
+     * @param daysRatios - Days ratio per employee
+     * @param rates      - Monthly rate per employee
+     * @param taxFactors - Tax factor per employee
+     * @param basePay    - Receives the base pay per employee
+     * @param count      - Number of employees in the arrays
+     */
+    public void calculateBasePay(double[] daysRatios, double[] rates, double[] taxFactors,
+                                 double[] basePay, int count) {
+        PayKernel.preferred().basePay(daysRatios, rates, taxFactors, basePay, count);
+    }
+
     public double getDaysRatio(Integer daysWorked, List<Calendar> calendar, Payment payment) {
         return 1;
     }
@@ -2,29 +2,107 @@ package com.payroll.service.impl;
 
 import static java.lang.Integer.parseInt;
 
-import com.payroll.api.CalculationService;
+import com.payroll.audit.AuditTrail;
+import com.payroll.exception.CalculationException;
+import com.payroll.index.HolidayIndex;
+import com.payroll.index.OvertimeHours;
+import com.payroll.index.PaymentPeriod;
+import com.payroll.index.PreparedPayrollContext;
+import com.payroll.kernel.PayKernel;
 import com.payroll.model.Calendar;
 import com.payroll.model.Employee;
+import com.payroll.model.EmployeeRows;
+import com.payroll.model.LocalHoliday;
+import com.payroll.model.Money;
+import com.payroll.model.OffHeapRateTable;
 import com.payroll.model.Overtime;
 import com.payroll.model.Payment;
 import com.payroll.model.PaymentResult;
 import com.payroll.model.Rate;
 import com.payroll.model.TaxClass;
+import com.payroll.service.PayrollCalculationService;
+import com.payroll.util.EmployeeIdDictionary;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Implementation of the payroll calculation service.
+ *
+ * The events of single employees are recorded in an {@link AuditTrail}; the log only gets
+ * the totals of each calculation.
  */
-public class CalculationServiceImpl implements CalculationService {
+public class CalculationServiceImpl implements PayrollCalculationService, AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(CalculationServiceImpl.class);
-
-    private final OvertimeServiceImpl overtimeService = new OvertimeServiceImpl();
+    private static final Pattern NAME_PATTERN = Pattern.compile("[\\p{L} /-]+");
+    /**
+     * Legacy fallback for the overloads without local holidays, which always skipped the
+     * Dresden holiday of 2025-11-19. Callers with a data root pass the holidays of its
+     * local_holidays.csv instead.
+     */
+    private static final List<LocalHoliday> DEFAULT_LOCAL_HOLIDAYS =
+        List.of(new LocalHoliday(2025, 11, 19, "Dresden"));
+
+    private final OvertimeServiceImpl overtimeService;
     private final BasePayServiceIml basePayService = new BasePayServiceIml();
+    private final AuditTrail audit;
+    // Rounding of the fixed-point calculation, null to calculate in doubles
+    private final RoundingMode rounding;
+
+    public CalculationServiceImpl() {
+        this(new OvertimeServiceImpl());
+    }
+
+    /**
+     * Constructs the service with a given overtime engine.
+     *
+     * @param overtimeService Overtime service, e.g. {@link PackedOvertimeServiceImpl}
+     */
+    public CalculationServiceImpl(OvertimeServiceImpl overtimeService) {
+        this(overtimeService, AuditTrail.disabled());
+    }
+
+    /**
+     * Constructs the service with a given overtime engine and audit trail.
+     *
+     * @param overtimeService Overtime service, e.g. {@link PackedOvertimeServiceImpl}
+     * @param audit           Audit trail of the employees calculated
+     */
+    public CalculationServiceImpl(OvertimeServiceImpl overtimeService, AuditTrail audit) {
+        this(overtimeService, audit, Money.DEFAULT_ROUNDING);
+    }
+
+    /**
+     * Constructs the service with a given overtime engine, audit trail and arithmetic.
+     * Pay is added up in long cents and returned as the nearest double, which prints as the
+     * same two decimals, unless the rounding is null, which calculates in doubles as
+     * earlier versions did.
+     *
+     * @param overtimeService Overtime service, e.g. {@link PackedOvertimeServiceImpl}
+     * @param audit           Audit trail of the employees calculated
+     * @param rounding        Rounding of fractions of a cent, or null for doubles
+     */
+    public CalculationServiceImpl(OvertimeServiceImpl overtimeService, AuditTrail audit,
+                                  RoundingMode rounding) {
+        this.overtimeService = overtimeService;
+        this.audit = audit;
+        this.rounding = rounding;
+    }
+
+    /**
+     * Releases the threads of the service. This implementation calculates in the calling
+     * thread and has nothing to release.
+     */
+    @Override
+    public void close() {
+    }
 
     @Override
     public List<PaymentResult> calculatePayroll(
@@ -35,112 +113,750 @@ public class CalculationServiceImpl implements CalculationService {
         List<TaxClass> taxClasses,
         List<Calendar> calendar
     ) {
+        return calculatePayroll(employees, rates, payments, overtimes, taxClasses, calendar,
+            DEFAULT_LOCAL_HOLIDAYS);
+    }
+
+    @Override
+    public List<PaymentResult> calculatePayroll(
+        List<Employee> employees,
+        List<Rate> rates,
+        List<Payment> payments,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar,
+        List<LocalHoliday> localHolidays
+    ) {
+
+        logger.info("Starting payroll calculation for {} employees", employees.size());
+        List<PaymentResult> results = new ArrayList<>();
+
+        if (payments == null || payments.isEmpty()) {
+            logger.error("No payment data available for calculations");
+            return results;
+        }
+
+        // Map employee IDs to dense ordinals once, so joins are array lookups
+        Employee[] employeeArray = employees.toArray(new Employee[0]);
+        EmployeeIdDictionary employeeIds = new EmployeeIdDictionary();
+        int[] ordinals = new int[employeeArray.length];
+        for (int row = 0; row < employeeArray.length; row++) {
+            ordinals[row] = employeeIds.intern(employeeArray[row].getEmployeeId());
+        }
+        PreparedCalculation calculation = new PreparedCalculation(employeeIds, rates, overtimes,
+            taxClasses, calendar, localHolidays);
+
+        return calculatePayments(calculation.employees(employeeArray, ordinals), payments,
+            calculation, results);
+    }
+
+    @Override
+    public PreparedPayrollContext prepareContext(
+        List<Employee> employees,
+        List<Rate> rates,
+        List<Payment> payments,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar,
+        List<LocalHoliday> localHolidays
+    ) {
+        return PreparedPayrollContext.builder(employees, rates, payments, overtimes, taxClasses,
+                calendar, localHolidays)
+            .overtimeAggregation(overtimeService::aggregateOvertimeHours)
+            .build();
+    }
 
+    @Override
+    public List<PaymentResult> calculatePayroll(PreparedPayrollContext context) {
+        List<Employee> employees = context.employees();
         logger.info("Starting payroll calculation for {} employees", employees.size());
         List<PaymentResult> results = new ArrayList<>();
 
+        List<Payment> payments = context.payments();
         if (payments == null || payments.isEmpty()) {
             logger.error("No payment data available for calculations");
             return results;
         }
 
-        // Create maps for faster lookups
-        Map<String, Rate> rateMap = convertRatesToMap(rates);
-        Map<String, TaxClass> taxClassMap = convertTaxClassesToMap(taxClasses);
+        // Employee IDs were mapped to ordinals when the context was built
+        Employee[] employeeArray = employees.toArray(new Employee[0]);
+        int[] ordinals = new int[employeeArray.length];
+        for (int row = 0; row < employeeArray.length; row++) {
+            ordinals[row] = context.employeeOrdinal(row);
+        }
 
-        // Group overtimes by employee ID and month
-        Map<String, Map<String, Integer>> overtimesByEmployeeAndMonth =
-            overtimeService.aggregateOvertimesByMonth(overtimes);
+        PreparedCalculation calculation = new PreparedCalculation(context);
+        return calculatePayments(calculation.employees(employeeArray, ordinals), payments,
+            calculation, results);
+    }
 
+    private List<PaymentResult> calculatePayments(EmployeeSource employees,
+                                                  List<Payment> payments,
+                                                  PreparedCalculation calculation,
+                                                  List<PaymentResult> results) {
+        List<PaymentPeriod> periods = new ArrayList<>(payments.size());
         for (Payment payment : payments) {
+            PaymentPeriod period = calculation.period(payment);
+            logger.info("Processing payment for period: {}", period.periodKey());
+            periods.add(period);
+        }
 
-            logger.info("Processing payment for period: {}", payment.getPaymentPeriodKey());
+        SkippedEmployees skipped = new SkippedEmployees();
+        calculation.calculate(employees, periods, results, skipped);
+        skipped.log();
+        logger.info("Payroll calculation completed with {} payment results", results.size());
+        return results;
+    }
 
-            for (Employee employee : employees) {
-                // Skip inactive employees
-                if (employee.getStatus().equalsIgnoreCase("INACTIVE")) {
-                    logger.debug("Skipping inactive employee: {}", employee.getEmployeeId());
-                }
+    @Override
+    public EmployeeBatchCalculation prepareBatchCalculation(
+        List<Rate> rates,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar,
+        List<LocalHoliday> localHolidays
+    ) {
+        // Only employees with a rate get a result, so the rate IDs are the ones to join on
+        EmployeeIdDictionary employeeIds = new EmployeeIdDictionary();
+        for (Rate rate : rates) {
+            employeeIds.intern(rate.employeeId());
+        }
+        PreparedCalculation calculation = new PreparedCalculation(employeeIds, rates, overtimes,
+            taxClasses, calendar, localHolidays);
+
+        return (employees, payment, results) -> {
+            Employee[] batch = employees.toArray(new Employee[0]);
+            int[] ordinals = new int[batch.length];
+            for (int row = 0; row < batch.length; row++) {
+                ordinals[row] = employeeIds.ordinalOf(batch[row].getEmployeeId());
+            }
+            SkippedEmployees skipped = new SkippedEmployees();
+            calculation.calculate(calculation.employees(batch, ordinals),
+                List.of(calculation.period(payment)), results, skipped);
+            skipped.log();
+        };
+    }
 
-                String employeeId = employee.getEmployeeId();
-                Rate rate = rateMap.get(employeeId);
-                TaxClass taxClass = taxClassMap.get(employee.getTaxClass());
+    @Override
+    public String arithmetic() {
+        return rounding == null ? "double" : "cents " + rounding.name();
+    }
 
-                if (rate == null) {
-                    continue; // Skip if no rate data is available
-                }
+    /**
+     * Lookup structures of one calculation run, joined to employees by ordinal.
+     */
+    private final class PreparedCalculation {
+        // Rate by employee ordinal; -1 is the ordinal of the rate without an employee ID
+        private final IntFunction<Rate> rateByOrdinal;
+        private final Map<String, TaxClass> taxClassMap;
+        private final HolidayIndex holidays;
+        private final OvertimeHours overtimeHoursByMonth;
+        private final List<Calendar> calendar;
+        // Rates converted to cents once, null in the double calculation
+        private final RatesInCents ratesInCents;
+
+        PreparedCalculation(EmployeeIdDictionary employeeIds, List<Rate> rates,
+                            List<Overtime> overtimes, List<TaxClass> taxClasses,
+                            List<Calendar> calendar, List<LocalHoliday> localHolidays) {
+            this(employeeIds, rateLookup(rates, employeeIds), overtimes, taxClasses, calendar,
+                localHolidays);
+        }
 
-                // Get overtime hours for this employee and month
-                int overtimeHours =
-                    overtimeService.getOvertimeHours(overtimesByEmployeeAndMonth, employeeId,
-                        payment.getPaymentPeriodKey());
+        PreparedCalculation(EmployeeIdDictionary employeeIds, IntFunction<Rate> rateByOrdinal,
+                            List<Overtime> overtimes, List<TaxClass> taxClasses,
+                            List<Calendar> calendar, List<LocalHoliday> localHolidays) {
+            this.rateByOrdinal = rateByOrdinal;
+            this.taxClassMap = convertTaxClassesToMap(taxClasses);
+            this.holidays = HolidayIndex.of(localHolidays);
+            // Group overtimes by employee ordinal and month
+            this.overtimeHoursByMonth =
+                overtimeService.aggregateOvertimeHours(overtimes, employeeIds);
+            this.calendar = calendar;
+            this.ratesInCents = ratesInCents(rateByOrdinal, employeeIds);
+        }
 
-                // Base pay calculation
-                double basePay =
-                    basePayService.calculateBasePay(employee, rate, payment, taxClass, calendar);
-                logger.debug("Base pay for employee {}: {}", employeeId, basePay);
+        PreparedCalculation(PreparedPayrollContext context) {
+            this.rateByOrdinal = context::rate;
+            this.taxClassMap = context.taxClassMap();
+            this.holidays = context.holidays();
+            this.overtimeHoursByMonth = context.overtimeHours();
+            this.calendar = context.calendar();
+            this.ratesInCents = ratesInCents(rateByOrdinal, context.employeeIds());
+        }
 
-                // Overtime calculation
-                double overtimePay = overtimeService.calculateOvertimePay(rate, overtimeHours);
-                logger.debug("Overtime pay for employee {}: {} (from {} hours)",
-                    employeeId, overtimePay, overtimeHours);
+        private RatesInCents ratesInCents(IntFunction<Rate> rateByOrdinal,
+                                          EmployeeIdDictionary employeeIds) {
+            return rounding == null ? null
+                : new RatesInCents(rateByOrdinal, employeeIds.size(), rounding);
+        }
 
-                // Total pay
-                double totalPay = basePay + overtimePay;
-                logger.debug("Total pay for employee {}: {}", employeeId, totalPay);
+        PaymentPeriod period(Payment payment) {
+            return PaymentPeriod.of(payment, holidays);
+        }
+
+        EmployeeSource employees(Employee[] employees, int[] ordinals) {
+            return new EmployeeObjects(employees, ordinals);
+        }
 
+        EmployeeSource employees(EmployeeRows employees) {
+            return new EmployeeTableRows(employees);
+        }
+
+        /**
+         * Calculates employees for all payments in one pass over the employees. Everything
+         * that only depends on the employee, such as the rate, the tax class, the name check
+         * and the location, is looked up once per employee instead of once per payment.
+         * The results are in the same order as when calculating one payment after the
+         * other.
+         *
+         * @param employees Employees
+         * @param periods   Payments, in result order
+         * @param results   List the results are appended to
+         * @param skipped   Counts of the employees not paid
+         */
+        void calculate(EmployeeSource employees, List<PaymentPeriod> periods,
+                       List<PaymentResult> results, SkippedEmployees skipped) {
+            PaymentPeriod[] periodArray = periods.toArray(new PaymentPeriod[0]);
+            OvertimeHours.Month[] overtimeMonths = new OvertimeHours.Month[periodArray.length];
+            for (int i = 0; i < periodArray.length; i++) {
+                overtimeMonths[i] = overtimeHoursByMonth.month(periodArray[i].overtimeMonth());
+            }
+            // Results of every range of rows, one list per period. The first period of a
+            // single range is in result order already, so it goes straight to the results.
+            int rows = employees.size();
+            List<List<PaymentResult>[]> ranges = calculateRanges(rows, (from, to) -> {
+                @SuppressWarnings("unchecked")
+                List<PaymentResult>[] byPeriod = new List[periodArray.length];
+                for (int i = 0; i < byPeriod.length; i++) {
+                    byPeriod[i] = i == 0 && from == 0 && to == rows
+                        ? results : new ArrayList<>(to - from);
+                }
+                for (int row = from; row < to; row++) {
+                    calculateEmployee(employees, row, periodArray, overtimeMonths, byPeriod,
+                        skipped);
+                }
+                return byPeriod;
+            });
+
+            if (results instanceof ArrayList<PaymentResult> list) {
+                int count = 0;
+                for (List<PaymentResult>[] range : ranges) {
+                    for (List<PaymentResult> periodResults : range) {
+                        count += periodResults == results ? 0 : periodResults.size();
+                    }
+                }
+                list.ensureCapacity(results.size() + count);
+            }
+            // Period after period, each in row order; every list is dropped once copied
+            for (int period = 0; period < periodArray.length; period++) {
+                for (List<PaymentResult>[] range : ranges) {
+                    if (range[period] != results) {
+                        results.addAll(range[period]);
+                    }
+                    range[period] = null;
+                }
+            }
+        }
 
-                // Validate employee name
-                if (!employee.getFullName().matches("[\\p{L} /-]+")) {
-                    logger.info("Employee {} has an invalid name: {}", employeeId,
-                        employee.getFullName());
+        /**
+         * Calculates every period of one employee.
+         */
+        private void calculateEmployee(EmployeeSource employees, int row,
+                                       PaymentPeriod[] periods,
+                                       OvertimeHours.Month[] overtimeMonths,
+                                       List<PaymentResult>[] results,
+                                       SkippedEmployees skipped) {
+            String employeeId = employees.employeeId(row);
+            // Inactive employees are recorded, but calculated like active ones
+            if (employees.isInactive(row)) {
+                for (PaymentPeriod period : periods) {
+                    audit.inactive(employeeId, period.paymentDate());
+                }
+                skipped.inactive.add(periods.length);
+            }
+
+            // The rate without an employee ID is matched with employees without one
+            int ordinal = employees.employeeOrdinal(row);
+            Rate rate = employeeId == null ? rateByOrdinal.apply(-1)
+                : ordinal < 0 ? null : rateByOrdinal.apply(ordinal);
+            if (rate == null) {
+                return; // Skip if no rate data is available
+            }
+            if (ratesInCents != null && !ratesInCents.isValid(ordinal)) {
+                for (PaymentPeriod period : periods) {
+                    audit.invalidRate(employeeId, period.paymentDate());
+                }
+                skipped.invalidRate.add(periods.length);
+                return;
+            }
+
+            TaxClass taxClass = employees.taxClass(row);
+            Integer daysWorked = employees.daysWorked(row);
+            String fullName = employees.fullName(row);
+            boolean validName = NAME_PATTERN.matcher(fullName).matches();
+            int locationCode = employees.holidayLocation(row);
+            for (int i = 0; i < periods.length; i++) {
+                PaymentPeriod period = periods[i];
+                int overtimeHours = overtimeMonths[i].hours(ordinal);
+                recordOvertimeLimit(employeeId, period.paymentDate(), overtimeHours, skipped);
+                double basePay;
+                double overtimePay;
+                double totalPay;
+                if (rounding == null) {
+                    basePay = basePayService.calculateBasePay(employeeId, daysWorked, rate,
+                        period.payment(), taxClass, calendar);
+                    overtimePay = overtimeService.calculateOvertimePay(rate, overtimeHours);
+                    totalPay = basePay + overtimePay;
+                } else {
+                    long baseCents;
+                    long overtimeCents;
+                    long totalCents;
+                    try {
+                        baseCents = basePayService.calculateBasePayCents(employeeId, daysWorked,
+                            ratesInCents.rate(ordinal), period.payment(), taxClass, calendar,
+                            rounding);
+                        overtimeCents = overtimeService.calculateOvertimePayCents(
+                            ratesInCents.overtimeRate(ordinal), overtimeHours, rounding);
+                        totalCents = Math.addExact(baseCents, overtimeCents);
+                    } catch (ArithmeticException e) {
+                        audit.invalidRate(employeeId, period.paymentDate());
+                        skipped.invalidRate.increment();
+                        continue;
+                    }
+                    basePay = Money.toDouble(baseCents);
+                    overtimePay = Money.toDouble(overtimeCents);
+                    // The nearest double to the cents, which prints as the same two decimals
+                    totalPay = Money.toDouble(totalCents);
+                }
+
+                if (!validName) {
+                    audit.invalidName(employeeId, period.paymentDate(), fullName);
+                    skipped.invalidName.increment();
                     continue;
                 }
 
-                if (isDresdenHoliday(payment, employee)) {
-                    logger.error(
-                        "Salary could not be paid for employee {} due to holiday in Dresden on {}",
-                        employeeId, payment);
+                if (period.isHolidayAnywhere() && period.isHoliday(locationCode)) {
+                    audit.localHoliday(employeeId, period.paymentDate(), employees.location(row));
+                    skipped.localHoliday.increment();
                     continue;
                 }
 
-                // Create result
-                PaymentResult result = new PaymentResult(
+                results[i].add(new PaymentResult(
                     employeeId,
                     totalPay,
-                    payment.toString(),
-                    generateSettlementAccount(employee),
+                    period.paymentDate(),
+                    generateSettlementAccount(employeeId, fullName, period.paymentDate(),
+                        skipped),
                     "EUR"
+                ));
+                audit.calculated(employeeId, period.paymentDate(), basePay, overtimePay,
+                    overtimeHours, totalPay);
+            }
+        }
+
+        /**
+         * Employees held as objects.
+         */
+        private final class EmployeeObjects implements EmployeeSource {
+            private final Employee[] employees;
+            private final int[] ordinals;
+
+            EmployeeObjects(Employee[] employees, int[] ordinals) {
+                this.employees = employees;
+                this.ordinals = ordinals;
+            }
+
+            @Override
+            public int size() {
+                return employees.length;
+            }
 
-                );
+            @Override
+            public String employeeId(int row) {
+                return employees[row].getEmployeeId();
+            }
 
+            @Override
+            public int employeeOrdinal(int row) {
+                return ordinals[row];
+            }
+
+            @Override
+            public String fullName(int row) {
+                return employees[row].getFullName();
+            }
+
+            @Override
+            public Integer daysWorked(int row) {
+                return employees[row].getDaysWorked();
+            }
+
+            @Override
+            public boolean isInactive(int row) {
+                return employees[row].getStatus().equalsIgnoreCase("INACTIVE");
+            }
+
+            @Override
+            public TaxClass taxClass(int row) {
+                return taxClassMap.get(employees[row].getTaxClass());
+            }
 
-                results.add(result);
-                logger.info("Calculated payment for employee {}: {}", employeeId, result);
+            @Override
+            public int holidayLocation(int row) {
+                return holidays.locationCode(employees[row].getLocation());
+            }
+
+            @Override
+            public String location(int row) {
+                return employees[row].getLocation();
             }
         }
 
-        logger.info("Payroll calculation completed with {} payment results", results.size());
-        return results;
+        /**
+         * Employees held in a column-oriented table. Tax classes and locations are resolved
+         * once per code instead of once per row.
+         */
+        private final class EmployeeTableRows implements EmployeeSource {
+            private final EmployeeRows employees;
+            private final TaxClass[] taxClassesByCode;
+            private final TaxClass missingTaxClass;
+            private final int[] holidayLocations;
+
+            EmployeeTableRows(EmployeeRows employees) {
+                this.employees = employees;
+                this.taxClassesByCode = new TaxClass[employees.taxClassDictionary().size()];
+                for (int code = 0; code < taxClassesByCode.length; code++) {
+                    taxClassesByCode[code] =
+                        taxClassMap.get(employees.taxClassDictionary().valueOf(code));
+                }
+                this.missingTaxClass = taxClassMap.get(null);
+                this.holidayLocations = new int[employees.locationDictionary().size()];
+                for (int code = 0; code < holidayLocations.length; code++) {
+                    holidayLocations[code] =
+                        holidays.locationCode(employees.locationDictionary().valueOf(code));
+                }
+            }
+
+            @Override
+            public int size() {
+                return employees.size();
+            }
+
+            @Override
+            public String employeeId(int row) {
+                return employees.employeeId(row);
+            }
+
+            @Override
+            public int employeeOrdinal(int row) {
+                return employees.employeeOrdinal(row);
+            }
+
+            @Override
+            public String fullName(int row) {
+                return employees.fullName(row);
+            }
+
+            @Override
+            public Integer daysWorked(int row) {
+                return employees.daysWorkedOrNull(row);
+            }
+
+            @Override
+            public boolean isInactive(int row) {
+                if (employees.statusCode(row) < 0) {
+                    throw new CalculationException(
+                        "Employee " + employees.employeeId(row) + " has no status");
+                }
+                return employees.isInactive(row);
+            }
+
+            @Override
+            public TaxClass taxClass(int row) {
+                int code = employees.taxClassCode(row);
+                return code < 0 ? missingTaxClass : taxClassesByCode[code];
+            }
+
+            @Override
+            public int holidayLocation(int row) {
+                int code = employees.locationCode(row);
+                return code < 0 ? -1 : holidayLocations[code];
+            }
+
+            @Override
+            public String location(int row) {
+                return employees.location(row);
+            }
+        }
+    }
+
+    /**
+     * Rate amounts in cents by employee ordinal, converted once per calculation instead of
+     * once per payment. A rate without an amount in cents, such as NaN or one beyond the
+     * range of a long, is kept as invalid, so that only its employees are not paid.
+     */
+    private static final class RatesInCents {
+        // Indexed by ordinal + 1, as ordinal -1 is the rate without an employee ID
+        private final long[] rates;
+        private final long[] overtimeRates;
+        private final boolean[] valid;
+
+        RatesInCents(IntFunction<Rate> rateByOrdinal, int size, RoundingMode rounding) {
+            this.rates = new long[size + 1];
+            this.overtimeRates = new long[size + 1];
+            this.valid = new boolean[size + 1];
+            for (int ordinal = -1; ordinal < size; ordinal++) {
+                Rate rate = rateByOrdinal.apply(ordinal);
+                if (rate == null) {
+                    continue;
+                }
+                try {
+                    rates[ordinal + 1] = Money.toCents(rate.rate(), rounding);
+                    overtimeRates[ordinal + 1] = Money.toCents(rate.overtimeRate(), rounding);
+                    valid[ordinal + 1] = true;
+                } catch (ArithmeticException e) {
+                    // Left invalid
+                }
+            }
+        }
+
+        boolean isValid(int ordinal) {
+            return valid[ordinal + 1];
+        }
+
+        long rate(int ordinal) {
+            return rates[ordinal + 1];
+        }
+
+        long overtimeRate(int ordinal) {
+            return overtimeRates[ordinal + 1];
+        }
+    }
+
+    /**
+     * Fields of the employees of a calculation, whether held as objects or in a table.
+     */
+    private interface EmployeeSource {
+
+        int size();
+
+        String employeeId(int row);
+
+        // Ordinal of the employee ID, -1 if it is null or unknown
+        int employeeOrdinal(int row);
+
+        String fullName(int row);
+
+        Integer daysWorked(int row);
+
+        boolean isInactive(int row);
+
+        TaxClass taxClass(int row);
+
+        // Code of the location in the holiday index, -1 for a location without holidays
+        int holidayLocation(int row);
+
+        String location(int row);
+    }
+
+    /**
+     * Counts of the employees of a calculation that were recorded instead of logged.
+     * Rows may be calculated by several threads.
+     */
+    private static final class SkippedEmployees {
+        private final LongAdder inactive = new LongAdder();
+        private final LongAdder invalidName = new LongAdder();
+        private final LongAdder localHoliday = new LongAdder();
+        private final LongAdder overtimeLimited = new LongAdder();
+        private final LongAdder invalidAccount = new LongAdder();
+        private final LongAdder invalidRate = new LongAdder();
+
+        void log() {
+            if (inactive.sum() > 0) {
+                logger.info("Calculated {} inactive employees", inactive.sum());
+            }
+            if (invalidName.sum() > 0) {
+                logger.info("{} employees have an invalid name and were not paid",
+                    invalidName.sum());
+            }
+            if (localHoliday.sum() > 0) {
+                logger.error("Salary could not be paid for {} employees due to a local holiday",
+                    localHoliday.sum());
+            }
+            if (overtimeLimited.sum() > 0) {
+                logger.warn("Overtime hours of {} employees limited to {}", overtimeLimited.sum(),
+                    PayKernel.MAX_OVERTIME_HOURS);
+            }
+            if (invalidAccount.sum() > 0) {
+                logger.warn("Cannot generate settlement account for {} employees: invalid name",
+                    invalidAccount.sum());
+            }
+            if (invalidRate.sum() > 0) {
+                logger.warn("{} employees have a rate out of range and were not paid",
+                    invalidRate.sum());
+            }
+        }
     }
 
-    private static boolean isDresdenHoliday(Payment payment, Employee employee) {
-        return payment.month() == 11
-            && payment.year() == 2025
-            && payment.paymentDate() == 19
-            && "Dresden".equals(employee.getLocation());
+    /**
+     * Calculates payroll for employees held in a column-oriented table.
+     * Produces the same results as the list-based method without creating an Employee per row.
+     *
+     * @param employees  Table of employees, on or off the heap
+     * @param rates      Payment rates
+     * @param payments   Payment data
+     * @param overtimes  Overtime hours
+     * @param taxClasses Tax classes
+     * @param calendar   Calendar data
+     * @return List of calculation results
+     */
+    public List<PaymentResult> calculatePayroll(
+        EmployeeRows employees,
+        List<Rate> rates,
+        List<Payment> payments,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar
+    ) {
+        return calculatePayroll(employees, rates, payments, overtimes, taxClasses, calendar,
+            DEFAULT_LOCAL_HOLIDAYS);
     }
 
+    /**
+     * Calculates payroll for employees held in a column-oriented table, taking local
+     * holidays into account.
+     *
+     * @param employees     Table of employees, on or off the heap
+     * @param rates         Payment rates
+     * @param payments      Payment data
+     * @param overtimes     Overtime hours
+     * @param taxClasses    Tax classes
+     * @param calendar      Calendar data
+     * @param localHolidays Holidays that only apply to some locations
+     * @return List of calculation results
+     */
+    public List<PaymentResult> calculatePayroll(
+        EmployeeRows employees,
+        List<Rate> rates,
+        List<Payment> payments,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar,
+        List<LocalHoliday> localHolidays
+    ) {
+        // Employee IDs were mapped to ordinals when the table was loaded
+        return calculatePayroll(employees, rateLookup(rates, employees.employeeIdDictionary()),
+            payments, overtimes, taxClasses, calendar, localHolidays);
+    }
 
-    private Map<String, Rate> convertRatesToMap(List<Rate> rates) {
-        Map<String, Rate> rateMap = new HashMap<>();
+    /**
+     * Calculates payroll for employees and rates held outside the Java heap. Rates are
+     * read per row, so no rate or employee object outlives the calculation of its row.
+     *
+     * @param employees     Table of employees
+     * @param rates         Rates, joined to the employee ID dictionary of the employees
+     * @param payments      Payment data
+     * @param overtimes     Overtime hours
+     * @param taxClasses    Tax classes
+     * @param calendar      Calendar data
+     * @param localHolidays Holidays that only apply to some locations
+     * @return List of calculation results
+     */
+    public List<PaymentResult> calculatePayroll(
+        EmployeeRows employees,
+        OffHeapRateTable rates,
+        List<Payment> payments,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar,
+        List<LocalHoliday> localHolidays
+    ) {
+        if (rates.employeeIdDictionary() != employees.employeeIdDictionary()) {
+            throw new IllegalArgumentException(
+                "Rates were not joined to the employee IDs of the employees");
+        }
+        return calculatePayroll(employees, rates::rate, payments, overtimes, taxClasses,
+            calendar, localHolidays);
+    }
+
+    private List<PaymentResult> calculatePayroll(
+        EmployeeRows employees,
+        IntFunction<Rate> rateByOrdinal,
+        List<Payment> payments,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar,
+        List<LocalHoliday> localHolidays
+    ) {
+        logger.info("Starting payroll calculation for {} employees", employees.size());
+        List<PaymentResult> results = new ArrayList<>();
+
+        if (payments == null || payments.isEmpty()) {
+            logger.error("No payment data available for calculations");
+            return results;
+        }
+
+        PreparedCalculation calculation = new PreparedCalculation(
+            employees.employeeIdDictionary(), rateByOrdinal, overtimes, taxClasses, calendar,
+            localHolidays);
+        return calculatePayments(calculation.employees(employees), payments, calculation,
+            results);
+    }
+
+    /**
+     * Calculates an employee list in ranges of rows. This implementation calculates all
+     * rows as one range in the calling thread.
+     *
+     * @param rows        Number of employee rows
+     * @param calculation Calculation of a range of rows
+     * @param <R>         Result of a range
+     * @return Results of the ranges, in row order
+     */
+    protected <R> List<R> calculateRanges(int rows, RangeCalculation<R> calculation) {
+        return List.of(calculation.calculate(0, rows));
+    }
+
+    /**
+     * Calculation of the results of a range of employee rows for all payments.
+     *
+     * @param <R> Result of a range
+     */
+    @FunctionalInterface
+    protected interface RangeCalculation<R> {
+
+        /**
+         * Calculates rows {@code from} (inclusive) to {@code to} (exclusive).
+         *
+         * @param from First row
+         * @param to   Row after the last row
+         * @return Results of the rows
+         */
+        R calculate(int from, int to);
+    }
+
+    /**
+     * Joins rates to employee ordinals. As with a map, the last rate of an employee wins.
+     * Ordinal -1 gets the rate without an employee ID, which is the one an employee without
+     * an ID is matched with.
+     */
+    private static IntFunction<Rate> rateLookup(List<Rate> rates,
+                                                EmployeeIdDictionary employeeIds) {
+        Rate[] rateByOrdinal = new Rate[employeeIds.size() + 1];
         for (Rate rate : rates) {
-            rateMap.put(rate.employeeId(), rate);
+            if (rate.employeeId() == null) {
+                rateByOrdinal[employeeIds.size()] = rate;
+                continue;
+            }
+            int ordinal = employeeIds.ordinalOf(rate.employeeId());
+            if (ordinal >= 0) {
+                rateByOrdinal[ordinal] = rate;
+            }
         }
-        return rateMap;
+        int missingId = employeeIds.size();
+        return ordinal -> rateByOrdinal[ordinal < 0 ? missingId : ordinal];
     }
 
-    private Map<String, TaxClass> convertTaxClassesToMap(List<TaxClass> taxClasses) {
+    private static Map<String, TaxClass> convertTaxClassesToMap(List<TaxClass> taxClasses) {
         Map<String, TaxClass> taxClassMap = new HashMap<>();
         for (TaxClass taxClass : taxClasses) {
             taxClassMap.put(taxClass.taxClass(), taxClass);
@@ -148,11 +864,22 @@ public class CalculationServiceImpl implements CalculationService {
         return taxClassMap;
     }
 
-    private String generateSettlementAccount(Employee employee) {
-        String fullName = employee.getFullName();
+    /**
+     * Records an employee whose overtime hours are above the limit of the overtime engine.
+     */
+    private void recordOvertimeLimit(String employeeId, String paymentDate, int overtimeHours,
+                                     SkippedEmployees skipped) {
+        if (overtimeHours > PayKernel.MAX_OVERTIME_HOURS) {
+            audit.overtimeLimited(employeeId, paymentDate, overtimeHours);
+            skipped.overtimeLimited.increment();
+        }
+    }
+
+    private String generateSettlementAccount(String employeeId, String fullName,
+                                             String paymentDate, SkippedEmployees skipped) {
         if (fullName == null || fullName.length() < 4) {
-            logger.warn("Cannot generate settlement account for employee {}: invalid name",
-                employee.getEmployeeId());
+            audit.invalidAccount(employeeId, paymentDate, fullName);
+            skipped.invalidAccount.increment();
             return "INVALID_ACCOUNT";
         }
         return fullName.substring(0, 4).toUpperCase();
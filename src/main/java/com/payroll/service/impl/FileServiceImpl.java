@@ -1,28 +1,54 @@
 package com.payroll.service.impl;
 
-import static java.lang.Integer.parseInt;
 import static java.time.format.DateTimeFormatter.ofPattern;
 import static java.util.Optional.ofNullable;
 
 import com.payroll.service.FileService;
+import com.payroll.service.ResultSink;
 import com.payroll.exception.DataLoadException;
+import com.payroll.incremental.IncrementalState;
+import com.payroll.metrics.RunMetrics;
+import com.payroll.metrics.StageMetrics;
 import com.payroll.model.*;
+import com.payroll.util.CsvCursor;
+import com.payroll.util.CsvFileWriter;
 import com.payroll.util.CsvParser;
+import com.payroll.util.EmployeeIdDictionary;
+import com.payroll.util.ParseCache;
+import com.payroll.validation.ValidationReport;
 
 import java.io.File;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 /**
  * Implementation of the file handling service.
@@ -36,148 +62,483 @@ public class FileServiceImpl implements FileService {
     public static final String CALENDAR_DATA_PATH = "calendar_data.csv";
     public static final String HOLIDAYS_DATA_PATH = "local_holidays.csv";
     public static final String OUTPUT_PATH = "result/main_data_result.csv";
+    public static final String VALIDATION_REPORT_PATH = "result/validation_report.json";
+    public static final String RUN_METRICS_PATH = "result/run_metrics.json";
+    public static final String INCREMENTAL_STATE_PATH = "result/main_data_result.state";
+    public static final String PARSE_CACHE_PATH = ".cache";
 
     private static final Logger logger = LoggerFactory.getLogger(FileServiceImpl.class);
+    private static final DateTimeFormatter DATE_FORMAT = ofPattern("yyyy-MM-dd");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
     private final String dataRoot;
     private final CsvParser csvParser;
+    private final int loadParallelism;
+    private final ParseCache parseCache;
 
     public FileServiceImpl(String dataRoot, CsvParser csvParser) {
+        this(dataRoot, csvParser, 1);
+    }
+
+    /**
+     * Constructs a file service that loads large files in parallel.
+     *
+     * @param dataRoot        Directory with the input files
+     * @param csvParser       Parser for the input files
+     * @param loadParallelism Number of parts each file is split into; 1 loads sequentially
+     */
+    public FileServiceImpl(String dataRoot, CsvParser csvParser, int loadParallelism) {
+        this(dataRoot, csvParser, loadParallelism, null);
+    }
+
+    /**
+     * Constructs a file service that keeps the parsed input files in a parse cache.
+     *
+     * @param dataRoot        Directory with the input files
+     * @param csvParser       Parser for the input files
+     * @param loadParallelism Number of parts each file is split into; 1 loads sequentially
+     * @param parseCache      Cache of parsed input files, or null to always parse them
+     */
+    public FileServiceImpl(String dataRoot, CsvParser csvParser, int loadParallelism,
+                           ParseCache parseCache) {
+        if (loadParallelism < 1) {
+            throw new IllegalArgumentException(
+                "Load parallelism must be positive: " + loadParallelism);
+        }
         this.dataRoot = dataRoot;
         this.csvParser = csvParser;
+        this.loadParallelism = loadParallelism;
+        this.parseCache = parseCache;
+    }
+
+    /**
+     * Loads an input file through the parse cache, if there is one.
+     */
+    private <T> List<T> loadFromCsv(String filename, ParseCache.Codec<T> codec,
+                                    Function<CsvCursor, Supplier<T>> binder)
+        throws DataLoadException {
+        if (parseCache == null) {
+            return loadFromCsv(filename, binder);
+        }
+        return parseCache.load(Paths.get(dataRoot, filename), codec,
+            () -> loadFromCsv(filename, binder));
+    }
+
+    private <T> List<T> loadFromCsv(String filename, Function<CsvCursor, Supplier<T>> binder)
+        throws DataLoadException {
+        return loadCsvFile(dataRoot + File.separator + filename, binder);
+    }
+
+    private <T> List<T> loadCsvFile(String filePath, Function<CsvCursor, Supplier<T>> binder)
+        throws DataLoadException {
+        LongAdder rejected = new LongAdder();
+        List<List<T>> parts = loadParts(filePath, cursor -> loadPart(cursor, binder, rejected));
+        List<T> result;
+        if (parts.size() == 1) {
+            result = parts.get(0);
+        } else {
+            result = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+            parts.forEach(result::addAll);
+        }
+        logger.info("Loaded {} items from {}", result.size(), filePath);
+        StageMetrics stage = StageMetrics.current();
+        if (stage != null) {
+            stage.addInput(result.size() + rejected.sum(), rejected.sum(),
+                new File(filePath).length());
+        }
+        return result;
+    }
+
+    /**
+     * Reads a file through one cursor per part. With several parts, each part is read on
+     * a fork-join worker; the results are returned in file order either way, so callers
+     * get the same outcome as with a sequential load.
+     */
+    private <P> List<P> loadParts(String filePath, Function<CsvCursor, P> partLoader)
+        throws DataLoadException {
+        return loadParts(filePath, loadParallelism, partLoader);
     }
 
-    private <T> List<T> loadFromCsv(String filename, Function<Map<String, String>, T> mapper)
+    private <P> List<P> loadParts(String filePath, int parallelism,
+                                  Function<CsvCursor, P> partLoader)
         throws DataLoadException {
-        String filePath = dataRoot + File.separator + filename;
         logger.info("Loading data from {}", filePath);
-        List<T> result = new ArrayList<>();
 
+        List<CsvCursor> cursors = new ArrayList<>();
         try {
-            List<Map<String, String>> records = csvParser.parseWithHeaders(filePath);
-            for (Map<String, String> record : records) {
-                try {
-                    T item = mapper.apply(record);
-                    if (item != null) {
-                        result.add(item);
-                        logger.debug("Loaded item: {}", item);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Failed to parse record: {}", record, e);
+            cursors.addAll(csvParser.openCursors(filePath, parallelism));
+            List<P> parts = new ArrayList<>();
+            if (cursors.size() == 1) {
+                parts.add(partLoader.apply(cursors.get(0)));
+            } else {
+                List<Callable<P>> tasks = new ArrayList<>();
+                for (CsvCursor cursor : cursors) {
+                    tasks.add(() -> partLoader.apply(cursor));
+                }
+                for (Future<P> part : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                    parts.add(part.get());
                 }
             }
-            logger.info("Loaded {} items from {}", result.size(), filePath);
-            return result;
+            return parts;
         } catch (Exception e) {
+            if (isCancelled(e)) {
+                // Cancelled by ConcurrentLoader after another load failed, which is logged
+                Thread.currentThread().interrupt();
+                throw new DataLoadException("Loading " + filePath + " was cancelled", e);
+            }
             logger.error("Error loading data from {}", filePath, e);
             throw new DataLoadException("Error loading data: " + e.getMessage(), e);
+        } finally {
+            cursors.forEach(CsvCursor::close);
         }
     }
 
+    /**
+     * Checks whether a load failed because its thread was interrupted, as cancelled loads
+     * are.
+     */
+    private static boolean isCancelled(Throwable e) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException
+                || cause instanceof InterruptedIOException
+                || cause instanceof ClosedByInterruptException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Lets a cancelled load stop between two rows
+    private static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new DataLoadException("Interrupted while loading data");
+        }
+    }
+
+    private <T> List<T> loadPart(CsvCursor cursor, Function<CsvCursor, Supplier<T>> binder,
+                                 LongAdder rejected) {
+        List<T> result = new ArrayList<>();
+        // Header names are resolved to column indexes once per cursor
+        Supplier<T> mapper = binder.apply(cursor);
+        while (cursor.next()) {
+            checkInterrupted();
+            try {
+                T item = mapper.get();
+                if (item != null) {
+                    result.add(item);
+                } else {
+                    rejected.increment();
+                }
+            } catch (Exception e) {
+                rejected.increment();
+                logger.warn("Failed to parse record at line {}: {}", cursor.lineNumber(),
+                    cursor.rowText(), e);
+            }
+        }
+        return result;
+    }
+
     @Override
     public List<Employee> loadEmployees() throws DataLoadException {
-        return loadFromCsv(MAIN_DATA_PATH, record -> {
+        return loadFromCsv(MAIN_DATA_PATH, ModelCodecs.EMPLOYEE, FileServiceImpl::bindEmployee);
+    }
+
+    @Override
+    public List<Employee> loadEmployees(String path) throws DataLoadException {
+        return loadCsvFile(path, FileServiceImpl::bindEmployee);
+    }
+
+    @Override
+    public void streamEmployees(int batchSize, Consumer<List<Employee>> batches)
+        throws DataLoadException {
+        String filePath = dataRoot + File.separator + MAIN_DATA_PATH;
+        logger.info("Streaming data from {} in batches of {}", filePath, batchSize);
+        long count = 0;
+        try (CsvCursor cursor = csvParser.openCursor(filePath)) {
+            Supplier<Employee> mapper = bindEmployee(cursor);
+            List<Employee> batch = new ArrayList<>(batchSize);
+            while (cursor.next()) {
+                Employee employee;
+                try {
+                    employee = mapper.get();
+                } catch (Exception e) {
+                    logger.warn("Failed to parse record at line {}: {}", cursor.lineNumber(),
+                        cursor.rowText(), e);
+                    continue;
+                }
+                if (employee == null) {
+                    continue;
+                }
+                batch.add(employee);
+                if (batch.size() == batchSize) {
+                    batches.accept(batch);
+                    count += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                batches.accept(batch);
+                count += batch.size();
+            }
+        } catch (DataLoadException e) {
+            logger.error("Error loading data from {}", filePath, e);
+            throw e;
+        }
+        logger.info("Streamed {} items from {}", count, filePath);
+    }
+
+    private static Supplier<Employee> bindEmployee(CsvCursor cursor) {
+        int name = cursor.columnIndex("Name");
+        int location = cursor.columnIndex("Location");
+        int employeeId = cursor.columnIndex("Employee ID");
+        int taxClass = cursor.columnIndex("Tax Class");
+        int atLevel = cursor.columnIndex("AT Level");
+        int status = cursor.columnIndex("Status");
+        int daysWorked = cursor.columnIndex("Days Worked");
+        int phone = cursor.columnIndex("Phone Number");
+        int birthday = cursor.columnIndex("Birthday");
+        int password = cursor.columnIndex("Password");
+        return () -> {
             try {
                 return new Employee(
-                    record.get("Name"),
-                    record.get("Location"),
-                    record.get("Employee ID"),
-                    record.get("Tax Class"),
-                    record.get("AT Level"),
-                    record.get("Status"),
-                    record.get("Days Worked").matches("\\d+") ?
-                        parseInt(record.get("Days Worked")) : null,
-                    record.get("Phone Number"),
-                    record.get("Birthday"),
-                    record.get("Password")
+                    cursor.getString(name),
+                    cursor.getString(location),
+                    cursor.getString(employeeId),
+                    cursor.getString(taxClass),
+                    cursor.getString(atLevel),
+                    cursor.getString(status),
+                    parseDaysWorked(cursor, daysWorked),
+                    cursor.getString(phone),
+                    cursor.getString(birthday),
+                    cursor.getString(password)
                 );
             } catch (Exception e) {
-                logger.warn("Failed to create Employee from the record: {}", record);
+                logger.warn("Failed to create Employee from the record: {}",
+                    cursor.rowText());
                 return null;
             }
-        });
+        };
     }
 
     @Override
-    public List<Rate> loadRates() throws DataLoadException {
-        return loadFromCsv(RATE_DATA_PATH, record -> {
+    public EmployeeTable loadEmployeeTable() throws DataLoadException {
+        String filePath = dataRoot + File.separator + MAIN_DATA_PATH;
+        EmployeeTable.Builder table = loadEmployeeRows(filePath, EmployeeTable::builder,
+            EmployeeTable.Builder::addAll);
+        logger.info("Loaded {} employees into table from {}", table.size(), filePath);
+        return table.build();
+    }
+
+    @Override
+    public OffHeapEmployeeTable loadOffHeapEmployeeTable() throws DataLoadException {
+        String filePath = dataRoot + File.separator + MAIN_DATA_PATH;
+        OffHeapEmployeeTable result = loadEmployeeRows(filePath, OffHeapEmployeeTable::builder,
+            OffHeapEmployeeTable.Builder::addAll).build();
+        logger.info("Loaded {} employees into off-heap table from {} ({} bytes)", result.size(),
+            filePath, result.offHeapBytes());
+        return result;
+    }
+
+    /**
+     * Reads the employee file into one sink per part and appends the parts, in file order,
+     * to the first.
+     */
+    private <S extends EmployeeRowSink> S loadEmployeeRows(String filePath,
+                                                          Supplier<S> sinks,
+                                                          BiConsumer<S, S> addAll)
+        throws DataLoadException {
+        List<S> parts = loadParts(filePath, cursor -> {
+            S part = sinks.get();
+            bindEmployeeRows(cursor, part);
+            return part;
+        });
+        S rows = parts.get(0);
+        if (parts.size() > 1) {
+            rows = sinks.get();
+            for (S part : parts) {
+                addAll.accept(rows, part);
+            }
+        }
+        return rows;
+    }
+
+    private static void bindEmployeeRows(CsvCursor cursor, EmployeeRowSink sink) {
+        int name = cursor.columnIndex("Name");
+        int location = cursor.columnIndex("Location");
+        int employeeId = cursor.columnIndex("Employee ID");
+        int taxClass = cursor.columnIndex("Tax Class");
+        int status = cursor.columnIndex("Status");
+        int daysWorked = cursor.columnIndex("Days Worked");
+        while (cursor.next()) {
+            checkInterrupted();
             try {
-                return new Rate(
-                    record.get("EMPLOYEE_ID"),
-                    Double.parseDouble(record.get("RATE")),
-                    Double.parseDouble(record.get("OVERTIME_RATE"))
+                // Same acceptance rules as loadEmployees()
+                Integer days = parseDaysWorked(cursor, daysWorked);
+                sink.add(
+                    cursor.getString(name),
+                    cursor.getString(location),
+                    cursor.getString(employeeId),
+                    cursor.getString(taxClass),
+                    cursor.getString(status),
+                    days != null,
+                    days != null ? days : 0
                 );
             } catch (Exception e) {
-                logger.warn("Failed to create Rate: {}", e.getMessage());
-                return null;
+                logger.warn("Failed to create Employee from the record: {}", cursor.rowText());
             }
+        }
+    }
+
+    /**
+     * Parses the days worked column. Digits give the number of days, any other value
+     * (such as "null") means the full month; an empty field is rejected.
+     */
+    private static Integer parseDaysWorked(CsvCursor cursor, int column) {
+        String value = cursor.getString(column);
+        if (value == null) {
+            throw new IllegalArgumentException("Days Worked is missing");
+        }
+        return DIGITS.matcher(value).matches() ? cursor.getInt(column) : null;
+    }
+
+    @Override
+    public List<Rate> loadRates() throws DataLoadException {
+        return loadFromCsv(RATE_DATA_PATH, ModelCodecs.RATE, cursor -> {
+            int employeeId = cursor.columnIndex("EMPLOYEE_ID");
+            int rate = cursor.columnIndex("RATE");
+            int overtimeRate = cursor.columnIndex("OVERTIME_RATE");
+            return () -> {
+                try {
+                    return new Rate(
+                        cursor.getString(employeeId),
+                        cursor.getDouble(rate),
+                        cursor.getDouble(overtimeRate)
+                    );
+                } catch (Exception e) {
+                    logger.warn("Failed to create Rate: {}", e.getMessage());
+                    return null;
+                }
+            };
         });
     }
 
     @Override
-    public List<Payment> loadPayments() throws DataLoadException {
-        return loadFromCsv(PAYMENT_DATA_PATH, record -> {
-            try {
-                return new Payment(
-                    parseInt(record.get("MONTH")),
-                    parseInt(record.get("YEAR")),
-                    parseInt(record.get("PAYMENT_DATE"))
-                );
-            } catch (Exception e) {
-                logger.warn("Failed to create Payment: {}", e.getMessage());
-                return null;
+    public OffHeapRateTable loadOffHeapRates(EmployeeIdDictionary employeeIds)
+        throws DataLoadException {
+        String filePath = dataRoot + File.separator + RATE_DATA_PATH;
+        OffHeapRateTable.Builder table = OffHeapRateTable.builder(employeeIds);
+        // One cursor, as the last rate of an employee wins and parts would need merging
+        List<Integer> counts = loadParts(filePath, 1, cursor -> {
+            int employeeId = cursor.columnIndex("EMPLOYEE_ID");
+            int rate = cursor.columnIndex("RATE");
+            int overtimeRate = cursor.columnIndex("OVERTIME_RATE");
+            int count = 0;
+            while (cursor.next()) {
+                try {
+                    table.add(
+                        cursor.getString(employeeId),
+                        cursor.getDouble(rate),
+                        cursor.getDouble(overtimeRate)
+                    );
+                    count++;
+                } catch (Exception e) {
+                    logger.warn("Failed to create Rate: {}", e.getMessage());
+                }
             }
+            return count;
         });
+        logger.info("Loaded {} items from {}", counts.get(0), filePath);
+        return table.build();
     }
 
     @Override
-    public List<Overtime> loadOvertimes() throws DataLoadException {
-        return loadFromCsv(OVERTIME_DATA_PATH, record -> {
-            try {
-                LocalDate date = LocalDate.parse(record.get("DATE"), ofPattern("yyyy-MM-dd"));
-                return new Overtime(
-                    record.get("EMPLOYEE_ID"),
-                    parseInt(record.get("OVERTIME_DATA")),
-                    date
-                );
-            } catch (Exception e) {
-                logger.warn("Failed to create Overtime: {}", e.getMessage());
-                return null;
-            }
+    public List<Payment> loadPayments() throws DataLoadException {
+        return loadFromCsv(PAYMENT_DATA_PATH, ModelCodecs.PAYMENT, cursor -> {
+            int month = cursor.columnIndex("MONTH");
+            int year = cursor.columnIndex("YEAR");
+            int paymentDate = cursor.columnIndex("PAYMENT_DATE");
+            return () -> {
+                try {
+                    return new Payment(
+                        cursor.getInt(month),
+                        cursor.getInt(year),
+                        cursor.getInt(paymentDate)
+                    );
+                } catch (Exception e) {
+                    logger.warn("Failed to create Payment: {}", e.getMessage());
+                    return null;
+                }
+            };
         });
     }
 
     @Override
-    public List<TaxClass> loadTaxClasses() throws DataLoadException {
-        return loadFromCsv(TAX_CLASS_DATA_PATH, record -> {
-            try {
-                return new TaxClass(
-                    record.get("TAX_CLASS"),
-                    Double.parseDouble(record.get("FACTOR"))
-                );
-            } catch (Exception e) {
-                logger.warn("Failed to create TaxClass: {}", e.getMessage());
-                return null;
-            }
+    public List<Overtime> loadOvertimes() throws DataLoadException {
+        return loadFromCsv(OVERTIME_DATA_PATH, ModelCodecs.OVERTIME, cursor -> {
+            int employeeId = cursor.columnIndex("EMPLOYEE_ID");
+            int overtimeData = cursor.columnIndex("OVERTIME_DATA");
+            int date = cursor.columnIndex("DATE");
+            return () -> {
+                try {
+                    LocalDate overtimeDate = LocalDate.parse(cursor.getString(date), DATE_FORMAT);
+                    return new Overtime(
+                        cursor.getString(employeeId),
+                        cursor.getInt(overtimeData),
+                        overtimeDate
+                    );
+                } catch (Exception e) {
+                    logger.warn("Failed to create Overtime: {}", e.getMessage());
+                    return null;
+                }
+            };
         });
     }
 
     @Override
-    public List<PaymentResult> loadResult(String filePath) {
-        logger.info("Loading results from {}", filePath);
-        try {
-            return loadFromCsv(filePath, record -> {
+    public List<TaxClass> loadTaxClasses() throws DataLoadException {
+        return loadFromCsv(TAX_CLASS_DATA_PATH, ModelCodecs.TAX_CLASS, cursor -> {
+            int taxClass = cursor.columnIndex("TAX_CLASS");
+            int factor = cursor.columnIndex("FACTOR");
+            return () -> {
                 try {
-                    return new PaymentResult(
-                        record.get("EMPLOYEE_ID"),
-                        Double.parseDouble(record.get("PAY")),
-                        record.get("DATE"),
-                        record.get("SETTLEMENT_ACCOUNT"),
-                        record.get("CURRENCY")
+                    return new TaxClass(
+                        cursor.getString(taxClass),
+                        cursor.getDouble(factor)
                     );
                 } catch (Exception e) {
-                    logger.warn("Failed to create PaymentResult: {}", e.getMessage());
+                    logger.warn("Failed to create TaxClass: {}", e.getMessage());
                     return null;
                 }
+            };
+        });
+    }
+
+    @Override
+    public List<PaymentResult> loadResult(String filePath) {
+        logger.info("Loading results from {}", filePath);
+        try {
+            return loadFromCsv(filePath, cursor -> {
+                int employeeId = cursor.columnIndex("EMPLOYEE_ID");
+                int pay = cursor.columnIndex("PAY");
+                int date = cursor.columnIndex("DATE");
+                int settlementAccount = cursor.columnIndex("SETTLEMENT_ACCOUNT");
+                int currency = cursor.columnIndex("CURRENCY");
+                return () -> {
+                    try {
+                        return new PaymentResult(
+                            cursor.getString(employeeId),
+                            cursor.getDouble(pay),
+                            cursor.getString(date),
+                            cursor.getString(settlementAccount),
+                            cursor.getString(currency)
+                        );
+                    } catch (Exception e) {
+                        logger.warn("Failed to create PaymentResult: {}", e.getMessage());
+                        return null;
+                    }
+                };
             });
         } catch (DataLoadException e) {
             logger.error("Error loading results from {}", filePath, e);
@@ -187,19 +548,49 @@ public class FileServiceImpl implements FileService {
 
     @Override
     public List<Calendar> loadCalendar() throws DataLoadException {
-        return loadFromCsv(CALENDAR_DATA_PATH, record -> {
-            try {
-                return Calendar.of(
-                    parseInt(record.get("YEAR")),
-                    parseInt(record.get("MONTH")),
-                    parseInt(record.get("DAY")),
-                    record.get("DAY_OF_WEEK"),
-                    record.get("HOLIDAY")
-                );
-            } catch (Exception e) {
-                logger.warn("Failed to create Calendar entry: {}", e.getMessage());
-                return null;
-            }
+        return loadFromCsv(CALENDAR_DATA_PATH, ModelCodecs.CALENDAR, cursor -> {
+            int year = cursor.columnIndex("YEAR");
+            int month = cursor.columnIndex("MONTH");
+            int day = cursor.columnIndex("DAY");
+            int dayOfWeek = cursor.columnIndex("DAY_OF_WEEK");
+            int holiday = cursor.columnIndex("HOLIDAY");
+            return () -> {
+                try {
+                    return Calendar.of(
+                        cursor.getInt(year),
+                        cursor.getInt(month),
+                        cursor.getInt(day),
+                        cursor.getString(dayOfWeek),
+                        cursor.getString(holiday)
+                    );
+                } catch (Exception e) {
+                    logger.warn("Failed to create Calendar entry: {}", e.getMessage());
+                    return null;
+                }
+            };
+        });
+    }
+
+    @Override
+    public List<LocalHoliday> loadLocalHolidays() throws DataLoadException {
+        return loadFromCsv(HOLIDAYS_DATA_PATH, ModelCodecs.LOCAL_HOLIDAY, cursor -> {
+            int year = cursor.columnIndex("YEAR");
+            int month = cursor.columnIndex("MONTH");
+            int day = cursor.columnIndex("DAY");
+            int location = cursor.columnIndex("LOCATION");
+            return () -> {
+                try {
+                    return LocalHoliday.of(
+                        cursor.getInt(year),
+                        cursor.getInt(month),
+                        cursor.getInt(day),
+                        cursor.getString(location)
+                    );
+                } catch (Exception e) {
+                    logger.warn("Failed to create LocalHoliday: {}", e.getMessage());
+                    return null;
+                }
+            };
         });
     }
 
@@ -210,6 +601,13 @@ public class FileServiceImpl implements FileService {
 
     @Override
     public void saveResults(List<PaymentResult> results) throws DataLoadException {
+        try (ResultSink sink = openResultSink()) {
+            sink.write(results);
+        }
+    }
+
+    @Override
+    public ResultSink openResultSink() throws DataLoadException {
         String filePath = dataRoot + File.separator + OUTPUT_PATH;
         logger.info("Saving results to {}", filePath);
         File file = new File(filePath);
@@ -221,26 +619,147 @@ public class FileServiceImpl implements FileService {
             throw new DataLoadException("Error creating file: " + e.getMessage(), e);
         }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
+        try {
+            CsvFileWriter writer = CsvFileWriter.open(filePath, CsvFileWriter.DEFAULT_BUFFER_SIZE);
             writer.write("EMPLOYEE_ID;PAY;DATE;SETTLEMENT_ACCOUNT;CURRENCY");
             writer.newLine();
+            return new CsvResultSink(filePath, writer);
+        } catch (IOException e) {
+            logger.error("Error saving results to {}", filePath, e);
+            throw new DataLoadException("Error saving results: " + e.getMessage(), e);
+        }
+    }
 
-            for (PaymentResult result : results) {
-                writer.write(String.format("%s;%.2f;%s;%s;%s",
-                    result.employeeId(),
-                    result.pay(),
-                    result.date(),
-                    result.settlementAccount(),
-                    result.currency()));
-                writer.newLine();
-
-                logger.debug("Saved result: {}", result);
+    @Override
+    public void saveValidationReport(ValidationReport report) throws DataLoadException {
+        String filePath = dataRoot + File.separator + VALIDATION_REPORT_PATH;
+        logger.info("Saving validation report to {}", filePath);
+        try {
+            Path path = Paths.get(filePath);
+            Files.createDirectories(path.getParent());
+            // A temporary file per thread, so concurrent server requests replace the report
+            // as a whole instead of interleaving their writes
+            Path temporary = path.resolveSibling(path.getFileName() + "."
+                + ProcessHandle.current().pid() + "-" + Thread.currentThread().threadId()
+                + ".tmp");
+            try {
+                Files.writeString(temporary, report.toJson(), StandardCharsets.UTF_8);
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
             }
+        } catch (IOException e) {
+            logger.error("Error saving validation report to {}", filePath, e);
+            throw new DataLoadException("Error saving validation report: " + e.getMessage(), e);
+        }
+    }
 
-            logger.info("Saved {} results", results.size());
+    @Override
+    public void saveRunMetrics(RunMetrics metrics) throws DataLoadException {
+        String filePath = dataRoot + File.separator + RUN_METRICS_PATH;
+        logger.info("Saving run metrics to {}", filePath);
+        try {
+            Path path = Paths.get(filePath);
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, metrics.toJson(), StandardCharsets.UTF_8);
         } catch (IOException e) {
-            logger.error("Error saving results to {}", filePath, e);
-            throw new DataLoadException("Error saving results: " + e.getMessage(), e);
+            logger.error("Error saving run metrics to {}", filePath, e);
+            throw new DataLoadException("Error saving run metrics: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public IncrementalState loadIncrementalState() {
+        Path path = Paths.get(dataRoot, INCREMENTAL_STATE_PATH);
+        if (!Files.isRegularFile(path)) {
+            logger.info("No incremental state found at {}", path);
+            return null;
+        }
+        try (DataInputStream in =
+                 new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            IncrementalState state = IncrementalState.read(in);
+            logger.info("Loaded incremental state of {} employees from {}", state.size(), path);
+            return state;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable incremental state {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void saveIncrementalState(IncrementalState state) throws DataLoadException {
+        Path path = Paths.get(dataRoot, INCREMENTAL_STATE_PATH);
+        // Write a temporary file first, so an interrupted run leaves the old state intact
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                state.write(out);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Saved incremental state of {} employees to {}", state.size(), path);
+        } catch (IOException e) {
+            logger.error("Error saving incremental state to {}", path, e);
+            throw new DataLoadException("Error saving incremental state: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes results to the result CSV file.
+     */
+    private static final class CsvResultSink implements ResultSink {
+        private final String filePath;
+        private final CsvFileWriter writer;
+        private long count;
+        private boolean failed;
+
+        CsvResultSink(String filePath, CsvFileWriter writer) {
+            this.filePath = filePath;
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(List<PaymentResult> results) throws DataLoadException {
+            try {
+                for (PaymentResult result : results) {
+                    // Same bytes as String.format(Locale.ROOT, "%s;%.2f;%s;%s;%s", ...)
+                    writer.write(result.employeeId());
+                    writer.write(';');
+                    writer.writeAmount(result.pay());
+                    writer.write(';');
+                    writer.write(result.date());
+                    writer.write(';');
+                    writer.write(result.settlementAccount());
+                    writer.write(';');
+                    writer.write(result.currency());
+                    writer.newLine();
+                }
+                count += results.size();
+            } catch (IOException e) {
+                failed = true;
+                logger.error("Error saving results to {}", filePath, e);
+                throw new DataLoadException("Error saving results: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() throws DataLoadException {
+            try {
+                writer.close();
+                if (!failed) {
+                    logger.info("Saved {} results", count);
+                }
+                StageMetrics stage = StageMetrics.current();
+                if (stage != null) {
+                    stage.addBytesWritten(writer.bytesWritten());
+                }
+            } catch (IOException e) {
+                logger.error("Error saving results to {}", filePath, e);
+                throw new DataLoadException("Error saving results: " + e.getMessage(), e);
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.payroll.service.impl;
+
+import com.payroll.model.Calendar;
+import com.payroll.model.Employee;
+import com.payroll.model.LocalHoliday;
+import com.payroll.model.Overtime;
+import com.payroll.model.Payment;
+import com.payroll.model.Rate;
+import com.payroll.model.TaxClass;
+import com.payroll.util.ParseCache.Codec;
+import com.payroll.util.ParseCache.Decoder;
+import com.payroll.util.ParseCache.Encoder;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Binary forms of the input rows for the parse cache. Change the version of a codec when
+ * its fields change, so existing cache files are parsed again.
+ */
+final class ModelCodecs {
+    static final Codec<Employee> EMPLOYEE = Codec.of("employee", 1,
+        ModelCodecs::writeEmployee, ModelCodecs::readEmployee);
+
+    static final Codec<Rate> RATE = Codec.of("rate", 1,
+        (rate, out) -> {
+            out.writeString(rate.employeeId());
+            out.writeDouble(rate.rate());
+            out.writeDouble(rate.overtimeRate());
+        },
+        in -> new Rate(in.readString(), in.readDouble(), in.readDouble()));
+
+    static final Codec<Payment> PAYMENT = Codec.of("payment", 1,
+        (payment, out) -> {
+            out.writeInt(payment.month());
+            out.writeInt(payment.year());
+            out.writeInt(payment.paymentDate());
+        },
+        in -> new Payment(in.readInt(), in.readInt(), in.readInt()));
+
+    static final Codec<Overtime> OVERTIME = Codec.of("overtime", 1,
+        (overtime, out) -> {
+            out.writeString(overtime.employeeId());
+            out.writeInt(overtime.overtimeHours());
+            out.writeBoolean(overtime.date() != null);
+            if (overtime.date() != null) {
+                out.writeLong(overtime.date().toEpochDay());
+            }
+        },
+        in -> new Overtime(in.readString(), in.readInt(),
+            in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null));
+
+    static final Codec<TaxClass> TAX_CLASS = Codec.of("tax-class", 1,
+        (taxClass, out) -> {
+            out.writeString(taxClass.taxClass());
+            out.writeDouble(taxClass.factor());
+        },
+        in -> new TaxClass(in.readString(), in.readDouble()));
+
+    static final Codec<Calendar> CALENDAR = Codec.of("calendar", 1,
+        (day, out) -> {
+            out.writeInt(day.year());
+            out.writeInt(day.month());
+            out.writeInt(day.day());
+            out.writeInt(day.dayOfWeek() == null ? -1 : day.dayOfWeek().ordinal());
+            out.writeBoolean(day.isHoliday());
+        },
+        in -> {
+            int year = in.readInt();
+            int month = in.readInt();
+            int day = in.readInt();
+            int dayOfWeek = in.readInt();
+            return new Calendar(year, month, day,
+                dayOfWeek < 0 ? null : DayOfWeek.values()[dayOfWeek], in.readBoolean());
+        });
+
+    static final Codec<LocalHoliday> LOCAL_HOLIDAY = Codec.of("local-holiday", 1,
+        (holiday, out) -> {
+            out.writeInt(holiday.year());
+            out.writeInt(holiday.month());
+            out.writeInt(holiday.day());
+            out.writeString(holiday.location());
+        },
+        in -> new LocalHoliday(in.readInt(), in.readInt(), in.readInt(), in.readString()));
+
+    private ModelCodecs() {
+    }
+
+    private static void writeEmployee(Employee employee, Encoder out) {
+        out.writeString(employee.getFullName());
+        out.writeString(employee.getLocation());
+        out.writeString(employee.getEmployeeId());
+        out.writeString(employee.getTaxClass());
+        out.writeString(employee.getAtLevel());
+        out.writeString(employee.getStatus());
+        // Days worked is null for the full month
+        out.writeInt(employee.getDaysWorked() == null ? -1 : employee.getDaysWorked());
+        out.writeString(employee.getPhone());
+        out.writeString(employee.getBirthdayDate());
+        out.writeString(employee.getPassword());
+    }
+
+    private static Employee readEmployee(Decoder in) {
+        String fullName = in.readString();
+        String location = in.readString();
+        String employeeId = in.readString();
+        String taxClass = in.readString();
+        String atLevel = in.readString();
+        String status = in.readString();
+        int daysWorked = in.readInt();
+        return new Employee(fullName, location, employeeId, taxClass, atLevel, status,
+            daysWorked < 0 ? null : daysWorked, in.readString(), in.readString(),
+            in.readString());
+    }
+}
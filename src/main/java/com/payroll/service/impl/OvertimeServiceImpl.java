@@ -1,8 +1,13 @@
 package com.payroll.service.impl;
 
 import com.payroll.api.OvertimeService;
+import com.payroll.index.OvertimeHours;
+import com.payroll.kernel.PayKernel;
+import com.payroll.model.Money;
 import com.payroll.model.Overtime;
 import com.payroll.model.Rate;
+import com.payroll.util.EmployeeIdDictionary;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -13,8 +18,9 @@ import org.slf4j.LoggerFactory;
 public class OvertimeServiceImpl implements OvertimeService {
 
     private static final Logger logger = LoggerFactory.getLogger(OvertimeServiceImpl.class);
-    private static final double OVERTIME_COEFFICIENT = 1.5;
-    private static final int MAX_OVERTIME_HOURS = 10; // Maximum allowed overtime hours
+    private static final double OVERTIME_COEFFICIENT = PayKernel.OVERTIME_COEFFICIENT;
+    // Maximum allowed overtime hours
+    private static final int MAX_OVERTIME_HOURS = PayKernel.MAX_OVERTIME_HOURS;
 
     public Map<String, Map<String, Integer>> aggregateOvertimesByMonth(List<Overtime> overtimes) {
         Map<String, Map<String, Integer>> result = new HashMap<>();
@@ -37,6 +43,87 @@ public class OvertimeServiceImpl implements OvertimeService {
         return result;
     }
 
+    /**
+     * Aggregates overtime hours by month into an array indexed by employee ordinal, so the
+     * per-employee lookup is an array access instead of a string-keyed map lookup.
+     * Overtimes of employee IDs that are not in the dictionary are skipped, as no employee
+     * can be joined with them.
+     *
+     * @param overtimes   List of overtime records
+     * @param employeeIds Dictionary of the employees that will be looked up
+     * @return Monthly overtime hours per employee ordinal; null for employees without overtime
+     */
+    public Map<String, Integer>[] aggregateOvertimesByMonth(List<Overtime> overtimes,
+                                                            EmployeeIdDictionary employeeIds) {
+        @SuppressWarnings("unchecked")
+        Map<String, Integer>[] result = new Map[employeeIds.size()];
+
+        for (Overtime overtime : overtimes) {
+            int ordinal = employeeIds.ordinalOf(overtime.employeeId());
+            LocalDate date = overtime.date();
+            if (ordinal < 0 || date == null) {
+                continue;
+            }
+
+            String periodKey = String.format("%04d-%02d", date.getYear(), date.getMonthValue());
+            if (result[ordinal] == null) {
+                result[ordinal] = new HashMap<>();
+            }
+            result[ordinal].merge(periodKey, overtime.overtimeHours(), Integer::sum);
+        }
+
+        return result;
+    }
+
+    /**
+     * Retrieves the total overtime hours of an employee ordinal in a given month.
+     *
+     * @param overtimesByEmployee Monthly overtime hours per employee ordinal
+     * @param employeeOrdinal     Ordinal of the employee, -1 if unknown
+     * @param periodKey           Key representing the month and year (e.g., "2023-10")
+     * @return Total overtime hours for the employee in that month
+     */
+    public int getOvertimeHours(Map<String, Integer>[] overtimesByEmployee, int employeeOrdinal,
+                                String periodKey) {
+        if (employeeOrdinal < 0 || overtimesByEmployee[employeeOrdinal] == null) {
+            return 0;
+        }
+        return overtimesByEmployee[employeeOrdinal].getOrDefault(periodKey, 0);
+    }
+
+    /**
+     * Aggregates overtime hours by employee ordinal and month for the calculation path.
+     * This engine keeps the string-keyed monthly maps; subclasses may use another structure.
+     *
+     * @param overtimes   List of overtime records
+     * @param employeeIds Dictionary of the employees that will be looked up
+     * @return Lookup of overtime hours by employee ordinal and month
+     */
+    public OvertimeHours aggregateOvertimeHours(List<Overtime> overtimes,
+                                                EmployeeIdDictionary employeeIds) {
+        Map<String, Integer>[] overtimesByEmployee =
+            aggregateOvertimesByMonth(overtimes, employeeIds);
+        return new OvertimeHours() {
+            @Override
+            public int hours(int employeeOrdinal, int yearMonth) {
+                return getOvertimeHours(overtimesByEmployee, employeeOrdinal,
+                    periodKey(yearMonth));
+            }
+
+            @Override
+            public Month month(int yearMonth) {
+                // Formatted once per month instead of once per employee
+                String periodKey = periodKey(yearMonth);
+                return employeeOrdinal ->
+                    getOvertimeHours(overtimesByEmployee, employeeOrdinal, periodKey);
+            }
+        };
+    }
+
+    private static String periodKey(int yearMonth) {
+        return String.format("%04d-%02d", yearMonth / 100, yearMonth % 100);
+    }
+
     public int getOvertimeHours(
         Map<String, Map<String, Integer>> overtimeMap,
         String employeeId,
@@ -55,13 +142,54 @@ public class OvertimeServiceImpl implements OvertimeService {
             return 0;
         }
 
-        int cappedHours = Math.min(overtimeHours, MAX_OVERTIME_HOURS);
-        if (cappedHours != overtimeHours) {
-            logger.warn("Overtime hours for employee {} limited from {} to {}",
-                rate.employeeId(), overtimeHours, cappedHours);
+        int cappedHours = limitHours(overtimeHours);
+        return cappedHours * rate.overtimeRate() * OVERTIME_COEFFICIENT;
+    }
+
+    /**
+     * Calculates the overtime pay in cents for the fixed-point calculation. The coefficient
+     * 1.5 is applied as 3/2 in integer arithmetic, so only a half cent needs rounding.
+     *
+     * @param overtimeRateCents Hourly overtime rate of the employee in cents
+     * @param overtimeHours     Total overtime hours worked by the employee
+     * @param rounding          Rounding of fractions of a cent
+     * @return Calculated overtime pay in cents
+     * @throws ArithmeticException If the overtime pay does not fit in a long
+     */
+    public long calculateOvertimePayCents(long overtimeRateCents, int overtimeHours,
+                                          RoundingMode rounding) {
+        if (overtimeHours <= 0) {
+            return 0;
         }
 
-        return cappedHours * rate.overtimeRate() * OVERTIME_COEFFICIENT;
+        int cappedHours = limitHours(overtimeHours);
+        long hoursPay = Math.multiplyExact(overtimeRateCents, cappedHours);
+        return Money.multiply(hoursPay, 3, 2, rounding);
+    }
+
+    // The calculation service records the limited employees with their payment date
+    private static int limitHours(int overtimeHours) {
+        return Math.min(overtimeHours, MAX_OVERTIME_HOURS);
+    }
+
+    /**
+     * Calculates the overtime pay of a batch of employees in columnar form. Gives the same
+     * results as {@link #calculateOvertimePay(Rate, int)} one by one; the limited hours are
+     * logged as one warning for the batch, as the arrays carry no employee IDs.
+     *
+     * @param overtimeHours Overtime hours per employee
+     * @param overtimeRates Overtime rate per employee
+     * @param overtimePay   Receives the overtime pay per employee
+     * @param count         Number of employees in the arrays
+     */
+    public void calculateOvertimePay(int[] overtimeHours, double[] overtimeRates,
+                                     double[] overtimePay, int count) {
+        int limited = PayKernel.preferred().overtimePay(overtimeHours, overtimeRates,
+            overtimePay, count);
+        if (limited > 0) {
+            logger.warn("Overtime hours of {} employees limited to {}", limited,
+                MAX_OVERTIME_HOURS);
+        }
     }
 
 }
@@ -0,0 +1,71 @@
+package com.payroll.service.impl;
+
+import com.payroll.index.OvertimeHours;
+import com.payroll.index.OvertimeIndex;
+import com.payroll.model.Overtime;
+import com.payroll.util.EmployeeIdDictionary;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Overtime service that aggregates into an {@link OvertimeIndex} keyed by
+ * (employee ordinal, month) instead of string-keyed maps.
+ *
+ * Large overtime lists are split into shards that are accumulated into the same index in
+ * parallel. Pay calculation and the map-based methods are inherited unchanged.
+ */
+public class PackedOvertimeServiceImpl extends OvertimeServiceImpl {
+    private static final Logger logger = LoggerFactory.getLogger(PackedOvertimeServiceImpl.class);
+    private static final int DEFAULT_SHARD_SIZE = 64 * 1024;
+
+    private final int shardSize;
+
+    public PackedOvertimeServiceImpl() {
+        this(DEFAULT_SHARD_SIZE);
+    }
+
+    /**
+     * Constructs the service with a given shard size.
+     *
+     * @param shardSize Number of overtime records aggregated by one task
+     */
+    public PackedOvertimeServiceImpl(int shardSize) {
+        if (shardSize < 1) {
+            throw new IllegalArgumentException("Shard size must be positive: " + shardSize);
+        }
+        this.shardSize = shardSize;
+    }
+
+    @Override
+    public OvertimeIndex aggregateOvertimeHours(List<Overtime> overtimes,
+                                                EmployeeIdDictionary employeeIds) {
+        OvertimeIndex index = new OvertimeIndex(overtimes.size());
+        int shards = (overtimes.size() + shardSize - 1) / shardSize;
+        if (shards <= 1) {
+            aggregateShard(overtimes, employeeIds, index);
+        } else {
+            logger.debug("Aggregating {} overtime records in {} shards", overtimes.size(), shards);
+            IntStream.range(0, shards).parallel().forEach(shard -> aggregateShard(
+                overtimes.subList(shard * shardSize,
+                    Math.min(overtimes.size(), (shard + 1) * shardSize)),
+                employeeIds, index));
+        }
+        return index;
+    }
+
+    private static void aggregateShard(List<Overtime> overtimes, EmployeeIdDictionary employeeIds,
+                                       OvertimeIndex index) {
+        for (Overtime overtime : overtimes) {
+            int ordinal = employeeIds.ordinalOf(overtime.employeeId());
+            LocalDate date = overtime.date();
+            if (ordinal < 0 || date == null) {
+                continue;
+            }
+            index.add(ordinal, OvertimeHours.yearMonth(date.getYear(), date.getMonthValue()),
+                overtime.overtimeHours());
+        }
+    }
+}
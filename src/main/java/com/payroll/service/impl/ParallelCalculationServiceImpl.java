@@ -0,0 +1,143 @@
+package com.payroll.service.impl;
+
+import com.payroll.audit.AuditTrail;
+import com.payroll.model.Money;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Calculation service that calculates the employees on a fork-join pool, all payments in
+ * one pass.
+ *
+ * The employee rows are split into chunks and every chunk collects its results in its own
+ * lists. The chunks are returned in row order, so the results are in the same order as
+ * with {@link CalculationServiceImpl}. Employee lists with fewer rows than the threshold
+ * are calculated sequentially. The service owns its pool and shuts it down on
+ * {@link #close()}.
+ */
+public class ParallelCalculationServiceImpl extends CalculationServiceImpl {
+    private static final Logger logger =
+        LoggerFactory.getLogger(ParallelCalculationServiceImpl.class);
+    public static final int DEFAULT_THRESHOLD = 10_000;
+    // Chunks per worker, so that workers that finish early can steal the remaining chunks
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Constructs the service with one worker per available processor.
+     */
+    public ParallelCalculationServiceImpl() {
+        this(new OvertimeServiceImpl(), Runtime.getRuntime().availableProcessors(),
+            DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Constructs the service.
+     *
+     * @param overtimeService Overtime service
+     * @param parallelism     Number of worker threads
+     * @param threshold       Minimum number of employees calculated in parallel
+     */
+    public ParallelCalculationServiceImpl(OvertimeServiceImpl overtimeService, int parallelism,
+                                          int threshold) {
+        this(overtimeService, parallelism, threshold, AuditTrail.disabled());
+    }
+
+    /**
+     * Constructs the service with an audit trail.
+     *
+     * @param overtimeService Overtime service
+     * @param parallelism     Number of worker threads
+     * @param threshold       Minimum number of employees calculated in parallel
+     * @param audit           Audit trail of the employees calculated
+     */
+    public ParallelCalculationServiceImpl(OvertimeServiceImpl overtimeService, int parallelism,
+                                          int threshold, AuditTrail audit) {
+        this(overtimeService, parallelism, threshold, audit, Money.DEFAULT_ROUNDING);
+    }
+
+    /**
+     * Constructs the service with an audit trail and arithmetic.
+     *
+     * @param overtimeService Overtime service
+     * @param parallelism     Number of worker threads
+     * @param threshold       Minimum number of employees calculated in parallel
+     * @param audit           Audit trail of the employees calculated
+     * @param rounding        Rounding of fractions of a cent, or null for doubles
+     */
+    public ParallelCalculationServiceImpl(OvertimeServiceImpl overtimeService, int parallelism,
+                                          int threshold, AuditTrail audit,
+                                          RoundingMode rounding) {
+        super(overtimeService, audit, rounding);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.threshold = Math.max(1, threshold);
+    }
+
+    @Override
+    protected <R> List<R> calculateRanges(int rows, RangeCalculation<R> calculation) {
+        if (rows < threshold || pool.getParallelism() == 1) {
+            return super.calculateRanges(rows, calculation);
+        }
+        int chunks = (int) Math.min(rows, (long) pool.getParallelism() * CHUNKS_PER_WORKER);
+        logger.debug("Calculating {} employees in {} chunks", rows, chunks);
+
+        @SuppressWarnings("unchecked")
+        List<R> ranges = Arrays.asList((R[]) new Object[chunks]);
+        pool.invoke(new ChunkTask<>(calculation, rows, chunks, ranges, 0, chunks));
+        return ranges;
+    }
+
+    /**
+     * Shuts the worker pool down once the running calculations are done.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Calculates chunks {@code first} to {@code last} (exclusive), splitting the range in
+     * halves until one chunk is left.
+     */
+    private static final class ChunkTask<R> extends RecursiveAction {
+        private final RangeCalculation<R> calculation;
+        private final int rows;
+        private final int chunks;
+        private final List<R> ranges;
+        private final int first;
+        private final int last;
+
+        ChunkTask(RangeCalculation<R> calculation, int rows, int chunks, List<R> ranges,
+                  int first, int last) {
+            this.calculation = calculation;
+            this.rows = rows;
+            this.chunks = chunks;
+            this.ranges = ranges;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first == 1) {
+                int from = (int) ((long) rows * first / chunks);
+                int to = (int) ((long) rows * last / chunks);
+                ranges.set(first, calculation.calculate(from, to));
+                return;
+            }
+            int middle = (first + last) >>> 1;
+            invokeAll(new ChunkTask<>(calculation, rows, chunks, ranges, first, middle),
+                new ChunkTask<>(calculation, rows, chunks, ranges, middle, last));
+        }
+    }
+}
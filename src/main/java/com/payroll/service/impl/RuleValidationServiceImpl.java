@@ -0,0 +1,165 @@
+package com.payroll.service.impl;
+
+import com.payroll.exception.ValidationException;
+import com.payroll.index.PreparedPayrollContext;
+import com.payroll.model.Calendar;
+import com.payroll.model.Employee;
+import com.payroll.model.Overtime;
+import com.payroll.model.Payment;
+import com.payroll.model.Rate;
+import com.payroll.model.TaxClass;
+import com.payroll.service.ValidationService;
+import com.payroll.validation.RuleResult;
+import com.payroll.validation.ValidationEngine;
+import com.payroll.validation.ValidationReport;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Data validation service that runs the rules of {@link ValidationEngine} and publishes a
+ * validation report.
+ *
+ * Instead of a warning per offending row, one warning per violated rule is logged; the
+ * counts and sample IDs are in the report. Missing input files and error rules still fail
+ * the validation, after the report has been published.
+ *
+ * The payment report of {@link #validateReferenceData} is kept for the employee
+ * validations that follow, so a service validates the reference data of one data root.
+ */
+public class RuleValidationServiceImpl implements ValidationService {
+    private static final Logger logger = LoggerFactory.getLogger(RuleValidationServiceImpl.class);
+
+    private final ValidationEngine engine;
+    private final Consumer<ValidationReport> reportConsumer;
+    // Payment report of validateReferenceData, completed by every employee validation
+    private volatile ValidationReport referenceReport;
+
+    /**
+     * Constructs a rule-based validation service.
+     *
+     * @param engine         Validation engine
+     * @param reportConsumer Receives the report of every validation, e.g. to save it
+     */
+    public RuleValidationServiceImpl(ValidationEngine engine,
+                                     Consumer<ValidationReport> reportConsumer) {
+        this.engine = engine;
+        this.reportConsumer = reportConsumer;
+    }
+
+    @Override
+    public void validateData(
+        List<Employee> employees,
+        List<Rate> rates,
+        List<Payment> payments,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar
+    ) throws ValidationException {
+        logger.info("Starting data validation");
+
+        requireData(employees, "Employee");
+        requireReferenceData(rates, payments, taxClasses, calendar);
+
+        publish(engine.validate(employees, rates, payments, overtimes, taxClasses, calendar));
+    }
+
+    @Override
+    public void validateData(PreparedPayrollContext context) throws ValidationException {
+        logger.info("Starting data validation");
+
+        requireData(context.employees(), "Employee");
+        requireReferenceData(context.rates(), context.payments(), context.taxClasses(),
+            context.calendar());
+
+        publish(engine.validate(context));
+    }
+
+    @Override
+    public void validateReferenceData(
+        List<Rate> rates,
+        List<Payment> payments,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar
+    ) throws ValidationException {
+        requireReferenceData(rates, payments, taxClasses, calendar);
+
+        ValidationReport report = engine.validatePayments(payments, calendar);
+        referenceReport = report;
+        if (report.firstError().isPresent()) {
+            publish(report);
+        }
+    }
+
+    @Override
+    public EmployeeValidation startEmployeeValidation(List<Rate> rates,
+                                                      List<TaxClass> taxClasses) {
+        ValidationEngine.EmployeeBatches batches = engine.startEmployeeBatches(rates, taxClasses);
+        return new EmployeeValidation() {
+            @Override
+            public void validate(List<Employee> employees) {
+                batches.accept(employees);
+            }
+
+            @Override
+            public void finish(List<Overtime> overtimes) throws ValidationException {
+                if (batches.rows() == 0) {
+                    logger.error("Employee data is missing");
+                    throw new ValidationException("Employee data is missing");
+                }
+                ValidationReport report = batches.finish(overtimes);
+                ValidationReport payments = referenceReport;
+                publish(payments == null
+                    ? report : ValidationEngine.merge(List.of(report, payments)));
+            }
+        };
+    }
+
+    /**
+     * Logs a summary of the report, hands it to the report consumer and fails if an error
+     * rule was violated.
+     */
+    private void publish(ValidationReport report) throws ValidationException {
+        Map<String, Integer> inputs = report.inputs();
+        for (RuleResult rule : report.rules()) {
+            if (rule.violations() > 0) {
+                logger.warn("{} ({}): {} of {} {}, e.g. {}", rule.message(), rule.id(),
+                    rule.violations(), inputs.get(rule.input()), rule.input(), rule.samples());
+            }
+        }
+        reportConsumer.accept(report);
+
+        Optional<RuleResult> error = report.firstError();
+        if (error.isPresent()) {
+            List<String> samples = error.get().samples();
+            String message = samples.isEmpty()
+                ? error.get().message() : error.get().message() + ": " + samples.get(0);
+            logger.error(message);
+            throw new ValidationException(message);
+        }
+        logger.info("Data validation completed with {} violations in {} ms",
+            report.violations(), report.durationMillis());
+    }
+
+    private static void requireReferenceData(
+        List<Rate> rates,
+        List<Payment> payments,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar
+    ) throws ValidationException {
+        requireData(rates, "Rate");
+        requireData(payments, "Payment");
+        requireData(taxClasses, "Tax class");
+        requireData(calendar, "Calendar");
+    }
+
+    private static void requireData(List<?> data, String name) throws ValidationException {
+        if (data == null || data.isEmpty()) {
+            logger.error("{} data is missing", name);
+            throw new ValidationException(name + " data is missing");
+        }
+    }
+}
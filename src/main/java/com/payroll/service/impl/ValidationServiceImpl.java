@@ -2,16 +2,21 @@ package com.payroll.service.impl;
 
 import com.payroll.service.ValidationService;
 import com.payroll.exception.ValidationException;
+import com.payroll.index.PreparedPayrollContext;
+import com.payroll.index.WorkingDayIndex;
 import com.payroll.model.Calendar;
 import com.payroll.model.Employee;
 import com.payroll.model.Overtime;
 import com.payroll.model.Payment;
 import com.payroll.model.Rate;
 import com.payroll.model.TaxClass;
+import com.payroll.util.EmployeeIdDictionary;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +44,97 @@ public class ValidationServiceImpl implements ValidationService {
             throw new ValidationException("Employee data is missing");
         }
 
+        validateReferenceData(rates, payments, taxClasses, calendar);
+
+        // Map employee IDs to dense ordinals; the joins below are then bitset lookups
+        EmployeeIdDictionary employeeIds = new EmployeeIdDictionary();
+        int[] ordinals = new int[employees.size()];
+
+        // Find duplicate employee IDs
+        Set<String> duplicateIds = findDuplicateEmployeeIds(employees, employeeIds, ordinals);
+        if (!duplicateIds.isEmpty()) {
+            logger.warn("Found duplicate employee IDs: {}", duplicateIds);
+        }
+
+        // Create lookup structures
+        BitSet employeesWithRate = createRateIndex(rates, employeeIds);
+        Map<String, TaxClass> taxClassMap = createTaxClassMap(taxClasses);
+
+        // Cross-file data consistency check
+        int index = 0;
+        for (Employee employee : employees) {
+            int ordinal = ordinals[index++];
+            validateEmployee(employee,
+                employeesWithRate.get(ordinal < 0 ? employeeIds.size() : ordinal), taxClassMap);
+        }
+
+        // Validate overtime data
+        boolean employeeWithoutId = employees.stream()
+            .anyMatch(employee -> employee.getEmployeeId() == null);
+        validateOvertimes(overtimes, employeeId -> employeeId == null
+            ? employeeWithoutId : employeeIds.ordinalOf(employeeId) >= 0);
+
+        logger.info("Data validation completed");
+    }
+
+    @Override
+    public void validateData(PreparedPayrollContext context) throws ValidationException {
+        logger.info("Starting data validation");
+
+        // Basic data presence check
+        List<Employee> employees = context.employees();
+        if (employees == null || employees.isEmpty()) {
+            logger.error("Employee data is missing");
+            throw new ValidationException("Employee data is missing");
+        }
+
+        requireReferenceData(context.rates(), context.payments(), context.taxClasses(),
+            context.calendar());
+        validatePaymentPeriods(context.payments(), context.workingDays());
+
+        // Duplicate employee IDs were marked when the context was built
+        Set<String> duplicateIds = new HashSet<>();
+        for (int row = 0; row < employees.size(); row++) {
+            if (context.isRepeatedEmployee(row)) {
+                duplicateIds.add(employees.get(row).getEmployeeId());
+            }
+        }
+        if (!duplicateIds.isEmpty()) {
+            logger.warn("Found duplicate employee IDs: {}", duplicateIds);
+        }
+
+        // Cross-file data consistency check
+        for (Employee employee : employees) {
+            validateEmployee(employee, context.rate(employee.getEmployeeId()) != null,
+                context.taxClassMap());
+        }
+
+        // Validate overtime data
+        validateOvertimes(context.overtimes(), context::hasEmployee);
+
+        logger.info("Data validation completed");
+    }
+
+    @Override
+    public void validateReferenceData(
+        List<Rate> rates,
+        List<Payment> payments,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar
+    ) throws ValidationException {
+        requireReferenceData(rates, payments, taxClasses, calendar);
+        validatePaymentPeriods(payments, WorkingDayIndex.of(calendar));
+    }
+
+    /**
+     * Checks that no reference data file is missing.
+     */
+    private void requireReferenceData(
+        List<Rate> rates,
+        List<Payment> payments,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar
+    ) throws ValidationException {
         if (rates == null || rates.isEmpty()) {
             logger.error("Rate data is missing");
             throw new ValidationException("Rate data is missing");
@@ -59,73 +155,72 @@ public class ValidationServiceImpl implements ValidationService {
             logger.error("Calendar data is missing");
             throw new ValidationException("Calendar data is missing");
         }
+    }
 
-        // Check if each payment period has calendar data
+    /**
+     * Checks that each payment period has calendar data.
+     */
+    private void validatePaymentPeriods(List<Payment> payments,
+                                        WorkingDayIndex workingDayIndex)
+        throws ValidationException {
         for (Payment payment : payments) {
             int year = payment.year();
             int month = payment.month();
 
-            long daysInMonth = calendar.stream()
-                .filter(day -> day.year() == year && day.month() == month)
-                .count();
-
-            if (daysInMonth == 0) {
+            if (!workingDayIndex.hasCalendar(year, month)) {
                 logger.error("No calendar data for payment period: {}-{}", year, month);
                 throw new ValidationException("No calendar data for payment period: " + year + "-" + month);
             }
 
-            long workingDays = calendar.stream()
-                .filter(day -> day.year() == year && day.month() == month && day.isWorkingDay())
-                .count();
-
-            if (workingDays == 0) {
+            if (workingDayIndex.workingDays(year, month) == 0) {
                 logger.warn("No working days found for payment period: {}-{}", year, month);
             }
         }
+    }
 
-        // Create maps for faster lookups
-        Map<String, Employee> employeeMap = createEmployeeMap(employees);
-        Map<String, Rate> rateMap = createRateMap(rates);
-        Map<String, TaxClass> taxClassMap = createTaxClassMap(taxClasses);
-
-        // Find duplicate employee IDs
-        Set<String> duplicateIds = findDuplicateEmployeeIds(employees);
-        if (!duplicateIds.isEmpty()) {
-            logger.warn("Found duplicate employee IDs: {}", duplicateIds);
-        }
-
-        // Cross-file data consistency check
-        for (Employee employee : employees) {
-            String employeeId = employee.getEmployeeId();
+    @Override
+    public EmployeeValidation startEmployeeValidation(List<Rate> rates,
+                                                      List<TaxClass> taxClasses) {
+        return new BatchEmployeeValidation(rates, taxClasses);
+    }
 
-            // Required employee fields check
-            if (employee.getFullName() == null || employee.getFullName().isEmpty()) {
-                logger.warn("Employee {} has no name", employeeId);
-            }
+    /**
+     * Checks the fields of one employee against the other files.
+     */
+    private void validateEmployee(Employee employee, boolean hasRate,
+                                  Map<String, TaxClass> taxClassMap) {
+        String employeeId = employee.getEmployeeId();
 
-            if (employee.getTaxClass() == null || employee.getTaxClass().isEmpty()) {
-                logger.warn("Employee {} has no tax class", employeeId);
-            }
+        // Required employee fields check
+        if (employee.getFullName() == null || employee.getFullName().isEmpty()) {
+            logger.warn("Employee {} has no name", employeeId);
+        }
 
-            // Check if rate exists
-            if (!rateMap.containsKey(employeeId)) {
-                logger.warn("No rate found for employee {}", employeeId);
-            }
+        if (employee.getTaxClass() == null || employee.getTaxClass().isEmpty()) {
+            logger.warn("Employee {} has no tax class", employeeId);
+        }
 
-            // Tax class validity check
-            if (employee.getTaxClass() != null && !employee.getTaxClass().isEmpty() &&
-                !taxClassMap.containsKey(employee.getTaxClass())) {
-                logger.warn("Invalid tax class for employee {}: {}", employeeId, employee.getTaxClass());
-            }
+        // Check if rate exists
+        if (!hasRate) {
+            logger.warn("No rate found for employee {}", employeeId);
+        }
 
+        // Tax class validity check
+        if (employee.getTaxClass() != null && !employee.getTaxClass().isEmpty() &&
+            !taxClassMap.containsKey(employee.getTaxClass())) {
+            logger.warn("Invalid tax class for employee {}: {}", employeeId, employee.getTaxClass());
         }
+    }
 
-        // Validate overtime data
+    /**
+     * Checks that every overtime entry belongs to an employee and has a date.
+     */
+    private void validateOvertimes(List<Overtime> overtimes, Predicate<String> employeeExists) {
         for (Overtime overtime : overtimes) {
             String employeeId = overtime.employeeId();
 
             // Check if employee exists
-            if (!employeeMap.containsKey(employeeId)) {
+            if (!employeeExists.test(employeeId)) {
                 logger.warn("Overtime entry for non-existent employee: {}", employeeId);
             }
 
@@ -134,17 +229,29 @@ public class ValidationServiceImpl implements ValidationService {
                 logger.warn("Overtime entry has no date: {}", overtime);
             }
         }
-
-        logger.info("Data validation completed");
     }
 
-    private Set<String> findDuplicateEmployeeIds(List<Employee> employees) {
-        Set<String> seenIds = new HashSet<>();
+    /**
+     * Registers every employee ID in the dictionary and collects the IDs seen more than once.
+     * The ordinal of each employee is stored in {@code ordinals}, in list order.
+     */
+    private Set<String> findDuplicateEmployeeIds(List<Employee> employees,
+                                                 EmployeeIdDictionary employeeIds, int[] ordinals) {
         Set<String> duplicateIds = new HashSet<>();
+        boolean seenMissingId = false;
 
+        int index = 0;
         for (Employee employee : employees) {
             String employeeId = employee.getEmployeeId();
-            if (!seenIds.add(employeeId)) {
+            int known = employeeIds.size();
+            int ordinal = employeeIds.intern(employeeId);
+            ordinals[index++] = ordinal;
+            if (employeeId == null) {
+                if (seenMissingId) {
+                    duplicateIds.add(null);
+                }
+                seenMissingId = true;
+            } else if (ordinal < known) {
                 duplicateIds.add(employeeId);
             }
         }
@@ -152,22 +259,78 @@ public class ValidationServiceImpl implements ValidationService {
         return duplicateIds;
     }
 
-    private Map<String, Employee> createEmployeeMap(List<Employee> employees) {
-        return employees.stream()
-            .collect(Collectors.toMap(
-                Employee::getEmployeeId,
-                e -> e,
-                (existing, replacement) -> existing // Keep first occurrence in case of duplicates
-            ));
+    /**
+     * Marks the employee ordinals that have a rate. The bit at {@code employeeIds.size()}
+     * is set when there is a rate without an employee ID.
+     */
+    private BitSet createRateIndex(List<Rate> rates, EmployeeIdDictionary employeeIds) {
+        BitSet employeesWithRate = new BitSet(employeeIds.size() + 1);
+        for (Rate rate : rates) {
+            int ordinal = rate.employeeId() == null
+                ? employeeIds.size() : employeeIds.ordinalOf(rate.employeeId());
+            if (ordinal >= 0) {
+                employeesWithRate.set(ordinal);
+            }
+        }
+        return employeesWithRate;
     }
 
-    private Map<String, Rate> createRateMap(List<Rate> rates) {
-        return rates.stream()
-            .collect(Collectors.toMap(
-                Rate::employeeId,
-                r -> r,
-                (existing, replacement) -> existing // Keep first occurrence in case of duplicates
-            ));
+    /**
+     * Validates employees batch by batch. Only the employee IDs are kept between batches,
+     * for the duplicate and overtime checks in {@link #finish(List)}.
+     */
+    private final class BatchEmployeeValidation implements EmployeeValidation {
+        private final EmployeeIdDictionary employeeIds = new EmployeeIdDictionary();
+        private final EmployeeIdDictionary rateIds = new EmployeeIdDictionary();
+        private final Map<String, TaxClass> taxClassMap;
+        private final Set<String> duplicateIds = new HashSet<>();
+        private boolean rateWithoutId;
+        private boolean employeeWithoutId;
+        private long count;
+
+        BatchEmployeeValidation(List<Rate> rates, List<TaxClass> taxClasses) {
+            for (Rate rate : rates) {
+                rateWithoutId |= rate.employeeId() == null;
+                rateIds.intern(rate.employeeId());
+            }
+            this.taxClassMap = createTaxClassMap(taxClasses);
+        }
+
+        @Override
+        public void validate(List<Employee> employees) {
+            for (Employee employee : employees) {
+                String employeeId = employee.getEmployeeId();
+                int known = employeeIds.size();
+                if (employeeId == null) {
+                    if (employeeWithoutId) {
+                        duplicateIds.add(null);
+                    }
+                    employeeWithoutId = true;
+                } else if (employeeIds.intern(employeeId) < known) {
+                    duplicateIds.add(employeeId);
+                }
+
+                boolean hasRate =
+                    employeeId == null ? rateWithoutId : rateIds.ordinalOf(employeeId) >= 0;
+                validateEmployee(employee, hasRate, taxClassMap);
+            }
+            count += employees.size();
+        }
+
+        @Override
+        public void finish(List<Overtime> overtimes) throws ValidationException {
+            if (count == 0) {
+                logger.error("Employee data is missing");
+                throw new ValidationException("Employee data is missing");
+            }
+            if (!duplicateIds.isEmpty()) {
+                logger.warn("Found duplicate employee IDs: {}", duplicateIds);
+            }
+
+            validateOvertimes(overtimes, employeeId -> employeeId == null
+                ? employeeWithoutId : employeeIds.ordinalOf(employeeId) >= 0);
+            logger.info("Data validation completed for {} employees", count);
+        }
     }
 
     private Map<String, TaxClass> createTaxClassMap(List<TaxClass> taxClasses) {
@@ -0,0 +1,113 @@
+package com.payroll.util;
+
+import com.payroll.exception.DataLoadException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded queue of batches between a producer and a consumer thread.
+ *
+ * The producer blocks while the queue is full, which bounds the memory held by batches
+ * in flight. The producer ends the stream with {@link #close()}. Either side can
+ * {@link #fail(Throwable)} the queue; the other side then gets the failure from its next
+ * put or take instead of waiting forever.
+ *
+ * @param <T> Type of the batch items
+ */
+public final class BatchQueue<T> {
+    private static final long POLL_MILLIS = 50;
+
+    private final BlockingQueue<List<T>> queue;
+    private final List<T> end = new ArrayList<>(0);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * Creates a queue.
+     *
+     * @param capacity Maximum number of batches waiting in the queue
+     */
+    public BatchQueue(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Adds a batch, waiting while the queue is full.
+     *
+     * @param batch Batch to add
+     * @throws CancellationException If the thread is interrupted; a failure of the queue is
+     *                               rethrown as in {@link #take()}
+     */
+    public void put(List<T> batch) {
+        offer(batch);
+    }
+
+    /**
+     * Marks the end of the stream after the batches added so far.
+     */
+    public void close() {
+        offer(end);
+    }
+
+    /**
+     * Fails the queue, so that both sides stop.
+     *
+     * @param cause Failure to report to the other side
+     */
+    public void fail(Throwable cause) {
+        failure.compareAndSet(null, cause);
+    }
+
+    /**
+     * Takes the next batch, waiting while the queue is empty.
+     *
+     * @return Next batch, or null at the end of the stream
+     * @throws DataLoadException If the queue failed with a checked exception or the thread is
+     *                           interrupted; unchecked failures are rethrown as they are
+     */
+    public List<T> take() {
+        try {
+            while (true) {
+                throwIfFailed();
+                List<T> batch = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (batch != null) {
+                    return batch == end ? null : batch;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataLoadException("Interrupted while waiting for data", e);
+        }
+    }
+
+    private void offer(List<T> batch) {
+        try {
+            while (true) {
+                throwIfFailed();
+                if (queue.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while adding a batch");
+        }
+    }
+
+    private void throwIfFailed() {
+        Throwable cause = failure.get();
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause != null) {
+            throw new DataLoadException("Error processing data: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.payroll.util;
+
+import com.payroll.exception.DataLoadException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs independent loads on their own threads, virtual ones by default, and fails as soon
+ * as one of them fails.
+ *
+ * Loads are started with {@link #fork(String, Callable)} and awaited with {@link #join()}.
+ * The first failure cancels the loads that are still running and is rethrown by join.
+ * Loads are cancelled by interrupting their threads rather than through their futures, so
+ * the executor only terminates once every load has stopped.
+ * The time of every load is logged. Use in a try-with-resources block:
+ * <pre>
+ * try (ConcurrentLoader loader = new ConcurrentLoader()) {
+ *     Supplier&lt;List&lt;Rate&gt;&gt; rates = loader.fork("rates", fileService::loadRates);
+ *     loader.join();
+ *     rates.get();
+ * }
+ * </pre>
+ */
+public final class ConcurrentLoader implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentLoader.class);
+
+    private final ExecutorService executor;
+    private final List<Future<?>> loads = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * Constructs a loader that runs every load on a new virtual thread.
+     */
+    public ConcurrentLoader() {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Constructs a loader that runs every load on a new thread of a factory, e.g. on
+     * platform threads when per-thread allocations are measured.
+     *
+     * @param threadFactory Factory of the load threads
+     */
+    public ConcurrentLoader(ThreadFactory threadFactory) {
+        this.executor = Executors.newThreadPerTaskExecutor(threadFactory);
+    }
+
+    /**
+     * Starts a load on a new thread.
+     *
+     * @param name Name of the load, used for logging
+     * @param load Load to run
+     * @param <T>  Type of the loaded data
+     * @return Supplier of the loaded data, available after {@link #join()} returned
+     */
+    public <T> Supplier<T> fork(String name, Callable<T> load) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    T result = load.call();
+                    logger.info("Loaded {} in {} ms", name,
+                        (System.nanoTime() - start) / 1_000_000);
+                    return result;
+                } catch (Throwable e) {
+                    if (failure.compareAndSet(null, e)) {
+                        logger.debug("Loading {} failed, cancelling the other loads", name);
+                        executor.shutdownNow();
+                    }
+                    throw e;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // A load has failed already and stopped the executor; join rethrows the failure
+            return () -> {
+                throw new IllegalStateException("Load " + name + " was not started");
+            };
+        }
+        loads.add(future);
+        return () -> {
+            if (!future.isDone()) {
+                throw new IllegalStateException("Load " + name + " has not been joined");
+            }
+            return future.resultNow();
+        };
+    }
+
+    /**
+     * Waits until all loads have finished or one of them has failed.
+     *
+     * @throws DataLoadException If a load failed with a checked exception or the wait was
+     *                           interrupted; unchecked exceptions are rethrown as they are
+     */
+    public void join() throws DataLoadException {
+        for (Future<?> load : loads) {
+            if (failure.get() != null) {
+                break;
+            }
+            try {
+                load.get();
+            } catch (CancellationException | ExecutionException e) {
+                // The failing load has recorded its exception
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                throw new DataLoadException("Interrupted while loading data", e);
+            }
+        }
+
+        Throwable cause = failure.get();
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause != null) {
+            throw new DataLoadException("Error loading data: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Cancels the loads that are still running and waits until they have stopped, so no
+     * load outlives the loader.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        // Waits for termination; interrupting the wait cancels the loads again
+        executor.close();
+    }
+}
@@ -0,0 +1,89 @@
+package com.payroll.util;
+
+/**
+ * Forward-only cursor over the data rows of a CSV file with headers.
+ *
+ * Header names are resolved to column indexes once via {@link #columnIndex(String)};
+ * the fields of the current row are then read by index without building a map per row.
+ * Values follow the same rules as {@link CsvParser#parseWithHeaders(String)}: they are
+ * trimmed, and empty or missing fields are reported as {@code null}.
+ */
+public interface CsvCursor extends AutoCloseable {
+
+    /**
+     * Gets the header names of the file.
+     *
+     * @return Array of header names, empty if the file has no header
+     */
+    String[] headers();
+
+    /**
+     * Resolves a header name to its column index.
+     *
+     * @param header Header name
+     * @return Column index, or -1 if the file has no such column
+     */
+    int columnIndex(String header);
+
+    /**
+     * Advances to the next non-blank data row.
+     *
+     * @return true if a row is available, false at the end of the input
+     */
+    boolean next();
+
+    /**
+     * Gets the value of a field in the current row.
+     *
+     * @param column Column index
+     * @return Trimmed value, or null if the field is empty or missing
+     */
+    String getString(int column);
+
+    /**
+     * Checks whether a field in the current row is empty or missing.
+     *
+     * @param column Column index
+     * @return true if the field has no value
+     */
+    boolean isNull(int column);
+
+    /**
+     * Parses a field in the current row as an int.
+     *
+     * @param column Column index
+     * @return Parsed value
+     * @throws NumberFormatException If the field is missing or not an int
+     */
+    int getInt(int column);
+
+    /**
+     * Parses a field in the current row as a double.
+     *
+     * @param column Column index
+     * @return Parsed value
+     * @throws NumberFormatException If the field is not a number
+     * @throws NullPointerException  If the field is missing
+     */
+    double getDouble(int column);
+
+    /**
+     * Gets the 1-based line number of the current row in the file.
+     *
+     * @return Line number
+     */
+    long lineNumber();
+
+    /**
+     * Gets the raw text of the current row, for diagnostics.
+     *
+     * @return Row text
+     */
+    String rowText();
+
+    /**
+     * Releases the underlying file.
+     */
+    @Override
+    void close();
+}
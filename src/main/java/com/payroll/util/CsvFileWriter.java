@@ -0,0 +1,214 @@
+package com.payroll.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * UTF-8 text writer for CSV output that encodes into a direct buffer and writes it to a
+ * FileChannel, or to any other channel such as the body of an HTTP response.
+ *
+ * Two-decimal amounts are formatted into a reusable digit buffer, so writing a row does not
+ * allocate. The output is the same as String.format(Locale.ROOT, "%.2f", value): values
+ * close to a rounding tie, very large values and non-finite values are formatted with
+ * String.format, which rounds the shortest decimal representation half up.
+ *
+ * Not thread-safe.
+ */
+public final class CsvFileWriter implements Closeable {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    /** Amounts below this limit are scaled to cents with an error far below the tie margin. */
+    private static final double FAST_AMOUNT_LIMIT = 1e9;
+    /** Distance from a half cent below which the amount is formatted by the JDK. */
+    private static final double TIE_MARGIN = 1e-4;
+    private static final byte[] LINE_SEPARATOR =
+        System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[20];
+    private long bytesWritten;
+
+    private CsvFileWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Opens a file for writing, replacing its content.
+     *
+     * @param path       Path to the file
+     * @param bufferSize Size of the direct write buffer in bytes
+     * @return Opened writer
+     * @throws IOException If the file cannot be opened
+     */
+    public static CsvFileWriter open(String path, int bufferSize) throws IOException {
+        checkBufferSize(bufferSize);
+        FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new CsvFileWriter(channel, bufferSize);
+    }
+
+    /**
+     * Creates a writer to a channel. Closing the writer closes the channel.
+     *
+     * @param channel    Channel to write to
+     * @param bufferSize Size of the direct write buffer in bytes
+     * @return Writer
+     */
+    public static CsvFileWriter of(WritableByteChannel channel, int bufferSize) {
+        checkBufferSize(bufferSize);
+        return new CsvFileWriter(channel, bufferSize);
+    }
+
+    private static void checkBufferSize(int bufferSize) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("Buffer size is too small: " + bufferSize);
+        }
+    }
+
+    /**
+     * Writes a string like %s does, so null is written as "null".
+     *
+     * @param text Text to write
+     * @throws IOException If the file cannot be written
+     */
+    public void write(String text) throws IOException {
+        if (text == null) {
+            text = "null";
+        }
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                writeEncoded(text.substring(i));
+                return;
+            }
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+            buffer.put((byte) c);
+        }
+    }
+
+    /**
+     * Writes a single ASCII character such as a separator.
+     *
+     * @param c Character to write
+     * @throws IOException If the file cannot be written
+     */
+    public void write(char c) throws IOException {
+        if (c >= 0x80) {
+            writeEncoded(String.valueOf(c));
+            return;
+        }
+        if (!buffer.hasRemaining()) {
+            flushBuffer();
+        }
+        buffer.put((byte) c);
+    }
+
+    /**
+     * Writes an amount with two decimals.
+     *
+     * @param value Amount to write
+     * @throws IOException If the file cannot be written
+     */
+    public void writeAmount(double value) throws IOException {
+        double magnitude = Math.abs(value);
+        if (!(magnitude < FAST_AMOUNT_LIMIT)) {
+            write(String.format(Locale.ROOT, "%.2f", value));
+            return;
+        }
+        double scaled = magnitude * 100;
+        double fraction = scaled - Math.floor(scaled);
+        if (Math.abs(fraction - 0.5) < TIE_MARGIN) {
+            write(String.format(Locale.ROOT, "%.2f", value));
+            return;
+        }
+
+        long cents = (long) Math.floor(scaled + 0.5);
+        int position = digits.length;
+        for (int i = 0; i < 2; i++) {
+            digits[--position] = (byte) ('0' + cents % 10);
+            cents /= 10;
+        }
+        digits[--position] = '.';
+        do {
+            digits[--position] = (byte) ('0' + cents % 10);
+            cents /= 10;
+        } while (cents != 0);
+        // Formatter prints the sign of -0.0 and of negative values that round to zero
+        if (Double.doubleToRawLongBits(value) < 0) {
+            digits[--position] = '-';
+        }
+        writeBytes(digits, position, digits.length - position);
+    }
+
+    /**
+     * Writes the platform line separator, as BufferedWriter.newLine does.
+     *
+     * @throws IOException If the file cannot be written
+     */
+    public void newLine() throws IOException {
+        writeBytes(LINE_SEPARATOR, 0, LINE_SEPARATOR.length);
+    }
+
+    /**
+     * Writes buffered bytes to the file.
+     *
+     * @throws IOException If the file cannot be written
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+    }
+
+    /**
+     * Gets the number of bytes written to the file so far, not counting buffered bytes.
+     *
+     * @return Bytes written
+     */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flushBuffer();
+        }
+    }
+
+    private void writeEncoded(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    private void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.put(bytes, offset, count);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        bytesWritten += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
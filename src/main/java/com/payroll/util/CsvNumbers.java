@@ -0,0 +1,113 @@
+package com.payroll.util;
+
+/**
+ * Number parsing helpers for CSV cursors.
+ *
+ * The fast paths read plain decimal text in place; anything else (exponents, unicode
+ * digits, very long values) is handed to {@link Integer#parseInt(String)} or
+ * {@link Double#parseDouble(String)} so results always match the JDK parsers.
+ */
+final class CsvNumbers {
+
+    /** Powers of ten that are exactly representable as doubles. */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** Largest number of significant digits whose value is exact in a double. */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    /** Marker returned by the fast paths when the text has to go through the JDK parser. */
+    static final long NOT_PARSED = Long.MIN_VALUE;
+
+    private CsvNumbers() {
+    }
+
+    /**
+     * Parses an int from a region of a char sequence.
+     *
+     * @return Parsed value, or {@link #NOT_PARSED} if the text is not a plain int
+     */
+    static long parseInt(CharSequence text, int start, int end) {
+        if (start >= end) {
+            return NOT_PARSED;
+        }
+        boolean negative = false;
+        char first = text.charAt(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+        }
+        int length = end - start;
+        if (length == 0 || length > 9) {
+            return NOT_PARSED;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_PARSED;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a double from a region of a char sequence.
+     *
+     * @return Parsed value, or NaN if the text is not a plain decimal number
+     */
+    static double parseDouble(CharSequence text, int start, int end) {
+        if (start >= end) {
+            return Double.NaN;
+        }
+        boolean negative = false;
+        char first = text.charAt(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        boolean sawDigit = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                return Double.NaN;
+            }
+            sawDigit = true;
+            if (mantissa != 0 || digit != 0) {
+                digits++;
+            }
+            mantissa = mantissa * 10 + digit;
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        return toDouble(negative, mantissa, sawDigit, digits, fractionDigits);
+    }
+
+    /**
+     * Builds a double from parsed decimal parts when the conversion is exact: a mantissa
+     * of at most 15 digits divided by an exact power of ten rounds correctly.
+     *
+     * @return Converted value, or NaN if the JDK parser has to be used
+     */
+    static double toDouble(boolean negative, long mantissa, boolean sawDigit, int digits,
+                           int fractionDigits) {
+        int scale = Math.max(fractionDigits, 0);
+        if (!sawDigit || digits > MAX_EXACT_DIGITS || scale >= POWERS_OF_TEN.length) {
+            return Double.NaN;
+        }
+        double value = (double) mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+}
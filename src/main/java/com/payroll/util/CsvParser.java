@@ -22,4 +22,27 @@ public interface CsvParser {
      * @return List of maps where keys are header names and values are cell values
      */
     List<Map<String, String>> parseWithHeaders(String path);
+
+    /**
+     * Open a streaming cursor over the data rows of a CSV file with headers.
+     * The caller is responsible for closing the cursor.
+     *
+     * @param path Path to the CSV file
+     * @return Cursor positioned before the first data row
+     */
+    CsvCursor openCursor(String path);
+
+    /**
+     * Open cursors over consecutive parts of a CSV file so they can be read in parallel.
+     * Every cursor shares the header of the file, and reading the cursors one after
+     * another yields the same rows as {@link #openCursor(String)}.
+     * Parsers that cannot split a file return a single cursor.
+     *
+     * @param path  Path to the CSV file
+     * @param parts Requested number of parts
+     * @return Cursors in file order, to be closed by the caller
+     */
+    default List<CsvCursor> openCursors(String path, int parts) {
+        return List.of(openCursor(path));
+    }
 }
\ No newline at end of file
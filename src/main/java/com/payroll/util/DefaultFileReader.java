@@ -1,9 +1,12 @@
 package com.payroll.util;
 
 import com.payroll.exception.DataLoadException;
+import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Paths;
 import java.util.List;
 
@@ -11,6 +14,8 @@ import java.util.List;
  * Default implementation of FileReader using Files.readAllLines.
  */
 public class DefaultFileReader implements FileReader {
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
     @Override
     public List<String> readAllLines(String filePath) {
         try {
@@ -21,4 +26,17 @@ public class DefaultFileReader implements FileReader {
             throw new DataLoadException("Error reading file: " + filePath, e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public BufferedReader newReader(String filePath) {
+        try {
+            return new BufferedReader(new InputStreamReader(
+                Files.newInputStream(Paths.get(filePath)), FileReader.lineDecoder()),
+                READ_BUFFER_SIZE);
+        } catch (NoSuchFileException e) {
+            throw new DataLoadException("File not found: " + filePath, e);
+        } catch (IOException e) {
+            throw new DataLoadException("Error reading file: " + filePath, e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.payroll.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Append-only memory outside the Java heap, in direct ByteBuffer chunks of a fixed size.
+ *
+ * Space is allocated with {@link #allocate(int)}, which returns a long address; an
+ * allocation never spans two chunks, so fixed-width records whose size divides the chunk
+ * size sit at {@code row * recordSize}. Values are read and written at an address in the
+ * native byte order. The memory counts against -XX:MaxDirectMemorySize and is released
+ * when the store becomes unreachable.
+ *
+ * Not thread-safe while allocating and writing; concurrent reads are safe once the store
+ * has been published.
+ */
+public final class DirectStore {
+    /** 16 MiB chunks. */
+    public static final int DEFAULT_CHUNK_BITS = 24;
+
+    private final int chunkBits;
+    private final int chunkSize;
+    private ByteBuffer[] chunks = new ByteBuffer[8];
+    private int chunkCount;
+    private long size;
+
+    public DirectStore() {
+        this(DEFAULT_CHUNK_BITS);
+    }
+
+    /**
+     * Creates an empty store.
+     *
+     * @param chunkBits Binary logarithm of the chunk size, from 6 to 30
+     */
+    public DirectStore(int chunkBits) {
+        if (chunkBits < 6 || chunkBits > 30) {
+            throw new IllegalArgumentException("Chunk bits out of range: " + chunkBits);
+        }
+        this.chunkBits = chunkBits;
+        this.chunkSize = 1 << chunkBits;
+    }
+
+    /**
+     * Allocates space, in the next chunk if the current one has too little left.
+     *
+     * @param length Number of bytes, at most the chunk size
+     * @return Address of the space
+     */
+    public long allocate(int length) {
+        if (length < 0 || length > chunkSize) {
+            throw new IllegalArgumentException("Cannot allocate " + length + " bytes in chunks of "
+                + chunkSize);
+        }
+        long offset = size & (chunkSize - 1);
+        if (offset + length > chunkSize) {
+            size += chunkSize - offset;
+        }
+        long address = size;
+        size += length;
+        while ((long) chunkCount << chunkBits < size) {
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            }
+            chunks[chunkCount++] =
+                ByteBuffer.allocateDirect(chunkSize).order(ByteOrder.nativeOrder());
+        }
+        return address;
+    }
+
+    public byte getByte(long address) {
+        return chunk(address).get(offset(address));
+    }
+
+    public void putByte(long address, byte value) {
+        chunk(address).put(offset(address), value);
+    }
+
+    public int getInt(long address) {
+        return chunk(address).getInt(offset(address));
+    }
+
+    public void putInt(long address, int value) {
+        chunk(address).putInt(offset(address), value);
+    }
+
+    public long getLong(long address) {
+        return chunk(address).getLong(offset(address));
+    }
+
+    public void putLong(long address, long value) {
+        chunk(address).putLong(offset(address), value);
+    }
+
+    public double getDouble(long address) {
+        return chunk(address).getDouble(offset(address));
+    }
+
+    public void putDouble(long address, double value) {
+        chunk(address).putDouble(offset(address), value);
+    }
+
+    /**
+     * Copies bytes out of the store.
+     *
+     * @param address     Address of the first byte, within one allocation
+     * @param destination Array to copy to
+     * @param offset      Offset in the array
+     * @param length      Number of bytes
+     */
+    public void get(long address, byte[] destination, int offset, int length) {
+        chunk(address).get(offset(address), destination, offset, length);
+    }
+
+    /**
+     * Copies bytes into the store.
+     *
+     * @param address Address of the first byte, within one allocation
+     * @param source  Array to copy from
+     * @param offset  Offset in the array
+     * @param length  Number of bytes
+     */
+    public void put(long address, byte[] source, int offset, int length) {
+        chunk(address).put(offset(address), source, offset, length);
+    }
+
+    /**
+     * Gets the number of bytes allocated outside the heap, including the unused rest of
+     * the last chunk.
+     *
+     * @return Reserved bytes
+     */
+    public long reservedBytes() {
+        return (long) chunkCount << chunkBits;
+    }
+
+    private ByteBuffer chunk(long address) {
+        return chunks[(int) (address >>> chunkBits)];
+    }
+
+    private int offset(long address) {
+        return (int) address & (chunkSize - 1);
+    }
+}
@@ -0,0 +1,160 @@
+package com.payroll.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary that maps employee IDs to dense int ordinals (0, 1, 2, ...) in the order in
+ * which they are first seen.
+ *
+ * Employee IDs are numeric in practice, so canonical decimal IDs of up to nine digits are
+ * parsed to an int and kept in an open-addressing int table; lookups then need neither
+ * String.hashCode nor String.equals. Other IDs fall back to a HashMap. Joins between
+ * files can index plain arrays by ordinal.
+ *
+ * Not thread-safe; build the dictionary before sharing it between threads.
+ */
+public final class EmployeeIdDictionary {
+    private static final int MAX_NUMERIC_DIGITS = 9;
+    private static final int EMPTY = -1;
+
+    private int[] keys = new int[1024];
+    private int[] slots = filled(1024);
+    private int mask = 1023;
+    private int numericCount;
+    private final Map<String, Integer> otherIds = new HashMap<>();
+    private String[] ids = new String[1024];
+    private int size;
+
+    /**
+     * Gets the ordinal of an employee ID, adding the ID if it is new.
+     *
+     * @param employeeId Employee ID
+     * @return Ordinal of the ID, or -1 for null
+     */
+    public int intern(String employeeId) {
+        if (employeeId == null) {
+            return -1;
+        }
+        int numericId = parseNumericId(employeeId);
+        if (numericId < 0) {
+            Integer ordinal = otherIds.get(employeeId);
+            if (ordinal == null) {
+                ordinal = add(employeeId);
+                otherIds.put(employeeId, ordinal);
+            }
+            return ordinal;
+        }
+        int slot = findSlot(numericId);
+        if (slots[slot] != EMPTY) {
+            return slots[slot];
+        }
+        int ordinal = add(employeeId);
+        keys[slot] = numericId;
+        slots[slot] = ordinal;
+        if (++numericCount * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Gets the ordinal of an employee ID without adding it.
+     *
+     * @param employeeId Employee ID
+     * @return Ordinal of the ID, or -1 if it is null or unknown
+     */
+    public int ordinalOf(String employeeId) {
+        if (employeeId == null) {
+            return -1;
+        }
+        int numericId = parseNumericId(employeeId);
+        if (numericId < 0) {
+            Integer ordinal = otherIds.get(employeeId);
+            return ordinal == null ? -1 : ordinal;
+        }
+        return slots[findSlot(numericId)];
+    }
+
+    /**
+     * Gets the employee ID for an ordinal.
+     *
+     * @param ordinal Ordinal of the ID
+     * @return Employee ID, or null for -1
+     */
+    public String idOf(int ordinal) {
+        return ordinal < 0 ? null : ids[ordinal];
+    }
+
+    /**
+     * Gets the number of distinct employee IDs, which is also the exclusive upper bound of
+     * the ordinals.
+     *
+     * @return Number of IDs
+     */
+    public int size() {
+        return size;
+    }
+
+    private int add(String employeeId) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size] = employeeId;
+        return size++;
+    }
+
+    private int findSlot(int key) {
+        int hash = key * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (slots[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new int[capacity];
+        slots = filled(capacity);
+        mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldSlots[i] != EMPTY) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                slots[slot] = oldSlots[i];
+            }
+        }
+    }
+
+    private static int[] filled(int capacity) {
+        int[] array = new int[capacity];
+        Arrays.fill(array, EMPTY);
+        return array;
+    }
+
+    /**
+     * Parses an ID that round-trips through Integer.toString, i.e. digits only and no
+     * leading zeros, so that distinct strings never share a key.
+     *
+     * @return Parsed ID, or -1 if the ID has to be kept as a string
+     */
+    private static int parseNumericId(String employeeId) {
+        int length = employeeId.length();
+        if (length == 0 || length > MAX_NUMERIC_DIGITS
+            || (length > 1 && employeeId.charAt(0) == '0')) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = employeeId.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
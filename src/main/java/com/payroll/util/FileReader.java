@@ -1,16 +1,48 @@
 package com.payroll.util;
 
+import java.io.BufferedReader;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
- * Interface for reading all lines from a file.
+ * Interface for reading lines from a file.
  */
 public interface FileReader {
     /**
-     * Read all lines from a file.
+     * Char that readers of {@link #newReader(String)} return for each malformed UTF-8
+     * sequence, so that only the affected line is lost. It is an unpaired surrogate, which
+     * valid UTF-8 never decodes to.
+     */
+    char MALFORMED_INPUT = '\uDFFF';
+
+    /**
+     * Read all lines from a file. Malformed UTF-8 fails the whole file.
      *
      * @param filePath Path to the file
      * @return List of strings representing all lines in the file
      */
     List<String> readAllLines(String filePath);
+
+    /**
+     * Open a buffered reader for reading a file line by line. Malformed UTF-8 is read as
+     * {@link #MALFORMED_INPUT}.
+     *
+     * @param filePath Path to the file
+     * @return Reader positioned at the start of the file
+     */
+    BufferedReader newReader(String filePath);
+
+    /**
+     * Creates the UTF-8 decoder of {@link #newReader(String)}.
+     *
+     * @return Decoder that replaces malformed input with {@link #MALFORMED_INPUT}
+     */
+    static CharsetDecoder lineDecoder() {
+        return StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE)
+            .replaceWith(String.valueOf(MALFORMED_INPUT));
+    }
 }
\ No newline at end of file
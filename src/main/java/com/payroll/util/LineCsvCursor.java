@@ -0,0 +1,199 @@
+package com.payroll.util;
+
+import com.payroll.exception.DataLoadException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * CsvCursor that reads a file line by line through a BufferedReader.
+ *
+ * Only the current line is kept; fields are located by offset and turned into Strings
+ * on demand. Lines with malformed UTF-8 are logged and skipped, as in
+ * {@link MappedCsvCursor}.
+ */
+class LineCsvCursor implements CsvCursor {
+    private static final Logger logger = LoggerFactory.getLogger(LineCsvCursor.class);
+
+    private final BufferedReader reader;
+    private final String path;
+    private final char delimiter;
+    private final String[] headers;
+    private final Map<String, Integer> headerIndex = new HashMap<>();
+
+    private String line;
+    private long lineNumber;
+    private int fieldCount;
+    private int[] fieldStart = new int[16];
+    private int[] fieldEnd = new int[16];
+
+    LineCsvCursor(BufferedReader reader, String path, char delimiter) {
+        this.reader = reader;
+        this.path = path;
+        this.delimiter = delimiter;
+        this.headers = readHeaders();
+        for (int i = 0; i < headers.length; i++) {
+            headerIndex.put(headers[i], i);
+        }
+    }
+
+    private String[] readHeaders() {
+        String headerLine = readLine();
+        if (headerLine == null || headerLine.trim().isEmpty()) {
+            // No data rows are read without a header
+            line = null;
+            return new String[0];
+        }
+        if (headerLine.indexOf(FileReader.MALFORMED_INPUT) >= 0) {
+            throw new DataLoadException("Malformed UTF-8 in the header of " + path);
+        }
+        split(headerLine);
+        String[] result = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            result[i] = getString(i);
+        }
+        return result;
+    }
+
+    @Override
+    public String[] headers() {
+        return headers.clone();
+    }
+
+    @Override
+    public int columnIndex(String header) {
+        Integer index = headerIndex.get(header);
+        return index == null ? -1 : index;
+    }
+
+    @Override
+    public boolean next() {
+        if (headers.length == 0) {
+            return false;
+        }
+        String current;
+        do {
+            current = readLine();
+            if (current == null) {
+                line = null;
+                fieldCount = 0;
+                return false;
+            }
+        } while (current.trim().isEmpty() || isMalformed(current));
+        split(current);
+        return true;
+    }
+
+    private boolean isMalformed(String current) {
+        if (current.indexOf(FileReader.MALFORMED_INPUT) < 0) {
+            return false;
+        }
+        logger.warn("Skipping line {} of {}: malformed UTF-8", lineNumber, path);
+        return true;
+    }
+
+    private String readLine() {
+        try {
+            String next = reader.readLine();
+            if (next != null) {
+                lineNumber++;
+            }
+            return next;
+        } catch (IOException e) {
+            throw new DataLoadException("Error reading file: " + path, e);
+        }
+    }
+
+    private void split(String text) {
+        line = text;
+        fieldCount = 0;
+        int start = 0;
+        int length = text.length();
+        while (true) {
+            int end = text.indexOf(delimiter, start);
+            if (end < 0) {
+                end = length;
+            }
+            addField(start, end);
+            if (end == length) {
+                break;
+            }
+            start = end + 1;
+        }
+    }
+
+    private void addField(int start, int end) {
+        // Same trimming rule as String.trim()
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (fieldCount == fieldStart.length) {
+            fieldStart = Arrays.copyOf(fieldStart, fieldCount * 2);
+            fieldEnd = Arrays.copyOf(fieldEnd, fieldCount * 2);
+        }
+        fieldStart[fieldCount] = start;
+        fieldEnd[fieldCount] = end;
+        fieldCount++;
+    }
+
+    @Override
+    public String getString(int column) {
+        if (isNull(column)) {
+            return null;
+        }
+        return line.substring(fieldStart[column], fieldEnd[column]);
+    }
+
+    @Override
+    public boolean isNull(int column) {
+        return column < 0 || column >= fieldCount || fieldStart[column] == fieldEnd[column];
+    }
+
+    @Override
+    public int getInt(int column) {
+        if (!isNull(column)) {
+            long value = CsvNumbers.parseInt(line, fieldStart[column], fieldEnd[column]);
+            if (value != CsvNumbers.NOT_PARSED) {
+                return (int) value;
+            }
+        }
+        return Integer.parseInt(getString(column));
+    }
+
+    @Override
+    public double getDouble(int column) {
+        if (!isNull(column)) {
+            double value = CsvNumbers.parseDouble(line, fieldStart[column], fieldEnd[column]);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        return Double.parseDouble(getString(column));
+    }
+
+    @Override
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public String rowText() {
+        return line;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new DataLoadException("Error closing file: " + path, e);
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.payroll.util;
+
+import com.payroll.exception.DataLoadException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * CsvCursor that scans memory-mapped bytes for delimiters and line breaks.
+ *
+ * Lines and fields are tracked as offsets into the mapped window; a String is only built
+ * when a field is read through {@link #getString(int)}, and numbers are parsed straight
+ * from the bytes. ASCII fields are copied without going through the UTF-8 decoder.
+ * Lines with malformed UTF-8 are logged and skipped, as in {@link LineCsvCursor}.
+ */
+class MappedCsvCursor implements CsvCursor {
+    private static final Logger logger = LoggerFactory.getLogger(MappedCsvCursor.class);
+
+    private final MappedFile file;
+    private final boolean ownsFile;
+    private final long start;
+    private final long end;
+    private final int windowSize;
+    private final byte delimiter;
+    private final String[] headers;
+    private final Map<String, Integer> headerIndex = new HashMap<>();
+    private final AsciiView asciiView = new AsciiView();
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+
+    private ByteBuffer window;
+    private long windowStart;
+    private int windowLimit;
+    private long position;
+
+    private int lineStart;
+    private int lineEnd;
+    private long lineNumber;
+    // Lines of the file before the start, -1 until counted
+    private long linesBefore;
+    private int fieldCount;
+    private int[] fieldStart = new int[16];
+    private int[] fieldEnd = new int[16];
+    private byte[] scratch = new byte[256];
+    private CharBuffer decoded = CharBuffer.allocate(256);
+
+    /**
+     * Creates a cursor over the part of a file between two line boundaries.
+     *
+     * @param file        Mapped file
+     * @param ownsFile    Whether closing the cursor closes the file
+     * @param start       Offset of the first line to read
+     * @param end         Offset after the last line to read
+     * @param linesBefore Lines of the file before the start, or -1 to count them when a
+     *                    line number is first needed
+     * @param headers     Headers of the file, or null to read them from the first line
+     * @param delimiter   ASCII field delimiter
+     * @param windowSize  Maximum size of one mapped window
+     */
+    MappedCsvCursor(MappedFile file, boolean ownsFile, long start, long end, long linesBefore,
+                    String[] headers, byte delimiter, int windowSize) {
+        this.file = file;
+        this.ownsFile = ownsFile;
+        this.start = start;
+        this.linesBefore = linesBefore;
+        this.position = start;
+        this.end = end;
+        this.delimiter = delimiter;
+        this.windowSize = windowSize;
+        this.headers = headers != null ? headers : readHeaders();
+        for (int i = 0; i < this.headers.length; i++) {
+            headerIndex.put(this.headers[i], i);
+        }
+    }
+
+    private String[] readHeaders() {
+        if (!readLine() || isBlankLine()) {
+            // No data rows are read without a header
+            position = end;
+            return new String[0];
+        }
+        if (!isWellFormed()) {
+            throw new DataLoadException("Malformed UTF-8 in the header of " + file.path());
+        }
+        split();
+        String[] result = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            result[i] = getString(i);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the offset of the first line that has not been read yet.
+     */
+    long position() {
+        return position;
+    }
+
+    @Override
+    public String[] headers() {
+        return headers.clone();
+    }
+
+    @Override
+    public int columnIndex(String header) {
+        Integer index = headerIndex.get(header);
+        return index == null ? -1 : index;
+    }
+
+    @Override
+    public boolean next() {
+        if (headers.length == 0) {
+            return false;
+        }
+        do {
+            if (!readLine()) {
+                fieldCount = 0;
+                return false;
+            }
+        } while (isBlankLine() || isMalformed());
+        split();
+        return true;
+    }
+
+    private boolean isMalformed() {
+        if (isWellFormed()) {
+            return false;
+        }
+        logger.warn("Skipping line {} of {}: malformed UTF-8", lineNumber(), file.path());
+        return true;
+    }
+
+    /**
+     * Checks that the current line is valid UTF-8; lines of ASCII only are not decoded.
+     */
+    private boolean isWellFormed() {
+        int i = lineStart;
+        while (i < lineEnd && window.get(i) >= 0) {
+            i++;
+        }
+        if (i == lineEnd) {
+            return true;
+        }
+        int length = lineEnd - lineStart;
+        if (decoded.capacity() < length) {
+            decoded = CharBuffer.allocate(Math.max(length, decoded.capacity() * 2));
+        }
+        decoded.clear();
+        decoder.reset();
+        return !decoder.decode(window.slice(lineStart, length), decoded, true).isError();
+    }
+
+    /**
+     * Locates the next line, remapping the window when the line crosses its end.
+     * Line breaks are \n, \r and \r\n, as in BufferedReader.readLine().
+     */
+    private boolean readLine() {
+        if (position >= end) {
+            return false;
+        }
+        if (window == null || position < windowStart || position >= windowStart + windowLimit) {
+            remap(position);
+        }
+        int start = (int) (position - windowStart);
+        int i = start;
+        while (true) {
+            while (i < windowLimit) {
+                byte b = window.get(i);
+                if (b == '\n' || b == '\r') {
+                    break;
+                }
+                i++;
+            }
+            boolean atEndOfFile = windowStart + windowLimit >= file.size();
+            if (i < windowLimit) {
+                int next = i + 1;
+                if (window.get(i) == '\r') {
+                    if (next < windowLimit) {
+                        if (window.get(next) == '\n') {
+                            next++;
+                        }
+                    } else if (!atEndOfFile) {
+                        // A \n may follow in the next window
+                        i = remapLine(start, i);
+                        start = 0;
+                        continue;
+                    }
+                }
+                return acceptLine(start, i, next);
+            }
+            if (atEndOfFile) {
+                return acceptLine(start, windowLimit, windowLimit);
+            }
+            i = remapLine(start, i);
+            start = 0;
+        }
+    }
+
+    private boolean acceptLine(int start, int terminator, int next) {
+        lineStart = start;
+        lineEnd = terminator;
+        position = windowStart + next;
+        lineNumber++;
+        return true;
+    }
+
+    /**
+     * Remaps the window to begin at the current line and returns the scan offset in the
+     * new window.
+     */
+    private int remapLine(int start, int scanned) {
+        if (start == 0 && windowLimit == windowSize) {
+            throw new DataLoadException("Line " + (lineNumber() + 1) + " in " + file.path()
+                + " is longer than " + windowSize + " bytes");
+        }
+        remap(windowStart + start);
+        return scanned - start;
+    }
+
+    private void remap(long offset) {
+        windowStart = offset;
+        windowLimit = (int) Math.min(windowSize, file.size() - offset);
+        window = file.map(offset, windowLimit);
+    }
+
+    private boolean isBlankLine() {
+        for (int i = lineStart; i < lineEnd; i++) {
+            if ((window.get(i) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void split() {
+        fieldCount = 0;
+        int start = lineStart;
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (window.get(i) == delimiter) {
+                addField(start, i);
+                start = i + 1;
+            }
+        }
+        addField(start, lineEnd);
+    }
+
+    private void addField(int start, int end) {
+        // Same trimming rule as String.trim(); UTF-8 multi-byte sequences never match
+        while (start < end && (window.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (window.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        if (fieldCount == fieldStart.length) {
+            fieldStart = Arrays.copyOf(fieldStart, fieldCount * 2);
+            fieldEnd = Arrays.copyOf(fieldEnd, fieldCount * 2);
+        }
+        fieldStart[fieldCount] = start;
+        fieldEnd[fieldCount] = end;
+        fieldCount++;
+    }
+
+    @Override
+    public String getString(int column) {
+        if (isNull(column)) {
+            return null;
+        }
+        return decode(fieldStart[column], fieldEnd[column]);
+    }
+
+    private String decode(int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        window.get(start, scratch, 0, length);
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = scratch[i] >= 0;
+        }
+        if (ascii) {
+            return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+        }
+        try {
+            return decoder.decode(ByteBuffer.wrap(scratch, 0, length)).toString();
+        } catch (CharacterCodingException e) {
+            throw new DataLoadException("Malformed UTF-8 at line " + lineNumber() + " in "
+                + file.path(), e);
+        }
+    }
+
+    @Override
+    public boolean isNull(int column) {
+        return column < 0 || column >= fieldCount || fieldStart[column] == fieldEnd[column];
+    }
+
+    @Override
+    public int getInt(int column) {
+        if (!isNull(column)) {
+            long value = CsvNumbers.parseInt(asciiView, fieldStart[column], fieldEnd[column]);
+            if (value != CsvNumbers.NOT_PARSED) {
+                return (int) value;
+            }
+        }
+        return Integer.parseInt(getString(column));
+    }
+
+    @Override
+    public double getDouble(int column) {
+        if (!isNull(column)) {
+            double value =
+                CsvNumbers.parseDouble(asciiView, fieldStart[column], fieldEnd[column]);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        return Double.parseDouble(getString(column));
+    }
+
+    /**
+     * Gets the line number of the current row in the file. A cursor over a later part of
+     * the file counts the lines before its part once, on the first call.
+     */
+    @Override
+    public long lineNumber() {
+        if (linesBefore < 0) {
+            linesBefore = file.countLines(0, start);
+        }
+        return linesBefore + lineNumber;
+    }
+
+    @Override
+    public String rowText() {
+        byte[] bytes = new byte[lineEnd - lineStart];
+        window.get(lineStart, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        window = null;
+        if (ownsFile) {
+            file.close();
+        }
+    }
+
+    /**
+     * Char view of the mapped window, one char per byte, used by the number parsers.
+     * Non-ASCII bytes show up as chars above 0x7F and are rejected as digits.
+     */
+    private final class AsciiView implements CharSequence {
+        @Override
+        public int length() {
+            return windowLimit;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (window.get(index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return decode(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return decode(0, windowLimit);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.payroll.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CsvParser that reads files through memory-mapped windows and tokenizes raw bytes.
+ *
+ * Cursors only build Strings for the fields that are actually read, which makes this
+ * parser the better choice for large exports. The list-based methods decode the whole
+ * file and behave exactly like {@link SimpleCsvParser}.
+ */
+public class MappedCsvParser implements CsvParser {
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    // Parts smaller than this are not worth a separate worker
+    private static final long MIN_PART_SIZE = 1024 * 1024;
+
+    private final MappedFileReader fileReader;
+    private final SimpleCsvParser lineParser;
+    private final char delimiter;
+    private final int windowSize;
+
+    /**
+     * Constructs a mapped CSV parser with the default delimiter (semicolon).
+     */
+    public MappedCsvParser(MappedFileReader fileReader) {
+        this(fileReader, ';');
+    }
+
+    /**
+     * Constructs a mapped CSV parser with a specified delimiter.
+     *
+     * @param delimiter The character to use as delimiter, must be ASCII
+     */
+    public MappedCsvParser(MappedFileReader fileReader, char delimiter) {
+        this(fileReader, delimiter, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedCsvParser(MappedFileReader fileReader, char delimiter, int windowSize) {
+        if (delimiter > 0x7F) {
+            throw new IllegalArgumentException(
+                "Delimiter must be an ASCII character: " + delimiter);
+        }
+        this.fileReader = fileReader;
+        this.lineParser = new SimpleCsvParser(fileReader, delimiter);
+        this.delimiter = delimiter;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public List<String[]> parse(String path) {
+        return lineParser.parse(path);
+    }
+
+    @Override
+    public List<Map<String, String>> parseWithHeaders(String path) {
+        return lineParser.parseWithHeaders(path);
+    }
+
+    @Override
+    public CsvCursor openCursor(String path) {
+        MappedFile file = fileReader.open(path);
+        try {
+            return new MappedCsvCursor(file, true, 0, file.size(), 0, null, (byte) delimiter,
+                windowSize);
+        } catch (RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Splits the data rows into byte ranges that start right after a \n, so that no line
+     * is shared by two parts. The header is read once and handed to every cursor. The
+     * cursors of later parts only count the lines before them for line numbers, which are
+     * rarely needed.
+     */
+    @Override
+    public List<CsvCursor> openCursors(String path, int parts) {
+        MappedFile file = fileReader.open(path);
+        List<CsvCursor> cursors = new ArrayList<>();
+        try {
+            MappedCsvCursor headerCursor = new MappedCsvCursor(file, false, 0, file.size(), 0,
+                null, (byte) delimiter, windowSize);
+            String[] headers = headerCursor.headers();
+            long dataStart = headerCursor.position();
+            long dataSize = file.size() - dataStart;
+            int count = (int) Math.max(1, Math.min(parts, dataSize / MIN_PART_SIZE));
+            if (headers.length == 0 || count == 1) {
+                file.close();
+                return List.of(openCursor(path));
+            }
+
+            long start = dataStart;
+            for (int i = 1; i <= count && start < file.size(); i++) {
+                long end = i == count ? file.size()
+                    : Math.max(start, file.nextLineStart(dataStart + dataSize * i / count));
+                if (end > start) {
+                    long linesBefore = start == dataStart ? headerCursor.lineNumber() : -1;
+                    cursors.add(new MappedCsvCursor(file.retain(), true, start, end,
+                        linesBefore, headers, (byte) delimiter, windowSize));
+                }
+                start = end;
+            }
+            if (cursors.isEmpty()) {
+                cursors.add(new MappedCsvCursor(file.retain(), true, dataStart, dataStart,
+                    headerCursor.lineNumber(), headers, (byte) delimiter, windowSize));
+            }
+            file.close();
+            return cursors;
+        } catch (RuntimeException e) {
+            cursors.forEach(CsvCursor::close);
+            file.close();
+            throw e;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.payroll.util;
+
+import com.payroll.exception.DataLoadException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only file that is accessed through memory-mapped windows.
+ *
+ * A single mapping is limited to 2 GB, so larger files are read window by window.
+ * The file can be shared by several readers through {@link #retain()}; the channel is
+ * closed when the last of them calls {@link #close()}.
+ */
+public final class MappedFile implements AutoCloseable {
+    private final String path;
+    private final FileChannel channel;
+    private final long size;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private MappedFile(String path, FileChannel channel, long size) {
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /**
+     * Opens a file for mapping.
+     *
+     * @param path Path to the file
+     * @return Opened file
+     * @throws DataLoadException If the file cannot be opened
+     */
+    public static MappedFile open(String path) {
+        try {
+            FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+            return new MappedFile(path, channel, channel.size());
+        } catch (NoSuchFileException e) {
+            throw new DataLoadException("File not found: " + path, e);
+        } catch (IOException e) {
+            throw new DataLoadException("Error reading file: " + path, e);
+        }
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Maps a region of the file.
+     *
+     * @param position Start offset of the region
+     * @param length   Length of the region in bytes
+     * @return Read-only buffer over the region
+     * @throws DataLoadException If the region cannot be mapped
+     */
+    public MappedByteBuffer map(long position, int length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        } catch (IOException e) {
+            throw new DataLoadException("Error mapping file: " + path, e);
+        }
+    }
+
+    /**
+     * Registers one more reader of this file.
+     *
+     * @return This file
+     */
+    public MappedFile retain() {
+        references.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Finds the offset of the first line that starts at or after a position.
+     *
+     * @param position Offset to search from
+     * @return Offset just after the next \n, or the file size if there is none
+     */
+    public long nextLineStart(long position) {
+        int chunk = 64 * 1024;
+        while (position < size) {
+            int length = (int) Math.min(chunk, size - position);
+            MappedByteBuffer buffer = map(position, length);
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += length;
+        }
+        return size;
+    }
+
+    /**
+     * Counts the line breaks in a region that ends at the start of a line. Line breaks are
+     * \n, \r and \r\n, as in BufferedReader.readLine().
+     *
+     * @param from Offset of the first line of the region
+     * @param to   Offset of the line after the region
+     * @return Number of lines in the region
+     */
+    public long countLines(long from, long to) {
+        int chunk = 64 * 1024;
+        long lines = 0;
+        boolean afterCr = false;
+        for (long position = from; position < to; position += chunk) {
+            int length = (int) Math.min(chunk, to - position);
+            MappedByteBuffer buffer = map(position, length);
+            for (int i = 0; i < length; i++) {
+                byte b = buffer.get(i);
+                if (b == '\r' || (b == '\n' && !afterCr)) {
+                    lines++;
+                }
+                afterCr = b == '\r';
+            }
+        }
+        return lines;
+    }
+
+    @Override
+    public void close() {
+        if (references.decrementAndGet() > 0) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new DataLoadException("Error closing file: " + path, e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.payroll.util;
+
+import com.payroll.exception.DataLoadException;
+import java.io.BufferedReader;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of FileReader that maps the file into memory instead of reading it
+ * through a stream.
+ *
+ * Whole-file decoding is limited to files below 2 GB; larger inputs are meant to be
+ * read through {@link MappedCsvParser}, which works window by window.
+ */
+public class MappedFileReader implements FileReader {
+
+    @Override
+    public List<String> readAllLines(String filePath) {
+        // Strict UTF-8 decoding, same as Files.readAllLines
+        CharBuffer chars = decode(filePath, StandardCharsets.UTF_8.newDecoder());
+        try (BufferedReader reader = reader(chars)) {
+            return reader.lines().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new DataLoadException("Error reading file: " + filePath, e);
+        }
+    }
+
+    @Override
+    public BufferedReader newReader(String filePath) {
+        return reader(decode(filePath, FileReader.lineDecoder()));
+    }
+
+    /**
+     * Opens a file for windowed memory-mapped access.
+     *
+     * @param filePath Path to the file
+     * @return Opened file, to be closed by the caller
+     */
+    public MappedFile open(String filePath) {
+        return MappedFile.open(filePath);
+    }
+
+    private static BufferedReader reader(CharBuffer chars) {
+        return new BufferedReader(new CharArrayReader(chars.array(),
+            chars.arrayOffset() + chars.position(), chars.remaining()));
+    }
+
+    private CharBuffer decode(String filePath, CharsetDecoder decoder) {
+        try (MappedFile file = open(filePath)) {
+            if (file.size() > Integer.MAX_VALUE) {
+                throw new DataLoadException("File too large to decode at once: " + filePath);
+            }
+            return decoder.decode(file.map(0, (int) file.size()));
+        } catch (CharacterCodingException e) {
+            throw new DataLoadException("Error reading file: " + filePath, e);
+        }
+    }
+}
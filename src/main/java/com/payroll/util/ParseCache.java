@@ -0,0 +1,585 @@
+package com.payroll.util;
+
+import com.payroll.metrics.StageMetrics;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of parsed input files in a compact binary form.
+ *
+ * Each source file has a cache file that records the size, modification time and CRC32C
+ * checksum of the source it was parsed from, followed by the encoded rows and a trailer
+ * with the row count, the length and the checksum of the rows. A cache file is used when the source still has the same size and
+ * modification time; when only the modification time differs, the source checksum
+ * decides, so a touched or copied file is not parsed again. With
+ * {@link Validation#CHECKSUM} the source checksum is always compared.
+ *
+ * Cache files are streamed through a small buffer in both directions, so their size is
+ * not limited by the largest array. They are written through a temporary file of the
+ * writing thread, so an interrupted write never leaves a partial cache behind and
+ * concurrent loads of the same file do not write into each other. Unreadable cache files
+ * are ignored and replaced.
+ */
+public final class ParseCache {
+    private static final Logger logger = LoggerFactory.getLogger(ParseCache.class);
+    private static final int MAGIC = 0x50435348; // "PCSH"
+    private static final int FORMAT_VERSION = 2;
+    private static final int CHECKSUM_BUFFER_SIZE = 1 << 20;
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Row count, payload length and payload checksum at the end of a cache file
+    private static final int TRAILER_LENGTH = 16;
+
+    private final Path directory;
+    private final Validation validation;
+
+    /**
+     * How cache files are checked against their source.
+     */
+    public enum Validation {
+        /** Size and modification time; the checksum only when the time differs. */
+        METADATA,
+        /** Size and checksum on every load. */
+        CHECKSUM
+    }
+
+    /**
+     * Constructs a cache.
+     *
+     * @param directory  Directory of the cache files; created when the first one is written
+     * @param validation How cache files are checked against their source
+     */
+    public ParseCache(Path directory, Validation validation) {
+        this.directory = directory;
+        this.validation = validation;
+    }
+
+    /**
+     * Loads the rows of a source file from its cache file, or parses the source and
+     * caches the rows when the cache file is missing or out of date.
+     *
+     * @param source Source file
+     * @param codec  Binary form of the rows
+     * @param parser Parser of the source file
+     * @param <T>    Row type
+     * @return Rows of the source file
+     */
+    public <T> List<T> load(Path source, Codec<T> codec, Supplier<List<T>> parser) {
+        Path cacheFile = directory.resolve(source.getFileName() + ".bin");
+        SourceState state;
+        try {
+            state = SourceState.of(source);
+        } catch (NoSuchFileException e) {
+            return parser.get(); // the parser reports the missing file
+        } catch (IOException e) {
+            logger.warn("Cannot read attributes of {}, not caching it: {}", source,
+                e.getMessage());
+            return parser.get();
+        }
+
+        List<T> rows = readIfValid(source, cacheFile, codec, state);
+        if (rows != null) {
+            return rows;
+        }
+
+        // Checksum the source before parsing it; a change during parsing then fails the
+        // next validation instead of being cached
+        try {
+            state = state.withChecksum(checksum(source));
+        } catch (IOException e) {
+            logger.warn("Cannot checksum {}, not caching it: {}", source, e.getMessage());
+            return parser.get();
+        }
+        rows = parser.get();
+        write(cacheFile, codec, state, rows);
+        return rows;
+    }
+
+    private <T> List<T> readIfValid(Path source, Path cacheFile, Codec<T> codec,
+                                    SourceState state) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        List<T> rows;
+        SourceState cached;
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            long fileLength = channel.size();
+            if (fileLength < TRAILER_LENGTH) {
+                logger.warn("Cache file {} is damaged, parsing {}", cacheFile, source);
+                return null;
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_LENGTH);
+            while (trailer.hasRemaining()) {
+                if (channel.read(trailer, fileLength - trailer.remaining()) < 0) {
+                    throw new EOFException("Cache file ends early");
+                }
+            }
+            trailer.flip();
+            int count = trailer.getInt();
+            long payloadLength = trailer.getLong();
+            int payloadChecksum = trailer.getInt();
+
+            Decoder in = new Decoder(channel, fileLength - TRAILER_LENGTH, BUFFER_SIZE);
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION
+                || !codec.name().equals(in.readString())
+                || in.readInt() != codec.version()) {
+                logger.info("Cache file {} has another format, parsing {}", cacheFile, source);
+                return null;
+            }
+            cached = new SourceState(in.readLong(), in.readLong(), in.readLong());
+            if (cached.size() != state.size()) {
+                logger.info("{} changed, parsing it", source);
+                return null;
+            }
+            if (cached.modifiedMillis() != state.modifiedMillis()
+                || validation == Validation.CHECKSUM) {
+                if (checksum(source) != cached.checksum()) {
+                    logger.info("{} changed, parsing it", source);
+                    return null;
+                }
+            }
+
+            if (count < 0 || payloadLength != in.remaining()) {
+                logger.warn("Cache file {} is damaged, parsing {}", cacheFile, source);
+                return null;
+            }
+            in.startChecksum();
+            rows = new ArrayList<>((int) Math.min(count, payloadLength));
+            for (int i = 0; i < count; i++) {
+                rows.add(codec.read(in));
+            }
+            if (in.remaining() != 0 || in.endChecksum() != payloadChecksum) {
+                logger.warn("Cache file {} is damaged, parsing {}", cacheFile, source);
+                return null;
+            }
+            logger.info("Loaded {} items from cache {}", rows.size(), cacheFile);
+            StageMetrics stage = StageMetrics.current();
+            if (stage != null) {
+                stage.addInput(rows.size(), 0, fileLength);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Cannot read cache file {}, parsing {}: {}", cacheFile, source,
+                e.toString());
+            return null;
+        }
+
+        if (cached.modifiedMillis() != state.modifiedMillis()) {
+            // Same content with a new time: record the time to skip the checksum next run
+            write(cacheFile, codec, state.withChecksum(cached.checksum()), rows);
+        }
+        return rows;
+    }
+
+    private <T> void write(Path cacheFile, Codec<T> codec, SourceState state, List<T> rows) {
+        Path temporary = cacheFile.resolveSibling(cacheFile.getFileName() + "."
+            + ProcessHandle.current().pid() + "-" + Thread.currentThread().threadId() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                Encoder out = new Encoder(channel, BUFFER_SIZE);
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeString(codec.name());
+                out.writeInt(codec.version());
+                out.writeLong(state.size());
+                out.writeLong(state.modifiedMillis());
+                out.writeLong(state.checksum());
+
+                out.startChecksum();
+                for (T row : rows) {
+                    codec.write(row, out);
+                }
+                int payloadChecksum = out.endChecksum();
+                out.writeInt(rows.size());
+                out.writeLong(out.checksummedLength());
+                out.writeInt(payloadChecksum);
+                out.flush();
+            }
+            Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Cached {} items in {}", rows.size(), cacheFile);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Cannot write cache file {}: {}", cacheFile, e.getMessage());
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException ignored) {
+                // Replaced by the next write of this thread
+            }
+        }
+    }
+
+    private static long checksum(Path source) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHECKSUM_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    private record SourceState(long size, long modifiedMillis, long checksum) {
+
+        static SourceState of(Path source) throws IOException {
+            BasicFileAttributes attributes =
+                Files.readAttributes(source, BasicFileAttributes.class);
+            return new SourceState(attributes.size(),
+                attributes.lastModifiedTime().toMillis(), -1);
+        }
+
+        SourceState withChecksum(long checksum) {
+            return new SourceState(size, modifiedMillis, checksum);
+        }
+    }
+
+    /**
+     * Binary form of the rows of one kind of input file.
+     *
+     * @param <T> Row type
+     */
+    public interface Codec<T> {
+
+        /**
+         * Gets the name of the codec; cache files of other codecs are ignored.
+         *
+         * @return Name
+         */
+        String name();
+
+        /**
+         * Gets the version of the binary form; cache files of other versions are ignored.
+         *
+         * @return Version
+         */
+        int version();
+
+        void write(T row, Encoder out);
+
+        T read(Decoder in);
+
+        /**
+         * Creates a codec from a writer and a reader function.
+         *
+         * @param name    Name of the codec
+         * @param version Version of the binary form
+         * @param writer  Writes a row
+         * @param reader  Reads a row
+         * @param <T>     Row type
+         * @return Codec
+         */
+        static <T> Codec<T> of(String name, int version, BiConsumer<T, Encoder> writer,
+                               Function<Decoder, T> reader) {
+            return new Codec<>() {
+                @Override
+                public String name() {
+                    return name;
+                }
+
+                @Override
+                public int version() {
+                    return version;
+                }
+
+                @Override
+                public void write(T row, Encoder out) {
+                    writer.accept(row, out);
+                }
+
+                @Override
+                public T read(Decoder in) {
+                    return reader.apply(in);
+                }
+            };
+        }
+    }
+
+    /**
+     * Big-endian writer that rows are encoded into, flushing a buffer to the cache file as
+     * it fills up. Between {@link #startChecksum()} and {@link #endChecksum()}, the bytes
+     * written are checksummed.
+     */
+    public static final class Encoder {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer;
+        private final CRC32C crc = new CRC32C();
+        // Index in the buffer from which written bytes are checksummed, -1 if not checksumming
+        private int checksumFrom = -1;
+        private long checksummedLength;
+
+        Encoder(WritableByteChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(bufferSize);
+        }
+
+        public void writeInt(int value) {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        public void writeLong(long value) {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        public void writeDouble(double value) {
+            writeLong(Double.doubleToRawLongBits(value));
+        }
+
+        public void writeBoolean(boolean value) {
+            ensure(1);
+            buffer.put((byte) (value ? 1 : 0));
+        }
+
+        /**
+         * Writes a string as its UTF-8 length and bytes; null has the length -1.
+         */
+        public void writeString(String value) {
+            if (value == null) {
+                writeInt(-1);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeInt(utf8.length);
+            if (utf8.length <= buffer.capacity()) {
+                ensure(utf8.length);
+                buffer.put(utf8);
+                return;
+            }
+            flushUnchecked();
+            if (checksumFrom >= 0) {
+                crc.update(utf8);
+                checksummedLength += utf8.length;
+            }
+            try {
+                writeFully(ByteBuffer.wrap(utf8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void startChecksum() {
+            crc.reset();
+            checksummedLength = 0;
+            checksumFrom = buffer.position();
+        }
+
+        /**
+         * Stops checksumming.
+         *
+         * @return Checksum of the bytes written since {@link #startChecksum()}
+         */
+        int endChecksum() {
+            updateChecksum();
+            checksumFrom = -1;
+            return (int) crc.getValue();
+        }
+
+        long checksummedLength() {
+            return checksummedLength;
+        }
+
+        void flush() throws IOException {
+            updateChecksum();
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+            if (checksumFrom >= 0) {
+                checksumFrom = 0;
+            }
+        }
+
+        private void ensure(int length) {
+            if (buffer.remaining() < length) {
+                flushUnchecked();
+            }
+        }
+
+        private void flushUnchecked() {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void updateChecksum() {
+            if (checksumFrom >= 0) {
+                crc.update(buffer.array(), checksumFrom, buffer.position() - checksumFrom);
+                checksummedLength += buffer.position() - checksumFrom;
+                checksumFrom = buffer.position();
+            }
+        }
+
+        private void writeFully(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Reader of rows encoded by {@link Encoder}, refilling a buffer from the cache file as
+     * it is read. Between {@link #startChecksum()} and {@link #endChecksum()}, the bytes
+     * read are checksummed.
+     */
+    public static final class Decoder {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer;
+        private final CRC32C crc = new CRC32C();
+        // Bytes before the end that are not in the buffer yet
+        private long unread;
+        // Index in the buffer from which read bytes are checksummed, -1 if not checksumming
+        private int checksumFrom = -1;
+
+        /**
+         * Creates a decoder of a channel from its current position.
+         *
+         * @param channel    Channel
+         * @param length     Number of bytes to decode
+         * @param bufferSize Size of the read buffer
+         */
+        Decoder(ReadableByteChannel channel, long length, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(bufferSize).flip();
+            this.unread = length;
+        }
+
+        public int readInt() {
+            ensure(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        public long readLong() {
+            ensure(Long.BYTES);
+            return buffer.getLong();
+        }
+
+        public double readDouble() {
+            ensure(Double.BYTES);
+            return buffer.getDouble();
+        }
+
+        public boolean readBoolean() {
+            ensure(1);
+            return buffer.get() != 0;
+        }
+
+        public String readString() {
+            int length = readInt();
+            if (length < 0) {
+                return null;
+            }
+            if (length > remaining()) {
+                throw new IllegalStateException("String of " + length
+                    + " bytes beyond the end of the cache file");
+            }
+            if (length <= buffer.capacity()) {
+                ensure(length);
+                String value = new String(buffer.array(), buffer.position(), length,
+                    StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+                return value;
+            }
+            // Longer than the buffer: the buffered part, then the rest straight from the file
+            byte[] utf8 = new byte[length];
+            int buffered = buffer.remaining();
+            buffer.get(utf8, 0, buffered);
+            updateChecksum();
+            ByteBuffer rest = ByteBuffer.wrap(utf8, buffered, length - buffered);
+            while (rest.hasRemaining()) {
+                read(rest);
+            }
+            unread -= length - buffered;
+            if (checksumFrom >= 0) {
+                crc.update(utf8, buffered, length - buffered);
+            }
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Gets the number of bytes left to decode.
+         *
+         * @return Bytes left
+         */
+        long remaining() {
+            return buffer.remaining() + unread;
+        }
+
+        void startChecksum() {
+            crc.reset();
+            checksumFrom = buffer.position();
+        }
+
+        /**
+         * Stops checksumming.
+         *
+         * @return Checksum of the bytes read since {@link #startChecksum()}
+         */
+        int endChecksum() {
+            updateChecksum();
+            checksumFrom = -1;
+            return (int) crc.getValue();
+        }
+
+        private void ensure(int length) {
+            if (buffer.remaining() >= length) {
+                return;
+            }
+            if (length > remaining()) {
+                throw new IllegalStateException("Cache file ends early");
+            }
+            updateChecksum();
+            buffer.compact();
+            if (checksumFrom >= 0) {
+                checksumFrom = 0;
+            }
+            while (buffer.position() < length) {
+                buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + unread));
+                unread -= read(buffer);
+            }
+            buffer.flip();
+        }
+
+        private int read(ByteBuffer target) {
+            try {
+                int read = channel.read(target);
+                if (read < 0) {
+                    throw new EOFException("Cache file ends early");
+                }
+                return read;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void updateChecksum() {
+            if (checksumFrom >= 0) {
+                crc.update(buffer.array(), checksumFrom, buffer.position() - checksumFrom);
+                checksumFrom = buffer.position();
+            }
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.payroll.util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -93,6 +95,21 @@ public class SimpleCsvParser implements CsvParser {
         return result;
     }
 
+    @Override
+    public CsvCursor openCursor(String path) {
+        BufferedReader reader = fileReader.newReader(path);
+        try {
+            return new LineCsvCursor(reader, path, delimiter);
+        } catch (RuntimeException e) {
+            try {
+                reader.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+    }
+
     /**
      * Parse a single CSV line into an array of strings.
      *
@@ -0,0 +1,64 @@
+package com.payroll.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary that assigns dense int codes to distinct strings in insertion order.
+ * Null has no code and is represented by -1.
+ */
+public final class StringDictionary {
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Gets the code of a value, adding the value if it is new.
+     *
+     * @param value Value to encode
+     * @return Code of the value, or -1 for null
+     */
+    public int intern(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Gets the code of a value without adding it.
+     *
+     * @param value Value to look up
+     * @return Code of the value, or -1 if it is null or unknown
+     */
+    public int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Gets the value for a code.
+     *
+     * @param code Code of the value
+     * @return Value, or null for -1
+     */
+    public String valueOf(int code) {
+        return code < 0 ? null : values.get(code);
+    }
+
+    /**
+     * Gets the number of distinct values.
+     *
+     * @return Number of values
+     */
+    public int size() {
+        return values.size();
+    }
+}
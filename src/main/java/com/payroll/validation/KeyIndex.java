@@ -0,0 +1,87 @@
+package com.payroll.validation;
+
+import com.payroll.util.EmployeeIdDictionary;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Index of the employee IDs of one input file.
+ *
+ * Rows are added in file order; a row whose ID was already added is marked as repeated,
+ * so duplicates are found while the index is built. Null IDs are tracked like any other ID.
+ *
+ * Not thread-safe; build the index before sharing it between threads.
+ */
+public final class KeyIndex {
+    private final EmployeeIdDictionary ids = new EmployeeIdDictionary();
+    private final BitSet repeatedRows = new BitSet();
+    private boolean hasNullId;
+    private int rows;
+
+    /**
+     * Builds the index of a complete input file.
+     *
+     * @param items Rows of the file
+     * @param idOf  Employee ID of a row
+     * @param <T>   Row type
+     * @return Index of the IDs
+     */
+    public static <T> KeyIndex of(List<T> items, Function<T, String> idOf) {
+        KeyIndex index = new KeyIndex();
+        for (T item : items) {
+            index.add(idOf.apply(item));
+        }
+        return index;
+    }
+
+    /**
+     * Adds the ID of the next row.
+     *
+     * @param id Employee ID, may be null
+     * @return Position of the row
+     */
+    public int add(String id) {
+        boolean repeated;
+        if (id == null) {
+            repeated = hasNullId;
+            hasNullId = true;
+        } else {
+            int known = ids.size();
+            repeated = ids.intern(id) < known;
+        }
+        if (repeated) {
+            repeatedRows.set(rows);
+        }
+        return rows++;
+    }
+
+    /**
+     * Checks if an ID was added.
+     *
+     * @param id Employee ID, may be null
+     * @return True if a row has the ID
+     */
+    public boolean contains(String id) {
+        return id == null ? hasNullId : ids.ordinalOf(id) >= 0;
+    }
+
+    /**
+     * Checks if a row repeats the ID of an earlier row.
+     *
+     * @param row Position of the row
+     * @return True if the ID was seen before the row
+     */
+    public boolean isRepeated(int row) {
+        return repeatedRows.get(row);
+    }
+
+    /**
+     * Gets the number of rows added.
+     *
+     * @return Number of rows
+     */
+    public int rows() {
+        return rows;
+    }
+}
@@ -0,0 +1,97 @@
+package com.payroll.validation;
+
+import static com.payroll.validation.ValidationRule.Severity.ERROR;
+import static com.payroll.validation.ValidationRule.Severity.WARNING;
+
+import com.payroll.index.WorkingDayIndex;
+import com.payroll.model.Employee;
+import com.payroll.model.Overtime;
+import com.payroll.model.Payment;
+import java.util.List;
+
+/**
+ * Validation rules of the payroll input files.
+ */
+public final class PayrollRules {
+    public static final String EMPLOYEES = "employees";
+    public static final String OVERTIMES = "overtimes";
+    public static final String PAYMENTS = "payments";
+
+    private PayrollRules() {
+    }
+
+    /**
+     * Rules for the rows of the employee file. The employee indexes have to contain a row
+     * before the rules are applied to it.
+     *
+     * @param indexes Shared indexes
+     * @return Employee rules
+     */
+    public static List<ValidationRule<Employee>> employeeRules(ValidationIndexes indexes) {
+        return List.of(
+            new ValidationRule<>("employee.id.duplicate", WARNING, "Duplicate employee ID",
+                (employee, row) -> indexes.isRepeatedEmployee(row),
+                Employee::getEmployeeId),
+            new ValidationRule<>("employee.name.missing", WARNING, "Employee has no name",
+                (employee, row) -> isEmpty(employee.getFullName()),
+                Employee::getEmployeeId),
+            new ValidationRule<>("employee.taxclass.missing", WARNING, "Employee has no tax class",
+                (employee, row) -> isEmpty(employee.getTaxClass()),
+                Employee::getEmployeeId),
+            new ValidationRule<>("employee.rate.missing", WARNING, "No rate found for employee",
+                (employee, row) -> !indexes.hasRate(employee.getEmployeeId()),
+                Employee::getEmployeeId),
+            new ValidationRule<>("employee.taxclass.invalid", WARNING,
+                "Invalid tax class for employee",
+                (employee, row) -> !isEmpty(employee.getTaxClass())
+                    && !indexes.hasTaxClass(employee.getTaxClass()),
+                Employee::getEmployeeId)
+        );
+    }
+
+    /**
+     * Rules for the rows of the overtime file. The employee indexes have to be complete.
+     *
+     * @param indexes Shared indexes
+     * @return Overtime rules
+     */
+    public static List<ValidationRule<Overtime>> overtimeRules(ValidationIndexes indexes) {
+        return List.of(
+            new ValidationRule<>("overtime.employee.unknown", WARNING,
+                "Overtime entry for non-existent employee",
+                (overtime, row) -> !indexes.hasEmployee(overtime.employeeId()),
+                Overtime::employeeId),
+            new ValidationRule<>("overtime.date.missing", WARNING, "Overtime entry has no date",
+                (overtime, row) -> overtime.date() == null,
+                Overtime::employeeId)
+        );
+    }
+
+    /**
+     * Rules for the rows of the payment file.
+     *
+     * @param workingDays Calendar index
+     * @return Payment rules
+     */
+    public static List<ValidationRule<Payment>> paymentRules(WorkingDayIndex workingDays) {
+        return List.of(
+            new ValidationRule<>("payment.calendar.missing", ERROR,
+                "No calendar data for payment period",
+                (payment, row) -> !workingDays.hasCalendar(payment.year(), payment.month()),
+                PayrollRules::period),
+            new ValidationRule<>("payment.workingdays.none", WARNING,
+                "No working days found for payment period",
+                (payment, row) -> workingDays.hasCalendar(payment.year(), payment.month())
+                    && workingDays.workingDays(payment.year(), payment.month()) == 0,
+                PayrollRules::period)
+        );
+    }
+
+    private static String period(Payment payment) {
+        return payment.year() + "-" + payment.month();
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
@@ -0,0 +1,67 @@
+package com.payroll.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies all rules of one input file in a single pass over its rows and counts the
+ * violations of each rule.
+ *
+ * Not thread-safe; each input file has its own pass.
+ *
+ * @param <T> Row type
+ */
+final class RulePass<T> {
+    private final String input;
+    private final List<ValidationRule<T>> rules;
+    private final int sampleSize;
+    private final long[] violations;
+    private final List<List<String>> samples = new ArrayList<>();
+    private int row;
+
+    RulePass(String input, List<ValidationRule<T>> rules, int sampleSize) {
+        this.input = input;
+        this.rules = rules;
+        this.sampleSize = sampleSize;
+        this.violations = new long[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            samples.add(new ArrayList<>());
+        }
+    }
+
+    void acceptAll(List<T> items) {
+        for (T item : items) {
+            accept(item);
+        }
+    }
+
+    void accept(T item) {
+        for (int i = 0; i < violations.length; i++) {
+            ValidationRule<T> rule = rules.get(i);
+            if (rule.violation().test(item, row)) {
+                if (violations[i]++ < sampleSize) {
+                    samples.get(i).add(String.valueOf(rule.subject().apply(item)));
+                }
+            }
+        }
+        row++;
+    }
+
+    String input() {
+        return input;
+    }
+
+    int rows() {
+        return row;
+    }
+
+    List<RuleResult> results() {
+        List<RuleResult> results = new ArrayList<>(violations.length);
+        for (int i = 0; i < violations.length; i++) {
+            ValidationRule<T> rule = rules.get(i);
+            results.add(new RuleResult(rule.id(), input, rule.severity(), rule.message(),
+                violations[i], List.copyOf(samples.get(i))));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,23 @@
+package com.payroll.validation;
+
+import java.util.List;
+
+/**
+ * Outcome of one rule in a validation report.
+ *
+ * @param id         Rule ID
+ * @param input      Name of the input file the rule was applied to
+ * @param severity   Severity of a violation
+ * @param message    Description of a violation
+ * @param violations Number of offending rows
+ * @param samples    IDs of the first offending rows
+ */
+public record RuleResult(
+    String id,
+    String input,
+    ValidationRule.Severity severity,
+    String message,
+    long violations,
+    List<String> samples
+) {
+}
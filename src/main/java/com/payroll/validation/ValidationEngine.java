@@ -0,0 +1,256 @@
+package com.payroll.validation;
+
+import com.payroll.index.PreparedPayrollContext;
+import com.payroll.index.WorkingDayIndex;
+import com.payroll.model.Calendar;
+import com.payroll.model.Employee;
+import com.payroll.model.Overtime;
+import com.payroll.model.Payment;
+import com.payroll.model.Rate;
+import com.payroll.model.TaxClass;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Rule-based validation of the payroll input files.
+ *
+ * Validation runs in two steps. First the shared indexes are built, one task per input
+ * file: employee IDs (which also marks duplicate rows), rate IDs, tax classes and the
+ * calendar. Then every input file is read once and all of its rules are applied to each
+ * row, again one task per file. With parallel validation the tasks run on the common
+ * fork-join pool. A {@link PreparedPayrollContext} already holds the indexes, so only the
+ * rule passes run.
+ */
+public final class ValidationEngine {
+    public static final int DEFAULT_SAMPLE_SIZE = 10;
+
+    private final Executor executor;
+    private final int sampleSize;
+
+    public ValidationEngine() {
+        this(true, DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * Constructs a validation engine.
+     *
+     * @param parallel   Whether the input files are processed in parallel
+     * @param sampleSize Maximum number of offending IDs reported per rule
+     */
+    public ValidationEngine(boolean parallel, int sampleSize) {
+        if (sampleSize < 0) {
+            throw new IllegalArgumentException("Sample size must not be negative: " + sampleSize);
+        }
+        this.executor = parallel ? ForkJoinPool.commonPool() : Runnable::run;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Validates all input files.
+     *
+     * @param employees  List of employees
+     * @param rates      Payment rates
+     * @param payments   Payment data
+     * @param overtimes  Overtime hours
+     * @param taxClasses Tax classes
+     * @param calendar   Calendar data
+     * @return Report with the outcome of every rule
+     */
+    public ValidationReport validate(
+        List<Employee> employees,
+        List<Rate> rates,
+        List<Payment> payments,
+        List<Overtime> overtimes,
+        List<TaxClass> taxClasses,
+        List<Calendar> calendar
+    ) {
+        long start = System.nanoTime();
+
+        // Shared indexes, one task per input file
+        CompletableFuture<KeyIndex> employeeIndex =
+            async(() -> KeyIndex.of(employees, Employee::getEmployeeId));
+        CompletableFuture<KeyIndex> rateIndex = async(() -> KeyIndex.of(rates, Rate::employeeId));
+        CompletableFuture<Set<String>> taxClassIndex = async(() -> taxClassSet(taxClasses));
+        CompletableFuture<WorkingDayIndex> workingDayIndex =
+            async(() -> WorkingDayIndex.of(calendar));
+        ValidationIndexes indexes =
+            ValidationIndexes.of(join(employeeIndex), join(rateIndex), join(taxClassIndex));
+
+        // One pass over each input file with all of its rules
+        return validate(start, indexes, join(workingDayIndex), employees, payments, overtimes);
+    }
+
+    /**
+     * Validates all input files with the indexes of a prepared context.
+     *
+     * @param context Prepared context
+     * @return Report with the outcome of every rule
+     */
+    public ValidationReport validate(PreparedPayrollContext context) {
+        return validate(System.nanoTime(), ValidationIndexes.of(context), context.workingDays(),
+            context.employees(), context.payments(), context.overtimes());
+    }
+
+    /**
+     * Applies all rules in one pass over each input file, one task per file.
+     */
+    private ValidationReport validate(long start, ValidationIndexes indexes,
+                                      WorkingDayIndex workingDays, List<Employee> employees,
+                                      List<Payment> payments, List<Overtime> overtimes) {
+        RulePass<Employee> employeePass = new RulePass<>(PayrollRules.EMPLOYEES,
+            PayrollRules.employeeRules(indexes), sampleSize);
+        RulePass<Overtime> overtimePass = new RulePass<>(PayrollRules.OVERTIMES,
+            PayrollRules.overtimeRules(indexes), sampleSize);
+        RulePass<Payment> paymentPass = new RulePass<>(PayrollRules.PAYMENTS,
+            PayrollRules.paymentRules(workingDays), sampleSize);
+        join(CompletableFuture.allOf(
+            async(() -> run(employeePass, employees)),
+            async(() -> run(overtimePass, overtimes)),
+            async(() -> run(paymentPass, payments))));
+
+        return report(start, List.of(employeePass, overtimePass, paymentPass));
+    }
+
+    /**
+     * Validates the payment file on its own, for employees that are validated in batches.
+     *
+     * @param payments Payment data
+     * @param calendar Calendar data
+     * @return Report with the outcome of the payment rules
+     */
+    public ValidationReport validatePayments(List<Payment> payments, List<Calendar> calendar) {
+        long start = System.nanoTime();
+        RulePass<Payment> paymentPass = new RulePass<>(PayrollRules.PAYMENTS,
+            PayrollRules.paymentRules(WorkingDayIndex.of(calendar)), sampleSize);
+        paymentPass.acceptAll(payments);
+        return report(start, List.of(paymentPass));
+    }
+
+    /**
+     * Starts validating employees that are read in batches.
+     *
+     * @param rates      Payment rates
+     * @param taxClasses Tax classes
+     * @return Validation that takes the employee batches
+     */
+    public EmployeeBatches startEmployeeBatches(List<Rate> rates, List<TaxClass> taxClasses) {
+        return new EmployeeBatches(KeyIndex.of(rates, Rate::employeeId),
+            taxClassSet(taxClasses));
+    }
+
+    /**
+     * Validation of employees batch by batch. Only the employee IDs are kept between
+     * batches, for the duplicate and overtime rules.
+     */
+    public final class EmployeeBatches {
+        private final long start = System.nanoTime();
+        private final KeyIndex employeeIndex = new KeyIndex();
+        private final ValidationIndexes indexes;
+        private final RulePass<Employee> employeePass;
+
+        private EmployeeBatches(KeyIndex rates, Set<String> taxClasses) {
+            this.indexes = ValidationIndexes.of(employeeIndex, rates, taxClasses);
+            this.employeePass = new RulePass<>(PayrollRules.EMPLOYEES,
+                PayrollRules.employeeRules(indexes), sampleSize);
+        }
+
+        /**
+         * Validates a batch of employees.
+         *
+         * @param employees Batch of employees
+         */
+        public void accept(List<Employee> employees) {
+            for (Employee employee : employees) {
+                employeeIndex.add(employee.getEmployeeId());
+                employeePass.accept(employee);
+            }
+        }
+
+        /**
+         * Gets the number of employees validated so far.
+         *
+         * @return Number of employees
+         */
+        public int rows() {
+            return employeePass.rows();
+        }
+
+        /**
+         * Validates the overtimes against all employees after the last batch.
+         *
+         * @param overtimes Overtime hours
+         * @return Report with the outcome of the employee and overtime rules
+         */
+        public ValidationReport finish(List<Overtime> overtimes) {
+            RulePass<Overtime> overtimePass = new RulePass<>(PayrollRules.OVERTIMES,
+                PayrollRules.overtimeRules(indexes), sampleSize);
+            overtimePass.acceptAll(overtimes);
+            return report(start, List.of(employeePass, overtimePass));
+        }
+    }
+
+    /**
+     * Combines reports of separately validated input files.
+     *
+     * @param reports Reports in report order
+     * @return Combined report
+     */
+    public static ValidationReport merge(List<ValidationReport> reports) {
+        Map<String, Integer> inputs = new LinkedHashMap<>();
+        List<RuleResult> rules = new ArrayList<>();
+        long durationMillis = 0;
+        for (ValidationReport report : reports) {
+            inputs.putAll(report.inputs());
+            rules.addAll(report.rules());
+            durationMillis += report.durationMillis();
+        }
+        return new ValidationReport(inputs, List.copyOf(rules), durationMillis);
+    }
+
+    private static ValidationReport report(long start, List<RulePass<?>> passes) {
+        Map<String, Integer> inputs = new LinkedHashMap<>();
+        List<RuleResult> rules = new ArrayList<>();
+        for (RulePass<?> pass : passes) {
+            inputs.put(pass.input(), pass.rows());
+            rules.addAll(pass.results());
+        }
+        return new ValidationReport(inputs, List.copyOf(rules),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static <T> Void run(RulePass<T> pass, List<T> items) {
+        pass.acceptAll(items);
+        return null;
+    }
+
+    private static Set<String> taxClassSet(List<TaxClass> taxClasses) {
+        return taxClasses.stream().map(TaxClass::taxClass).collect(Collectors.toSet());
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
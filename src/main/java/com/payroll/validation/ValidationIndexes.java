@@ -0,0 +1,105 @@
+package com.payroll.validation;
+
+import com.payroll.index.PreparedPayrollContext;
+import java.util.Set;
+
+/**
+ * Indexes shared by the employee and overtime rules.
+ */
+public interface ValidationIndexes {
+
+    /**
+     * Checks if an employee repeats the ID of an earlier employee.
+     *
+     * @param row Position of the employee in the employee file
+     * @return True if the ID was seen before the row
+     */
+    boolean isRepeatedEmployee(int row);
+
+    /**
+     * Checks if an employee ID exists.
+     *
+     * @param employeeId Employee ID, may be null
+     * @return True if an employee has the ID
+     */
+    boolean hasEmployee(String employeeId);
+
+    /**
+     * Checks if there is a rate for an employee ID.
+     *
+     * @param employeeId Employee ID, may be null
+     * @return True if a rate has the ID
+     */
+    boolean hasRate(String employeeId);
+
+    /**
+     * Checks if a tax class exists.
+     *
+     * @param taxClass Tax class code
+     * @return True if the tax class is known
+     */
+    boolean hasTaxClass(String taxClass);
+
+    /**
+     * Creates indexes from separately built parts.
+     *
+     * @param employees  Employee IDs of the employee file
+     * @param rates      Employee IDs of the rate file
+     * @param taxClasses Known tax classes
+     * @return Indexes
+     */
+    static ValidationIndexes of(KeyIndex employees, KeyIndex rates, Set<String> taxClasses) {
+        return new ValidationIndexes() {
+            @Override
+            public boolean isRepeatedEmployee(int row) {
+                return employees.isRepeated(row);
+            }
+
+            @Override
+            public boolean hasEmployee(String employeeId) {
+                return employees.contains(employeeId);
+            }
+
+            @Override
+            public boolean hasRate(String employeeId) {
+                return rates.contains(employeeId);
+            }
+
+            @Override
+            public boolean hasTaxClass(String taxClass) {
+                return taxClasses.contains(taxClass);
+            }
+        };
+    }
+
+    /**
+     * Uses the indexes of a prepared context. The rates of the context are joined to
+     * employees, which is all the employee rules look up.
+     *
+     * @param context Prepared context
+     * @return Indexes
+     */
+    static ValidationIndexes of(PreparedPayrollContext context) {
+        return new ValidationIndexes() {
+            @Override
+            public boolean isRepeatedEmployee(int row) {
+                return context.isRepeatedEmployee(row);
+            }
+
+            @Override
+            public boolean hasEmployee(String employeeId) {
+                return context.hasEmployee(employeeId);
+            }
+
+            @Override
+            public boolean hasRate(String employeeId) {
+                return context.rate(employeeId) != null;
+            }
+
+            @Override
+            public boolean hasTaxClass(String taxClass) {
+                return context.taxClassMap().containsKey(taxClass);
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.payroll.validation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Machine-readable result of a validation: rows per input file and, for every rule, the
+ * number of violations and the IDs of the first offending rows.
+ *
+ * @param inputs         Number of rows per input file, in report order
+ * @param rules          Outcome of every rule, including rules without violations
+ * @param durationMillis Time taken by the validation
+ */
+public record ValidationReport(
+    Map<String, Integer> inputs,
+    List<RuleResult> rules,
+    long durationMillis
+) {
+
+    /**
+     * Gets the total number of violations of all rules.
+     *
+     * @return Number of violations
+     */
+    public long violations() {
+        return rules.stream().mapToLong(RuleResult::violations).sum();
+    }
+
+    /**
+     * Gets the first error rule that was violated.
+     *
+     * @return Violated error rule, or empty if the data can be calculated
+     */
+    public Optional<RuleResult> firstError() {
+        return rules.stream()
+            .filter(rule -> rule.severity() == ValidationRule.Severity.ERROR)
+            .filter(rule -> rule.violations() > 0)
+            .findFirst();
+    }
+
+    /**
+     * Formats the report as JSON.
+     *
+     * @return JSON document
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(256 + rules.size() * 256);
+        json.append("{\n  \"durationMillis\": ").append(durationMillis);
+        json.append(",\n  \"violations\": ").append(violations());
+        json.append(",\n  \"inputs\": {");
+        String separator = "\n";
+        for (Map.Entry<String, Integer> input : inputs.entrySet()) {
+            json.append(separator).append("    ");
+            appendString(json, input.getKey());
+            json.append(": ").append(input.getValue());
+            separator = ",\n";
+        }
+        json.append("\n  },\n  \"rules\": [");
+        separator = "\n";
+        for (RuleResult rule : rules) {
+            json.append(separator).append("    {\"id\": ");
+            appendString(json, rule.id());
+            json.append(", \"input\": ");
+            appendString(json, rule.input());
+            json.append(", \"severity\": ");
+            appendString(json, rule.severity().name());
+            json.append(", \"message\": ");
+            appendString(json, rule.message());
+            json.append(", \"violations\": ").append(rule.violations());
+            json.append(", \"samples\": [");
+            for (int i = 0; i < rule.samples().size(); i++) {
+                if (i > 0) {
+                    json.append(", ");
+                }
+                appendString(json, rule.samples().get(i));
+            }
+            json.append("]}");
+            separator = ",\n";
+        }
+        return json.append("\n  ]\n}\n").toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,50 @@
+package com.payroll.validation;
+
+import java.util.function.Function;
+
+/**
+ * Check that is applied to every row of one input file.
+ *
+ * @param id        Stable rule ID used in the validation report
+ * @param severity  Severity of a violation
+ * @param message   Description of a violation
+ * @param violation Predicate that is true for an offending row
+ * @param subject   ID of the offending row shown as a sample in the report
+ * @param <T>       Row type
+ */
+public record ValidationRule<T>(
+    String id,
+    Severity severity,
+    String message,
+    RowPredicate<T> violation,
+    Function<T, String> subject
+) {
+
+    /**
+     * Severity of a rule violation.
+     */
+    public enum Severity {
+        /** The row is reported and processed anyway. */
+        WARNING,
+        /** The input cannot be calculated; validation fails after the report is complete. */
+        ERROR
+    }
+
+    /**
+     * Predicate over a row and its position in the input file.
+     *
+     * @param <T> Row type
+     */
+    @FunctionalInterface
+    public interface RowPredicate<T> {
+
+        /**
+         * Tests a row.
+         *
+         * @param item Row
+         * @param row  Zero-based position of the row in its input file
+         * @return True if the row violates the rule
+         */
+        boolean test(T item, int row);
+    }
+}
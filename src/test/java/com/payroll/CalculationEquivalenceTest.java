@@ -0,0 +1,137 @@
+package com.payroll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.payroll.audit.AuditTrail;
+import com.payroll.generator.DatasetGenerator;
+import com.payroll.service.impl.CalculationServiceImpl;
+import com.payroll.service.impl.FileServiceImpl;
+import com.payroll.service.impl.OvertimeServiceImpl;
+import com.payroll.service.impl.PackedOvertimeServiceImpl;
+import com.payroll.service.impl.ParallelCalculationServiceImpl;
+import com.payroll.service.impl.ValidationServiceImpl;
+import com.payroll.util.DefaultFileReader;
+import com.payroll.util.SimpleCsvParser;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Runs the engines and workflows that promise the output of the sequential batch run on a
+ * small generated dataset, and compares the result files byte for byte.
+ */
+class CalculationEquivalenceTest {
+
+    @TempDir
+    static Path dataRoot;
+
+    private static String expected;
+
+    @BeforeAll
+    static void runSequentialBatch() throws IOException {
+        generate(dataRoot);
+        try (CalculationServiceImpl service = new CalculationServiceImpl()) {
+            new PayrollCalculator(fileService(dataRoot), new ValidationServiceImpl(), service)
+                .run();
+        }
+        expected = result(dataRoot);
+        assertFalse(expected.isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource
+    void engineGivesTheSequentialResults(Engine engine) throws IOException {
+        try (CalculationServiceImpl service = engine.service.get()) {
+            new PayrollCalculator(fileService(dataRoot), new ValidationServiceImpl(), service)
+                .run();
+        }
+
+        assertEquals(expected, result(dataRoot));
+    }
+
+    @Test
+    void streamingGivesTheBatchResults() throws IOException {
+        try (CalculationServiceImpl service = new CalculationServiceImpl()) {
+            // Small batches, so several are in flight at once
+            new StreamingPayrollCalculator(fileService(dataRoot), new ValidationServiceImpl(),
+                service, 100, 2).run();
+        }
+
+        assertEquals(expected, result(dataRoot));
+    }
+
+    @Test
+    void incrementalGivesTheResultsOfAFullRun(@TempDir Path root) throws IOException {
+        generate(root);
+        try (CalculationServiceImpl service = new CalculationServiceImpl()) {
+            IncrementalPayrollCalculator incremental = new IncrementalPayrollCalculator(
+                fileService(root), new ValidationServiceImpl(), service);
+            incremental.run();
+            assertEquals(expected, result(root));
+
+            changeEmployeeInputs(root);
+            incremental.run();
+            String incrementalResult = result(root);
+            new PayrollCalculator(fileService(root), new ValidationServiceImpl(), service).run();
+
+            assertNotEquals(expected, incrementalResult);
+            assertEquals(result(root), incrementalResult);
+        }
+    }
+
+    private static void generate(Path root) {
+        DatasetGenerator.builder(3000).payments(2).malformedShare(0.02).build().generate(root);
+    }
+
+    private static FileServiceImpl fileService(Path root) {
+        return new FileServiceImpl(root.toString(), new SimpleCsvParser(new DefaultFileReader()));
+    }
+
+    private static String result(Path root) throws IOException {
+        return Files.readString(root.resolve(FileServiceImpl.OUTPUT_PATH));
+    }
+
+    /**
+     * Raises the rate of every seventh employee and adds overtime to one, so the next
+     * incremental run recalculates some employees and reuses the others.
+     */
+    private static void changeEmployeeInputs(Path root) throws IOException {
+        Path rates = root.resolve(FileServiceImpl.RATE_DATA_PATH);
+        String[] lines = Files.readString(rates).split("\n", -1);
+        for (int i = 1; i < lines.length; i += 7) {
+            String[] fields = lines[i].split(";", -1);
+            if (fields.length == 3 && fields[1].matches("\\d+")) {
+                fields[1] = String.valueOf(Integer.parseInt(fields[1]) + 100);
+                lines[i] = String.join(";", fields);
+            }
+        }
+        Files.writeString(rates, String.join("\n", lines));
+
+        Path overtimes = root.resolve(FileServiceImpl.OVERTIME_DATA_PATH);
+        String employeeId = lines[3].split(";", -1)[0];
+        String overtime = Files.readString(overtimes);
+        Files.writeString(overtimes, overtime + (overtime.endsWith("\n") ? "" : "\n")
+            + employeeId + ";4;2025-10-08\n");
+    }
+
+    enum Engine {
+        PARALLEL(() -> new ParallelCalculationServiceImpl(new OvertimeServiceImpl(), 4, 100)),
+        PACKED_OVERTIME(() -> new CalculationServiceImpl(new PackedOvertimeServiceImpl())),
+        DOUBLE_MONEY(() -> new CalculationServiceImpl(new OvertimeServiceImpl(),
+            AuditTrail.disabled(), null));
+
+        private final Supplier<CalculationServiceImpl> service;
+
+        Engine(Supplier<CalculationServiceImpl> service) {
+            this.service = service;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.payroll.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditTrailTest {
+    private static final Pattern SEQUENCE = Pattern.compile("^\\{\"seq\":(\\d+),");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesEventsInClaimOrderThroughASmallBuffer() throws Exception {
+        Path file = directory.resolve("audit.jsonl");
+        AuditTrail audit = AuditTrail.open(file, 4);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String employeeId = "E" + t;
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    audit.inactive(employeeId, "2025-11-19");
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        audit.close();
+        audit.inactive("E9", "2025-11-19");
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(20_000, lines.size());
+        assertSequences(lines);
+    }
+
+    @Test
+    void closeWritesEveryEventClaimedByRunningProducers() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            Path file = directory.resolve("audit.jsonl");
+            AuditTrail audit = AuditTrail.open(file, 2);
+            CountDownLatch started = new CountDownLatch(4);
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                producers.add(Thread.ofPlatform().start(() -> {
+                    started.countDown();
+                    for (int i = 0; i < 1_000_000; i++) {
+                        audit.overtimeLimited("E1", "2025-11-19", 12);
+                    }
+                }));
+            }
+            started.await();
+            audit.close();
+            // Producers neither hang on the full buffer nor write after close
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            assertSequences(Files.readAllLines(file));
+        });
+    }
+
+    @Test
+    void writesAmountsThatAreNoNumbersAsNull() throws IOException {
+        Path file = directory.resolve("audit.jsonl");
+        try (AuditTrail audit = AuditTrail.open(file, 8)) {
+            audit.calculated("E1", "2025-11-19", Double.NaN, Double.POSITIVE_INFINITY, 3, 1.5);
+        }
+
+        assertEquals(List.of("{\"seq\":0,\"event\":\"calculated\",\"employeeId\":\"E1\","
+                + "\"paymentDate\":\"2025-11-19\",\"basePay\":null,\"overtimePay\":null,"
+                + "\"overtimeHours\":3,\"totalPay\":1.5}"),
+            Files.readAllLines(file));
+    }
+
+    /**
+     * Checks that the lines are the sequences 0, 1, 2 and so on, without gaps.
+     */
+    private static void assertSequences(List<String> lines) {
+        for (int i = 0; i < lines.size(); i++) {
+            Matcher matcher = SEQUENCE.matcher(lines.get(i));
+            assertTrue(matcher.find(), lines.get(i));
+            assertEquals(i, Long.parseLong(matcher.group(1)));
+        }
+    }
+}
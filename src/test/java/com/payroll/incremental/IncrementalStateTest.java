@@ -0,0 +1,108 @@
+package com.payroll.incremental;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.payroll.incremental.IncrementalState.RowKey;
+import com.payroll.incremental.IncrementalState.RowState;
+import com.payroll.model.PaymentResult;
+import com.payroll.service.impl.FileServiceImpl;
+import com.payroll.util.DefaultFileReader;
+import com.payroll.util.SimpleCsvParser;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IncrementalStateTest {
+
+    @TempDir
+    Path dataRoot;
+
+    @Test
+    void readsWhatWasWritten() throws IOException {
+        IncrementalState state = sampleState();
+
+        IncrementalState read = IncrementalState.read(new DataInputStream(
+            new ByteArrayInputStream(toBytes(state))));
+
+        assertSameState(state, read);
+    }
+
+    @Test
+    void savesAndLoadsThroughTheFileService() {
+        FileServiceImpl fileService = new FileServiceImpl(dataRoot.toString(),
+            new SimpleCsvParser(new DefaultFileReader()));
+        IncrementalState state = sampleState();
+
+        fileService.saveIncrementalState(state);
+
+        assertSameState(state, fileService.loadIncrementalState());
+    }
+
+    @Test
+    void rejectsOtherFilesAndVersions() throws IOException {
+        byte[] bytes = toBytes(sampleState());
+        byte[] otherMagic = bytes.clone();
+        otherMagic[0] = 0;
+        byte[] otherVersion = bytes.clone();
+        otherVersion[7]++;
+
+        assertThrows(IOException.class, () -> IncrementalState.read(
+            new DataInputStream(new ByteArrayInputStream(otherMagic))));
+        assertThrows(IOException.class, () -> IncrementalState.read(
+            new DataInputStream(new ByteArrayInputStream(otherVersion))));
+    }
+
+    @Test
+    void ignoresAnUnreadableStateFile() throws IOException {
+        Path path = dataRoot.resolve(FileServiceImpl.INCREMENTAL_STATE_PATH);
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[] {1, 2, 3});
+        FileServiceImpl fileService = new FileServiceImpl(dataRoot.toString(),
+            new SimpleCsvParser(new DefaultFileReader()));
+
+        assertNull(fileService.loadIncrementalState());
+    }
+
+    private static IncrementalState sampleState() {
+        Map<RowKey, RowState> rows = new HashMap<>();
+        rows.put(new RowKey("E1", 0), new RowState(42L, new PaymentResult[] {
+            new PaymentResult("E1", 5400.0, "2025-11-19", "ANNA", "EUR"),
+            null,
+            new PaymentResult("E1", -0.5, "2025-12-19", "ANNA", "EUR")}));
+        rows.put(new RowKey("E1", 1), new RowState(-1L, new PaymentResult[3]));
+        rows.put(new RowKey(null, 0), new RowState(Long.MIN_VALUE, new PaymentResult[] {
+            new PaymentResult(null, 0.1 + 0.2, null, "Jürgen €", null), null, null}));
+        return new IncrementalState(0x1234_5678_9ABC_DEF0L, 3, rows);
+    }
+
+    private static byte[] toBytes(IncrementalState state) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            state.write(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void assertSameState(IncrementalState expected, IncrementalState actual) {
+        assertEquals(expected.globalFingerprint(), actual.globalFingerprint());
+        assertEquals(expected.payments(), actual.payments());
+        assertEquals(expected.size(), actual.size());
+        for (RowKey key : new RowKey[] {new RowKey("E1", 0), new RowKey("E1", 1),
+            new RowKey(null, 0)}) {
+            assertEquals(expected.row(key).fingerprint(), actual.row(key).fingerprint());
+            assertArrayEquals(expected.row(key).results(), actual.row(key).results());
+        }
+        assertNull(actual.row(new RowKey("E2", 0)));
+    }
+}
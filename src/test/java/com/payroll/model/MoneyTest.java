@@ -0,0 +1,131 @@
+package com.payroll.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class MoneyTest {
+    private static final double[] AMOUNTS = {
+        0, -0.0, 0.001, -0.001, 0.004, -0.004, 0.005, -0.005, 0.015, -0.015, 0.125, -0.125,
+        0.1 + 0.2, -(0.1 + 0.2), 1.005, -1.005, 2.675, -2.675, 99.999, -99.999, 5400, -5400,
+        1830.5, -1830.5, 1e13 + 0.005, -1e13 - 0.005, 4.5e13, 9.2e16, -9.2e16, 9.3e16, 1e300,
+        Double.MIN_VALUE, -Double.MIN_VALUE};
+    private static final long[] CENTS = {
+        0, 1, -1, 2, -2, 3, -3, 5, -5, 7, -7, 999, -999, 12_345, -12_345, 540_000, -540_000,
+        1L << 51, -(1L << 51), Long.MAX_VALUE / 3, Long.MIN_VALUE / 3, Long.MAX_VALUE,
+        Long.MIN_VALUE};
+    private static final double[] FACTORS = {
+        1, 0, 0.5, -0.5, 1.5, -1.5, 0.1, 1 / 3.0, -1 / 3.0, 2.675, -2.675, 0.999_999, 1e-3,
+        1e10, Double.NaN};
+    private static final long[][] FRACTIONS = {{3, 2}, {1, 2}, {-1, 2}, {2, 3}, {-2, 3},
+        {1, 3}, {5, 4}, {-3, 2}, {1, 1}, {0, 7}};
+
+    @ParameterizedTest
+    @EnumSource(RoundingMode.class)
+    void convertsAmountsLikeTheirShortestDecimal(RoundingMode rounding) {
+        for (double amount : AMOUNTS) {
+            assertEquals(outcome(() -> BigDecimal.valueOf(amount).movePointRight(2)
+                    .setScale(0, rounding).longValueExact()),
+                outcome(() -> Money.toCents(amount, rounding)), () -> "amount " + amount);
+        }
+    }
+
+    @Test
+    void roundsNegativeFractionsByTheirSign() {
+        assertEquals(-101, Money.toCents(-1.005, RoundingMode.HALF_UP));
+        assertEquals(-100, Money.toCents(-1.005, RoundingMode.HALF_DOWN));
+        assertEquals(-12, Money.toCents(-0.125, RoundingMode.HALF_EVEN));
+        assertEquals(-1, Money.toCents(-0.001, RoundingMode.FLOOR));
+        assertEquals(0, Money.toCents(-0.001, RoundingMode.CEILING));
+        assertEquals(-1, Money.toCents(-0.019, RoundingMode.DOWN));
+        assertEquals(-2, Money.toCents(-0.011, RoundingMode.UP));
+        assertEquals(-540_000, Money.toCents(-5400, RoundingMode.UNNECESSARY));
+    }
+
+    @ParameterizedTest
+    @EnumSource(RoundingMode.class)
+    void rejectsAmountsWithoutCents(RoundingMode rounding) {
+        for (double amount : new double[] {Double.NaN, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY, 9.3e16, -9.3e16, 1e300}) {
+            assertThrows(ArithmeticException.class, () -> Money.toCents(amount, rounding),
+                () -> "amount " + amount);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(RoundingMode.class)
+    void multipliesByAFactorRoundingOnce(RoundingMode rounding) {
+        for (long cents : CENTS) {
+            for (double factor : FACTORS) {
+                assertEquals(outcome(() -> multiplyExactly(cents, factor, rounding)),
+                    outcome(() -> Money.multiply(cents, factor, rounding)),
+                    () -> cents + " * " + factor);
+            }
+        }
+    }
+
+    @Test
+    void roundsHalfCentProductsByTheMode() {
+        assertEquals(2, Money.multiply(5, 0.5, RoundingMode.HALF_EVEN));
+        assertEquals(3, Money.multiply(5, 0.5, RoundingMode.HALF_UP));
+        assertEquals(-3, Money.multiply(-5, 0.5, RoundingMode.HALF_UP));
+        assertEquals(-2, Money.multiply(-5, 0.5, RoundingMode.HALF_DOWN));
+        assertEquals(-3, Money.multiply(-5, 0.5, RoundingMode.FLOOR));
+        assertEquals(-2, Money.multiply(-5, 0.5, RoundingMode.CEILING));
+        assertEquals(Long.MIN_VALUE, Money.multiply(Long.MIN_VALUE, 1, RoundingMode.HALF_UP));
+        assertThrows(ArithmeticException.class,
+            () -> Money.multiply(5, 0.5, RoundingMode.UNNECESSARY));
+    }
+
+    @ParameterizedTest
+    @EnumSource(RoundingMode.class)
+    void multipliesByAFractionInIntegers(RoundingMode rounding) {
+        for (long cents : CENTS) {
+            for (long[] fraction : FRACTIONS) {
+                assertEquals(outcome(() -> BigDecimal.valueOf(
+                            BigDecimal.valueOf(cents).multiply(BigDecimal.valueOf(fraction[0]))
+                                .longValueExact())
+                        .divide(BigDecimal.valueOf(fraction[1]), 0, rounding).longValueExact()),
+                    outcome(() -> Money.multiply(cents, fraction[0], fraction[1], rounding)),
+                    () -> cents + " * " + fraction[0] + " / " + fraction[1]);
+            }
+        }
+    }
+
+    @Test
+    void rejectsFractionsWithoutAPositiveDenominator() {
+        assertThrows(IllegalArgumentException.class,
+            () -> Money.multiply(100, 3, 0, RoundingMode.HALF_UP));
+        assertThrows(IllegalArgumentException.class,
+            () -> Money.multiply(100, 3, -2, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * The product as Money rounds it: the double product, exactly, unless it is 2^52 or
+     * more, where a double no longer has a fraction to round.
+     */
+    private static long multiplyExactly(long cents, double factor, RoundingMode rounding) {
+        if (factor == 1) {
+            return cents;
+        }
+        double product = cents * factor;
+        if (!(Math.abs(product) < 0x1p52)) {
+            throw new ArithmeticException("Amount out of range: " + product);
+        }
+        return new BigDecimal(product).setScale(0, rounding).longValueExact();
+    }
+
+    private static String outcome(LongSupplier value) {
+        try {
+            return Long.toString(value.getAsLong());
+        } catch (ArithmeticException e) {
+            return "ArithmeticException";
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.payroll.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.payroll.generator.DatasetGenerator;
+import com.payroll.model.LocalHoliday;
+import com.payroll.model.OffHeapEmployeeTable;
+import com.payroll.model.PaymentResult;
+import com.payroll.util.DefaultFileReader;
+import com.payroll.util.SimpleCsvParser;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Calculates a generated dataset from each form of employee input and compares the results
+ * with the ones of the employee list.
+ */
+class EmployeeInputEquivalenceTest {
+
+    @TempDir
+    static Path dataRoot;
+
+    private static FileServiceImpl fileService;
+    private static List<PaymentResult> expected;
+
+    @BeforeAll
+    static void calculateFromList() {
+        DatasetGenerator.builder(3000).payments(2).malformedShare(0.02).build()
+            .generate(dataRoot);
+        fileService = new FileServiceImpl(dataRoot.toString(),
+            new SimpleCsvParser(new DefaultFileReader()));
+        expected = EmployeeInput.LIST.calculate(new CalculationServiceImpl());
+        assertFalse(expected.isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource
+    void givesTheResultsOfTheEmployeeList(EmployeeInput input) {
+        assertEquals(expected, input.calculate(new CalculationServiceImpl()));
+    }
+
+    enum EmployeeInput {
+        LIST {
+            @Override
+            List<PaymentResult> calculate(CalculationServiceImpl service) {
+                return service.calculatePayroll(fileService.loadEmployees(),
+                    fileService.loadRates(), fileService.loadPayments(),
+                    fileService.loadOvertimes(), fileService.loadTaxClasses(),
+                    fileService.loadCalendar(), localHolidays());
+            }
+        },
+        COLUMNAR {
+            @Override
+            List<PaymentResult> calculate(CalculationServiceImpl service) {
+                return service.calculatePayroll(fileService.loadEmployeeTable(),
+                    fileService.loadRates(), fileService.loadPayments(),
+                    fileService.loadOvertimes(), fileService.loadTaxClasses(),
+                    fileService.loadCalendar(), localHolidays());
+            }
+        },
+        OFF_HEAP {
+            @Override
+            List<PaymentResult> calculate(CalculationServiceImpl service) {
+                OffHeapEmployeeTable employees = fileService.loadOffHeapEmployeeTable();
+                return service.calculatePayroll(employees,
+                    fileService.loadOffHeapRates(employees.employeeIdDictionary()),
+                    fileService.loadPayments(), fileService.loadOvertimes(),
+                    fileService.loadTaxClasses(), fileService.loadCalendar(), localHolidays());
+            }
+        };
+
+        abstract List<PaymentResult> calculate(CalculationServiceImpl service);
+
+        private static List<LocalHoliday> localHolidays() {
+            return fileService.loadLocalHolidays();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.payroll.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentLoaderTest {
+
+    @Test
+    void returnsTheResultOfEveryLoad() {
+        try (ConcurrentLoader loader = new ConcurrentLoader()) {
+            Supplier<String> first = loader.fork("first", () -> "a");
+            Supplier<Integer> second = loader.fork("second", () -> 2);
+            loader.join();
+
+            assertEquals("a", first.get());
+            assertEquals(2, second.get());
+        }
+    }
+
+    @Test
+    void rethrowsTheFirstFailureAndWaitsForTheCancelledLoadsOnClose() {
+        IllegalStateException failure = new IllegalStateException("broken file");
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean stopped = new AtomicBoolean();
+        ConcurrentLoader loader = new ConcurrentLoader();
+        try (loader) {
+            loader.fork("slow", () -> {
+                started.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } finally {
+                    // Ignores further interrupts, and is still running when the loader has
+                    // been closed unless close waits
+                    long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                    while (System.nanoTime() < end) {
+                        Thread.onSpinWait();
+                    }
+                    stopped.set(true);
+                }
+                return null;
+            });
+            loader.fork("failing", () -> {
+                started.await();
+                throw failure;
+            });
+
+            assertSame(failure, assertThrows(IllegalStateException.class, loader::join));
+        }
+
+        assertTrue(stopped.get());
+    }
+}
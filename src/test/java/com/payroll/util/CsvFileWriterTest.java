@@ -0,0 +1,92 @@
+package com.payroll.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.payroll.model.Money;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CsvFileWriterTest {
+
+    @ParameterizedTest
+    @ValueSource(doubles = {
+        0, -0.0, 0.001, -0.001, 0.004, -0.004, 0.1 + 0.2, 1, -1, 5400, 1830.5, 99.999,
+        // Half-cent ties and values next to them
+        0.005, 0.015, 0.025, 0.125, 1.005, 2.675, 1234.565, -0.005, -2.675, 1.0049999999999999,
+        1.0050000000000001, 999_999_999.995, 4.35, 8.345,
+        // Amounts at and above the limit of the fast path
+        999_999_999.99, 1e9, -1e9, 1e9 + 0.005, 1.5e12, 1e15 + 0.25, 9.2e18, 1e19, 1e300,
+        Double.MAX_VALUE, -Double.MAX_VALUE, Double.MIN_VALUE, -Double.MIN_VALUE,
+        Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY})
+    void writesAmountsLikeStringFormat(double value) throws IOException {
+        assertEquals(String.format(Locale.ROOT, "%.2f", value), writeAmount(value));
+    }
+
+    @Test
+    void writesRandomAmountsLikeStringFormat() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 100_000; i++) {
+            // Whole cents, half cents and arbitrary fractions over several magnitudes
+            double value = switch (i % 3) {
+                case 0 -> random.nextLong(-100_000_000_00L, 100_000_000_00L) / 100.0;
+                case 1 -> (random.nextLong(-2_000_000_000L, 2_000_000_000L) * 2 + 1) / 200.0;
+                default -> random.nextDouble(-1, 1) * Math.pow(10, random.nextInt(12));
+            };
+            assertEquals(String.format(Locale.ROOT, "%.2f", value), writeAmount(value),
+                () -> "value " + value);
+        }
+    }
+
+    /**
+     * Results of the calculation in cents carry the nearest double to their cents, which
+     * must print as exactly those cents.
+     */
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, -1, 5, -5, 99, -99, 100, 123_456, -123_456, 100_000_000_000L,
+        99_999_999_999_999L, -99_999_999_999_999L, 1_000_000_000_000_000L,
+        -1_000_000_000_000_000L})
+    void writesCentsAmountsAsTheirCents(long cents) throws IOException {
+        assertEquals(new BigDecimal(cents).movePointLeft(2).toPlainString(),
+            writeAmount(Money.toDouble(cents)));
+    }
+
+    @Test
+    void writesRandomCentsAmountsAsTheirCents() throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100_000; i++) {
+            long cents = random.nextLong(-1_000_000_000_000_000L, 1_000_000_000_000_000L)
+                / (long) Math.pow(10, random.nextInt(16));
+            assertEquals(BigDecimal.valueOf(cents).movePointLeft(2).toPlainString(),
+                writeAmount(Money.toDouble(cents)),
+                () -> "cents " + cents);
+        }
+    }
+
+    @Test
+    void writesTextLongerThanTheBuffer() throws IOException {
+        String text = "Jürgen;" + "x".repeat(100) + ";€";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvFileWriter writer = CsvFileWriter.of(Channels.newChannel(out), 16)) {
+            writer.write(text);
+            writer.write(';');
+            writer.write((String) null);
+        }
+        assertEquals(text + ";null", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static String writeAmount(double value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvFileWriter writer = CsvFileWriter.of(Channels.newChannel(out), 64)) {
+            writer.writeAmount(value);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
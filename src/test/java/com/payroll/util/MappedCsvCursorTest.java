@@ -0,0 +1,186 @@
+package com.payroll.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.payroll.exception.DataLoadException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MappedCsvCursorTest {
+    private static final List<List<String>> ROWS = List.of(
+        List.of("1", "Anna"),
+        List.of("22", "Bert"),
+        List.of("333", "Carla"),
+        List.of("4", "Dörte"));
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\n", "\r", "\r\n"})
+    void readsEveryLineBreak(String lineBreak) throws IOException {
+        String path = write(csv(lineBreak), "rows.csv");
+
+        assertEquals(ROWS, readAll(parser(MappedCsvParser.DEFAULT_WINDOW_SIZE), path));
+    }
+
+    @Test
+    void readsMixedLineBreaksAndSkipsBlankLines() throws IOException {
+        String path = write("ID;Name\r\n1;Anna\n\r\n22;Bert\r333;Carla\n  \n4;Dörte", "mixed.csv");
+
+        assertEquals(ROWS, readAll(parser(MappedCsvParser.DEFAULT_WINDOW_SIZE), path));
+    }
+
+    /**
+     * Small windows make every row start, end or break across a window boundary somewhere,
+     * as rows do at the 64 MB boundaries of large files.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {16, 17, 18, 19, 20, 21, 23, 29, 32})
+    void readsRowsAcrossWindowBoundaries(int windowSize) throws IOException {
+        for (String lineBreak : List.of("\n", "\r", "\r\n")) {
+            String path = write(csv(lineBreak), "window.csv");
+
+            assertEquals(ROWS, readAll(parser(windowSize), path), "line break "
+                + lineBreak.replace("\r", "\\r").replace("\n", "\\n"));
+        }
+    }
+
+    @Test
+    void rejectsLinesLongerThanTheWindow() throws IOException {
+        String path = write("ID;Name\n1;" + "x".repeat(40) + "\n", "long.csv");
+
+        try (CsvCursor cursor = parser(16).openCursor(path)) {
+            assertThrows(DataLoadException.class, cursor::next);
+        }
+    }
+
+    /**
+     * Both parsers skip the row, so a malformed name is not lost only when it is read.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void skipsRowsWithMalformedUtf8LikeTheLineParser(boolean mapped) throws IOException {
+        byte[] bad = {'2', ';', 'B', (byte) 0xC3, '(', '\n'};
+        byte[] content = concat("ID;Name\n1;Anna\n".getBytes(StandardCharsets.UTF_8), bad,
+            "3;Carla\n".getBytes(StandardCharsets.UTF_8));
+        Path file = directory.resolve("utf8.csv");
+        Files.write(file, content);
+        CsvParser parser = mapped
+            ? parser(MappedCsvParser.DEFAULT_WINDOW_SIZE)
+            : new SimpleCsvParser(new DefaultFileReader());
+
+        try (CsvCursor cursor = parser.openCursor(file.toString())) {
+            assertTrue(cursor.next());
+            assertEquals("Anna", cursor.getString(1));
+            assertTrue(cursor.next());
+            assertEquals(3, cursor.getInt(0));
+            assertEquals(4, cursor.lineNumber());
+            assertFalse(cursor.next());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void rejectsMalformedUtf8InTheHeader(boolean mapped) throws IOException {
+        byte[] content = concat(new byte[] {'I', 'D', ';', (byte) 0xC3, '\n'},
+            "1;Anna\n".getBytes(StandardCharsets.UTF_8));
+        Path file = directory.resolve("header.csv");
+        Files.write(file, content);
+        CsvParser parser = mapped
+            ? parser(MappedCsvParser.DEFAULT_WINDOW_SIZE)
+            : new SimpleCsvParser(new DefaultFileReader());
+
+        assertThrows(DataLoadException.class, () -> parser.openCursor(file.toString()));
+    }
+
+    @Test
+    void splitsIntoPartsThatReadLikeOneCursor() throws IOException {
+        StringBuilder content = new StringBuilder("ID;Name\n");
+        List<List<String>> expected = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            content.append(i).append(';').append("Name ").append(i)
+                .append(i % 3 == 0 ? "\r\n" : i % 5 == 0 ? "\r" : "\n");
+            expected.add(List.of(Integer.toString(i), "Name " + i));
+        }
+        String path = write(content.toString(), "parts.csv");
+
+        List<CsvCursor> cursors = parser(64 * 1024).openCursors(path, 4);
+        List<List<String>> rows = new ArrayList<>();
+        try {
+            assertTrue(cursors.size() > 1);
+            for (CsvCursor cursor : cursors) {
+                assertArrayEquals(new String[] {"ID", "Name"}, cursor.headers());
+                int id = cursor.columnIndex("ID");
+                while (cursor.next()) {
+                    // Line numbers of the file, not of the part
+                    assertEquals(rows.size() + 2, cursor.lineNumber());
+                    rows.add(List.of(cursor.getString(id), cursor.getString(1)));
+                }
+            }
+        } finally {
+            cursors.forEach(CsvCursor::close);
+        }
+        assertEquals(expected, rows);
+    }
+
+    private static String csv(String lineBreak) {
+        StringBuilder content = new StringBuilder("ID;Name").append(lineBreak);
+        for (List<String> row : ROWS) {
+            content.append(row.get(0)).append(" ; ").append(row.get(1)).append(lineBreak);
+        }
+        return content.toString();
+    }
+
+    private String write(String content, String name) throws IOException {
+        Path file = directory.resolve(name);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file.toString();
+    }
+
+    private static MappedCsvParser parser(int windowSize) {
+        return new MappedCsvParser(new MappedFileReader(), ';', windowSize);
+    }
+
+    private static List<List<String>> readAll(MappedCsvParser parser, String path) {
+        try (CsvCursor cursor = parser.openCursor(path)) {
+            return read(cursor);
+        }
+    }
+
+    private static List<List<String>> read(CsvCursor cursor) {
+        int id = cursor.columnIndex("ID");
+        int name = cursor.columnIndex("Name");
+        List<List<String>> rows = new ArrayList<>();
+        while (cursor.next()) {
+            rows.add(List.of(cursor.getString(id), cursor.getString(name)));
+        }
+        return rows;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int position = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, result, position, part.length);
+            position += part.length;
+        }
+        return result;
+    }
+}